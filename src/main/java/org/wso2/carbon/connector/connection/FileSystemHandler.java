@@ -31,6 +31,7 @@ import org.wso2.carbon.connector.exception.FileServerConnectionException;
 import org.wso2.integration.connector.core.connection.Connection;
 import org.wso2.carbon.connector.filelock.FileLockManager;
 import org.wso2.carbon.connector.pojo.ConnectionConfiguration;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.connection.FileServerProtocol;
 
 /**
@@ -225,6 +226,8 @@ public class FileSystemHandler implements Connection {
 
     @Override
     public void close() {
+        // Flush and close handles kept open to append to files before the file systems are closed
+        AppenderPool.closeAll(this);
         ((StandardFileSystemManager) fsManager).close();
         fileLockManager.releaseAllLocks();
 
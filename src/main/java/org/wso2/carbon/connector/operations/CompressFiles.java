@@ -35,15 +35,18 @@ import org.wso2.integration.connector.core.util.ConnectorUtils;
 import org.wso2.carbon.connector.exception.IllegalPathException;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.pojo.FileOperationResult;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
 import org.wso2.carbon.connector.utils.AdvancedFileFilter;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -124,6 +127,7 @@ public class CompressFiles extends AbstractConnectorOperation {
             FileSystemOptions fso = fileSystemHandlerConnection.getFsOptions();
             Utils.addDiskShareAccessMaskToFSO(fso, diskShareAccessMask);
             fileToCompress = fileSystemHandlerConnection.resolveFileWithSuspension(sourceFilePath);
+            AppenderPool.release(fileToCompress);
 
             if (!fileToCompress.exists()) {
                 throw new IllegalPathException("File or directory to compress does not exist");
@@ -140,7 +144,7 @@ public class CompressFiles extends AbstractConnectorOperation {
             if (StringUtils.isNotEmpty(fileFilterType) || StringUtils.isNotEmpty(includeFiles) || 
                 StringUtils.isNotEmpty(excludeFiles) || StringUtils.isNotEmpty(maxFileAge) ||
                 StringUtils.isNotEmpty(subDirectoryMaxDepthStr) || StringUtils.isNotEmpty(timeBetweenSizeCheckStr)) {
-                numberOfCompressedFiles = compressFileWithAdvancedFilter(fileToCompress, targetZipFile, 
+                numberOfCompressedFiles = compressFileWithAdvancedFilter(connectionName, fileToCompress, targetZipFile,
                     includeSubDirectories, fileFilterType, includeFiles, excludeFiles, maxFileAge, 
                     subDirectoryMaxDepthStr, timeBetweenSizeCheckStr);
             } else {
@@ -258,6 +262,7 @@ public class CompressFiles extends AbstractConnectorOperation {
     /**
      * Compresses files or folder with advanced filtering capabilities.
      *
+     * @param connectionName        Name of the connection
      * @param fileToCompress        File or folder to compress
      * @param targetZipFile         Zip file to create
      * @param includeSubDirectories True if to include sub-directories
@@ -270,7 +275,8 @@ public class CompressFiles extends AbstractConnectorOperation {
      * @return How many files were added to compressed file
      * @throws IOException In case of error dealing with files
      */
-    private int compressFileWithAdvancedFilter(FileObject fileToCompress, FileObject targetZipFile, 
+    private int compressFileWithAdvancedFilter(String connectionName, FileObject fileToCompress,
+                                             FileObject targetZipFile,
                                              boolean includeSubDirectories, String fileFilterType, 
                                              String includeFiles, String excludeFiles, String maxFileAge,
                                              String subDirectoryMaxDepthStr, String timeBetweenSizeCheckStr) throws IOException {
@@ -293,14 +299,26 @@ public class CompressFiles extends AbstractConnectorOperation {
 
             List<FileObject> fileList = new ArrayList<>();
             getAllFilesWithAdvancedFilter(fileToCompress, fileList, includeSubDirectories, filter, 
-                                         subDirectoryMaxDepth, 0, timeBetweenSizeCheckStr);
-            
+                                         subDirectoryMaxDepth, 0);
+
+            // Check stability of all matching files at once, skipping the ones still being written
+            if (StringUtils.isNotEmpty(timeBetweenSizeCheckStr)) {
+                Set<FileObject> unstableFiles = FileStabilityTracker.getUnstableFiles(connectionName, fileList,
+                        timeBetweenSizeCheckStr);
+                for (FileObject unstableFile : unstableFiles) {
+                    log.warn("File is not stable (still being written), skipping: "
+                            + unstableFile.getName().getBaseName());
+                }
+                fileList.removeAll(unstableFiles);
+            }
+
             writeZipFiles(fileToCompress, targetZipFile, fileList);
             numberOfFilesAddedToZip = fileList.size();
 
         } else {
             // For single file, check stability if required
-            if (StringUtils.isNotEmpty(timeBetweenSizeCheckStr) && !isFileStable(fileToCompress, timeBetweenSizeCheckStr)) {
+            if (StringUtils.isNotEmpty(timeBetweenSizeCheckStr)
+                    && !FileStabilityTracker.isStable(connectionName, fileToCompress, timeBetweenSizeCheckStr)) {
                 log.warn("File is not stable (still being written), skipping: " + fileToCompress.getName().getBaseName());
                 return 0;
             }
@@ -362,12 +380,11 @@ public class CompressFiles extends AbstractConnectorOperation {
      * @param filter                Advanced file filter
      * @param maxDepth              Maximum depth to traverse (null for unlimited)
      * @param currentDepth          Current traversal depth
-     * @param timeBetweenSizeCheckStr Time between size checks for stability
      * @throws IOException In case of an error dealing with files
      */
     private void getAllFilesWithAdvancedFilter(FileObject dir, List<FileObject> fileList,
                                              boolean includeSubDirectories, AdvancedFileFilter filter,
-                                             Integer maxDepth, int currentDepth, String timeBetweenSizeCheckStr) throws IOException {
+                                             Integer maxDepth, int currentDepth) throws IOException {
 
         // Check depth limit
         if (maxDepth != null && currentDepth >= maxDepth) {
@@ -377,50 +394,14 @@ public class CompressFiles extends AbstractConnectorOperation {
         FileObject[] children = dir.getChildren();
         for (FileObject child : children) {
             if (child.getType() == FileType.FILE) {
-                // Check file stability if required
-                if (StringUtils.isNotEmpty(timeBetweenSizeCheckStr) && !isFileStable(child, timeBetweenSizeCheckStr)) {
-                    log.warn("File is not stable (still being written), skipping: " + child.getName().getBaseName());
-                    continue;
-                }
-                
                 // Apply advanced filtering
                 if (acceptFile(filter, child)) {
                     fileList.add(child);
                 }
             } else if (child.getType() == FileType.FOLDER && includeSubDirectories) {
                 getAllFilesWithAdvancedFilter(child, fileList, includeSubDirectories, filter, 
-                                            maxDepth, currentDepth + 1, timeBetweenSizeCheckStr);
-            }
-        }
-    }
-
-    /**
-     * Checks if a file is stable by comparing its size over time.
-     *
-     * @param file The file to check for stability
-     * @param sizeCheckInterval Time to wait between size checks in milliseconds
-     * @return true if file size is stable, false otherwise
-     */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
+                                            maxDepth, currentDepth + 1);
             }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Refresh and check size again
-            file.refresh();
-            long finalSize = file.getContent().getSize();
-            
-            return initialSize == finalSize;
-        } catch (Exception e) {
-            log.warn("Error checking file stability for " + file + ": " + e.getMessage());
-            return true; // Assume stable if we can't check
         }
     }
 
@@ -20,12 +20,14 @@ package org.wso2.carbon.connector.operations;
 
 import com.google.gson.JsonObject;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.wso2.org.apache.commons.vfs2.FileObject;
 import org.wso2.org.apache.commons.vfs2.FileSelector;
 import org.wso2.org.apache.commons.vfs2.FileSystemException;
 import org.wso2.org.apache.commons.vfs2.FileSystemManager;
 import org.wso2.org.apache.commons.vfs2.FileSystemOptions;
+import org.wso2.org.apache.commons.vfs2.NameScope;
 import org.wso2.org.apache.commons.vfs2.Selectors;
 import org.apache.synapse.MessageContext;
 import org.wso2.carbon.connector.connection.FileSystemHandler;
@@ -40,9 +42,13 @@ import org.wso2.carbon.connector.pojo.FileOperationResult;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.utils.SimpleFileSelector;
 import org.wso2.carbon.connector.utils.AdvancedFileSelector;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -64,6 +70,7 @@ public class CopyFiles extends AbstractConnectorOperation {
     private static final String INCLUDE_PARENT_PARAM = "includeParent";
     private static final String OVERWRITE_PARAM = "overwrite";
     private static final String RENAME_TO_PARAM = "renameTo";
+    private static final String READ_AHEAD_WINDOW_PARAM = "readAheadWindow";
 
     private static final String OPERATION_NAME = "copyFiles";
     private static final String ERROR_MESSAGE = "Error while performing file:copy for file/folder ";
@@ -78,6 +85,7 @@ public class CopyFiles extends AbstractConnectorOperation {
         boolean includeParent;
         boolean overwrite;
         String renameTo;
+        int readAheadWindow;
         FileObject sourceFile = null;
         FileSelector fileSelector;
         int maxRetries;
@@ -138,6 +146,12 @@ public class CopyFiles extends AbstractConnectorOperation {
                         lookupTemplateParamater(messageContext, OVERWRITE_PARAM));
                 renameTo = (String) ConnectorUtils.
                         lookupTemplateParamater(messageContext, RENAME_TO_PARAM);
+                readAheadWindow = Integer.parseInt(Utils.lookUpStringParam(messageContext,
+                        READ_AHEAD_WINDOW_PARAM, "0"));
+                if (readAheadWindow < 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + READ_AHEAD_WINDOW_PARAM + "' should not be negative");
+                }
 
                 sourcePath = fileSystemHandlerConnection.getBaseDirectoryPath() + sourcePath;
                 targetPath = fileSystemHandlerConnection.getBaseDirectoryPath() + targetPath;
@@ -152,7 +166,7 @@ public class CopyFiles extends AbstractConnectorOperation {
                 
                 if (useAdvancedFilter) {
                     // Use new advanced selector for include/exclude/age/stability filtering
-                    fileSelector = new AdvancedFileSelector(fileFilterType, includeFiles, excludeFiles, 
+                    fileSelector = new AdvancedFileSelector(connectionName, fileFilterType, includeFiles, excludeFiles,
                                                            maxFileAge, timeBetweenSizeCheck);
                 } else if (StringUtils.isNotEmpty(sourceFilePattern)) {
                     // Use legacy simple selector for backward compatibility
@@ -163,6 +177,7 @@ public class CopyFiles extends AbstractConnectorOperation {
 
                 //execute copy
                 sourceFile = fileSystemHandlerConnection.resolveFileWithSuspension(sourcePath);
+                AppenderPool.release(sourceFile);
                 if (sourceFile.exists()) {
 
                     if (sourceFile.isFile()) {
@@ -179,7 +194,9 @@ public class CopyFiles extends AbstractConnectorOperation {
                         }
 
                         FileObject targetFile = fileSystemHandlerConnection.resolveFileWithSuspension(targetFilePath);
-                        boolean success = copyFile(sourceFile, fileSelector, targetFile, overwrite);
+                        AppenderPool.release(targetFile);
+                        boolean success = copyFile(sourceFile, fileSelector, targetFile, overwrite,
+                                readAheadWindow);
                         FileOperationResult result;
                         if (success) {
                             JsonObject resultJSON = generateOperationResult(messageContext,
@@ -203,8 +220,10 @@ public class CopyFiles extends AbstractConnectorOperation {
                         }
 
                         FileObject targetFile = fileSystemHandlerConnection.resolveFileWithSuspension(targetPath);
+                        AppenderPool.release(targetFile);
 
-                        boolean success = copyFolder(sourceFile, fileSelector, targetFile, overwrite);
+                        boolean success = copyFolder(sourceFile, fileSelector, targetFile, overwrite,
+                                readAheadWindow);
                         if (success) {
                             JsonObject resultJSON = generateOperationResult(messageContext,
                                     new FileOperationResult(OPERATION_NAME, true));
@@ -299,18 +318,20 @@ public class CopyFiles extends AbstractConnectorOperation {
      * @param srcFile         source file object
      * @param selector        The selector to use to select which files to copy
      * @param destinationFile destination file object
+     * @param readAheadWindow Number of chunks of SFTP files to read concurrently
      * @return true if operation is done. False if overwrite is not allowed
      * @throws FileSystemException If this file is read-only,
      *                             or if the source file does
      *                             not exist, or on error copying the file.
      */
     private boolean copyFile(FileObject srcFile, FileSelector selector,
-                             FileObject destinationFile, boolean overWrite) throws FileSystemException {
+                             FileObject destinationFile, boolean overWrite, int readAheadWindow)
+            throws FileSystemException {
 
         if (!overWrite && destinationFile.exists()) {
             return false;
         } else {
-            destinationFile.copyFrom(srcFile, selector);
+            copyFrom(srcFile, selector, destinationFile, readAheadWindow);
             return true;
         }
     }
@@ -326,13 +347,15 @@ public class CopyFiles extends AbstractConnectorOperation {
      * @param selector        Select files to copy based on this
      * @param destinationFile Destination directory
      * @param overWrite       true if allow to overwrite
+     * @param readAheadWindow Number of chunks of SFTP files to read concurrently
      * @return True if copying is performed
      * @throws FileSystemException If this file is read-only,
      *                             or if the source file does
      *                             not exist, or on error copying the file.
      */
     private boolean copyFolder(FileObject srcFile, FileSelector selector,
-                               FileObject destinationFile, boolean overWrite) throws FileSystemException {
+                               FileObject destinationFile, boolean overWrite, int readAheadWindow)
+            throws FileSystemException {
 
         if (destinationFile.exists() && !overWrite) {
 
@@ -355,10 +378,53 @@ public class CopyFiles extends AbstractConnectorOperation {
 
         }
 
-        destinationFile.copyFrom(srcFile, selector);
+        copyFrom(srcFile, selector, destinationFile, readAheadWindow);
         return true;
     }
 
+    /**
+     * Copy the selected descendants of srcFile to destinationFile. Content of SFTP
+     * files is read ahead if a window is set, otherwise VFS copies the files.
+     *
+     * @param srcFile         Source file or directory
+     * @param selector        Select files to copy based on this
+     * @param destinationFile Destination file or directory
+     * @param readAheadWindow Number of chunks of SFTP files to read concurrently
+     * @throws FileSystemException On error copying the files
+     */
+    private void copyFrom(FileObject srcFile, FileSelector selector, FileObject destinationFile,
+                          int readAheadWindow) throws FileSystemException {
+
+        if (readAheadWindow <= 0 || !Const.SFTP_FILE_SCHEME.equals(srcFile.getName().getScheme())) {
+            destinationFile.copyFrom(srcFile, selector);
+            return;
+        }
+        FileObject[] files = srcFile.findFiles(selector);
+        if (files == null) {
+            return;
+        }
+        for (FileObject file : files) {
+            String relativePath = srcFile.getName().getRelativeName(file.getName());
+            FileObject destFile = destinationFile.resolveFile(relativePath, NameScope.DESCENDENT_OR_SELF);
+            if (destFile.exists() && destFile.getType() != file.getType()) {
+                destFile.deleteAll();
+            }
+            if (file.getType().hasContent()) {
+                try (InputStream in = Utils.openInputStream(file, readAheadWindow);
+                     OutputStream out = destFile.getContent().getOutputStream()) {
+                    IOUtils.copyLarge(in, out);
+                } catch (FileSystemException e) {
+                    throw e;
+                } catch (IOException e) {
+                    throw new FileSystemException("Error while copying " + file.getName().getURI()
+                            + " to " + destFile.getName().getURI(), e);
+                }
+            } else if (file.getType().hasChildren()) {
+                destFile.createFolder();
+            }
+        }
+    }
+
     /**
      * Sets error to context and handle.
      *
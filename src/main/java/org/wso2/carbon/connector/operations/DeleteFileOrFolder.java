@@ -37,6 +37,7 @@ import org.wso2.carbon.connector.pojo.FileOperationResult;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.utils.SimpleFileFiler;
 import org.wso2.carbon.connector.utils.AdvancedFileFilter;
 
@@ -113,6 +114,7 @@ public class DeleteFileOrFolder extends AbstractConnectorOperation {
                 Utils.addDiskShareAccessMaskToFSO(fso, diskShareAccessMask);
                 fileOrFolderPath = fileSystemHandlerConnection.getBaseDirectoryPath() + fileOrFolderPath;
                 fileObjectToDelete = fileSystemHandlerConnection.resolveFileWithSuspension(fileOrFolderPath);
+                AppenderPool.release(fileObjectToDelete);
 
                 if (log.isDebugEnabled()) {
                     log.debug("Delete file/folder attempt " + attempt + " of " + maxRetries + " for file/folder "
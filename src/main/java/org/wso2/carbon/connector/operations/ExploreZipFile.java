@@ -20,6 +20,8 @@ package org.wso2.carbon.connector.operations;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.lang.StringUtils;
 import org.wso2.org.apache.commons.vfs2.FileObject;
 import org.wso2.org.apache.commons.vfs2.FileSystemException;
@@ -34,12 +36,16 @@ import org.wso2.integration.connector.core.util.ConnectorUtils;
 import org.wso2.carbon.connector.exception.IllegalPathException;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.pojo.FileOperationResult;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -91,32 +97,23 @@ public class ExploreZipFile extends AbstractConnectorOperation {
             FileSystemOptions fso = fileSystemHandlerConnection.getFsOptions();
             Utils.addDiskShareAccessMaskToFSO(fso, diskShareAccessMask);
             zipFile = fileSystemHandlerConnection.resolveFileWithSuspension(filePath);
+            AppenderPool.release(zipFile);
 
             if (!zipFile.exists()) {
                 throw new IllegalPathException("Zip file not found at path " + filePath);
             }
 
             // Check file stability if timeBetweenSizeCheck is provided
-            if (StringUtils.isNotEmpty(timeBetweenSizeCheckStr) && !isFileStable(zipFile, timeBetweenSizeCheckStr)) {
+            if (StringUtils.isNotEmpty(timeBetweenSizeCheckStr)
+                    && !FileStabilityTracker.isStable(connectionName, zipFile, timeBetweenSizeCheckStr)) {
                 throw new ConnectException("Zip file is still being modified. Cannot explore: " + filePath);
             }
 
-            JsonArray zipFileContentEle = new JsonArray();
-
-            // open the zip file
-            InputStream input = zipFile.getContent().getInputStream();
-
-            //Java handles zip.close() - automatic resource mgt
-            try (ZipInputStream zip = new ZipInputStream(input)) {
-                String zipEntryName;
-                ZipEntry zipEntry;
-                // iterates over entries in the zip file
-                while ((zipEntry = zip.getNextEntry()) != null) {
-                    if (!zipEntry.isDirectory()) {
-                        zipEntryName = zipEntry.getName();
-                        zipFileContentEle.add(zipEntryName);
-                    }
-                }
+            JsonArray zipFileContentEle;
+            if (Utils.isZipRandomAccessSupported(zipFile)) {
+                zipFileContentEle = readCentralDirectory(zipFile);
+            } else {
+                zipFileContentEle = readEntries(zipFile);
             }
 
             JsonObject resultJSON = generateOperationResult(messageContext,
@@ -161,33 +158,54 @@ public class ExploreZipFile extends AbstractConnectorOperation {
     }
 
     /**
-     * Checks if a file is stable by comparing its size over time.
+     * List the file entries of the zip file from its central directory. Only the
+     * end of the archive holding the central directory is read.
      *
-     * @param file The file to check for stability
-     * @param timeBetweenSizeCheckStr Time to wait between size checks (e.g., "2s", "1000ms")
-     * @return true if file size is stable, false otherwise
+     * @param zipFile Zip file
+     * @return Names of the file entries
+     * @throws IOException In case of I/O error
      */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
+    private JsonArray readCentralDirectory(FileObject zipFile) throws IOException {
+        JsonArray zipFileContentEle = new JsonArray();
+        try (ZipFile zip = Utils.openZipFile(zipFile, StandardCharsets.UTF_8.name())) {
+            Enumeration<ZipArchiveEntry> entries = zip.getEntries();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry zipEntry = entries.nextElement();
+                if (!zipEntry.isDirectory()) {
+                    zipFileContentEle.add(zipEntry.getName());
+                }
+            }
+        }
+        return zipFileContentEle;
+    }
+
+    /**
+     * List the file entries of the zip file by reading the whole archive. Used
+     * when the file system does not support random access reads.
+     *
+     * @param zipFile Zip file
+     * @return Names of the file entries
+     * @throws IOException In case of I/O error
+     */
+    private JsonArray readEntries(FileObject zipFile) throws IOException {
+        JsonArray zipFileContentEle = new JsonArray();
+
+        // open the zip file
+        InputStream input = zipFile.getContent().getInputStream();
+
+        //Java handles zip.close() - automatic resource mgt
+        try (ZipInputStream zip = new ZipInputStream(input)) {
+            String zipEntryName;
+            ZipEntry zipEntry;
+            // iterates over entries in the zip file
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                if (!zipEntry.isDirectory()) {
+                    zipEntryName = zipEntry.getName();
+                    zipFileContentEle.add(zipEntryName);
+                }
             }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Refresh and check size again
-            file.refresh();
-            long finalSize = file.getContent().getSize();
-            
-            return initialSize == finalSize;
-        } catch (Exception e) {
-            log.warn("Error checking file stability for " + file + ": " + e.getMessage());
-            return true; // Assume stable if we can't check
         }
+        return zipFileContentEle;
     }
 
     /**
@@ -39,6 +39,7 @@ import org.wso2.carbon.connector.exception.FileOperationException;
 import org.wso2.carbon.connector.exception.IllegalPathException;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.pojo.FileSorter;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.SimpleFileFiler;
@@ -108,6 +109,7 @@ public class FetchContentToList extends AbstractConnector {
 
             folderPath = fileSystemHandlerConnection.getBaseDirectoryPath() + folderPath;
             folder = fileSystemHandlerConnection.resolveFileWithSuspension(folderPath);
+            AppenderPool.release(folder);
 
             if (folder.exists()) {
 
@@ -38,6 +38,8 @@ import org.wso2.carbon.connector.pojo.MergeFileResult;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.AppenderPool;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
 import org.wso2.carbon.connector.utils.AdvancedFileFilter;
 import org.wso2.org.apache.commons.vfs2.FileSelectInfo;
 import org.wso2.org.apache.commons.vfs2.FileSelector;
@@ -46,6 +48,10 @@ import org.wso2.org.apache.commons.vfs2.Selectors;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static org.wso2.carbon.connector.utils.Utils.generateOperationResult;
 
@@ -121,6 +127,8 @@ public class MergeFiles extends AbstractConnectorOperation {
             Utils.addDiskShareAccessMaskToFSO(fso, diskShareAccessMask);
             sourceDir = fileSystemHandlerConnection.resolveFileWithSuspension(sourceDirectoryPath);
             targetFile = fileSystemHandlerConnection.resolveFileWithSuspension(targetFilePath);
+            AppenderPool.release(sourceDir);
+            AppenderPool.release(targetFile);
 
             if (!sourceDir.exists()) {
                 throw new IllegalPathException("Directory not found: " + sourceDirectoryPath);
@@ -150,15 +158,22 @@ public class MergeFiles extends AbstractConnectorOperation {
             FileObject[] children = sourceDir.getChildren();
 
             if (children != null && children.length != 0) {
-                MergeFileResult mergeFileResult;
+                List<FileObject> filesToMerge;
                 if (useAdvancedFilter) {
                     // Use advanced filtering
                     AdvancedFileFilter advancedFilter = new AdvancedFileFilter(fileFilterType, includeFiles, excludeFiles, maxFileAge);
-                    mergeFileResult = mergeFilesWithAdvancedFilter(targetFile, advancedFilter, timeBetweenSizeCheck, children);
+                    filesToMerge = filterWithAdvancedFilter(advancedFilter, children);
                 } else {
                     // Use legacy pattern filtering
-                    mergeFileResult = mergeFiles(targetFile, filePattern, timeBetweenSizeCheck, children);
+                    filesToMerge = filterWithPattern(filePattern, children);
                 }
+                // Only the files to merge are checked for stability
+                for (FileObject unstableFile : getUnstableFiles(connectionName, filesToMerge, timeBetweenSizeCheck)) {
+                    log.warn("File is not stable (still being written), skipping: "
+                            + unstableFile.getName().getBaseName());
+                    filesToMerge.remove(unstableFile);
+                }
+                MergeFileResult mergeFileResult = mergeFiles(targetFile, filesToMerge);
                 numberOfMergedFiles = mergeFileResult.getNumberOfMergedFiles();
                 numberOfTotalBytesWritten = mergeFileResult.getNumberOfTotalWrittenBytes();
             }
@@ -207,95 +222,96 @@ public class MergeFiles extends AbstractConnectorOperation {
     }
 
     /**
-     * Perform File merging.
+     * Find the files to merge that are still being written.
      *
-     * @param targetFile  Target file to create after merge
-     * @param filePattern Specific pattern of files to merge
-     * @param timeBetweenSizeCheck Time to wait between size checks for stability
-     * @param children    Files to merge
-     * @return Info object with result of the operation
-     * @throws IOException In case of file operation issue
+     * @param connectionName       Name of the connection
+     * @param files                Files to merge
+     * @param timeBetweenSizeCheck Time between size checks for stability
+     * @return Files that are not stable, empty if the check is not enabled
+     * @throws FileSystemException In case of an error determining the file types
      */
-    private MergeFileResult mergeFiles(FileObject targetFile, String filePattern, String timeBetweenSizeCheck, FileObject[] children) throws IOException {
-
-        int numberOfMergedFiles = 0;
-        long numberOfTotalBytesWritten = 0;
-        OutputStream outputStream = null;
-        BufferedOutputStream bufferedOutputStream = null;
-
-        try {
-            //we'll append all in source files
-            outputStream = targetFile.getContent().getOutputStream(true);
-            bufferedOutputStream = new BufferedOutputStream(outputStream);
-
-            for (FileObject child : children) {
-                long numberOfBytesWritten = 0;
-                
-                // Check file stability if parameter is provided
-                if (!StringUtils.isEmpty(timeBetweenSizeCheck) && child.isFile()) {
-                    if (!isFileStable(child, timeBetweenSizeCheck)) {
-                        log.warn("File is not stable (still being written), skipping: " + child.getName().getBaseName());
-                        continue;
-                    }
-                }
-                
-                if (StringUtils.isNotEmpty(filePattern)) {
-                    if (child.getName().getBaseName().matches(filePattern)) {
-                        numberOfBytesWritten = child.getContent().write(bufferedOutputStream);
-                    }
-                } else {
-                    numberOfBytesWritten = child.getContent().write(bufferedOutputStream);
-                }
-                if (numberOfBytesWritten != 0) {
-                    bufferedOutputStream.flush();
-                    outputStream.flush();
-                    numberOfMergedFiles = numberOfMergedFiles + 1;
-                    numberOfTotalBytesWritten = numberOfTotalBytesWritten + numberOfBytesWritten;
-                }
-
-                try {
-                    child.close();
-                } catch (IOException e) {
-                    log.warn("Error while closing a file in the source folder: " + e.getMessage(), e);
-                }
+    private Set<FileObject> getUnstableFiles(String connectionName, List<FileObject> files,
+                                             String timeBetweenSizeCheck) throws FileSystemException {
+        if (StringUtils.isEmpty(timeBetweenSizeCheck)) {
+            return Collections.emptySet();
+        }
+        List<FileObject> regularFiles = new ArrayList<>();
+        for (FileObject file : files) {
+            if (file.isFile()) {
+                regularFiles.add(file);
             }
+        }
+        return FileStabilityTracker.getUnstableFiles(connectionName, regularFiles, timeBetweenSizeCheck);
+    }
 
-            return new MergeFileResult(numberOfMergedFiles, numberOfTotalBytesWritten);
+    /**
+     * Select the files of the source directory matching the file pattern.
+     *
+     * @param filePattern Specific pattern of files to merge, all files if empty
+     * @param children    Files of the source directory
+     * @return Files to merge
+     */
+    private List<FileObject> filterWithPattern(String filePattern, FileObject[] children) {
+        List<FileObject> files = new ArrayList<>();
+        for (FileObject child : children) {
+            if (StringUtils.isEmpty(filePattern) || child.getName().getBaseName().matches(filePattern)) {
+                files.add(child);
+            }
+        }
+        return files;
+    }
 
-        } finally {
+    /**
+     * Select the files of the source directory accepted by the advanced filter.
+     *
+     * @param advancedFilter Advanced filter for file selection
+     * @param children       Files of the source directory
+     * @return Files to merge
+     */
+    private List<FileObject> filterWithAdvancedFilter(AdvancedFileFilter advancedFilter, FileObject[] children) {
+        List<FileObject> files = new ArrayList<>();
+        for (FileObject child : children) {
+            try {
+                FileSelectInfo fileSelectInfo = new FileSelectInfo() {
+                    @Override
+                    public FileObject getFile() {
+                        return child;
+                    }
 
-            if (bufferedOutputStream != null) {
-                try {
-                    bufferedOutputStream.close();
-                } catch (IOException e) {
-                    log.error("FileConnector: MergeFiles - Error while "
-                            + "closing buffered outputStream for file " + targetFile.getURL());
-                }
-            }
+                    @Override
+                    public int getDepth() {
+                        return 1; // Files in source directory are at depth 1
+                    }
 
-            if (outputStream != null) {
-                try {
-                    outputStream.close();
-                } catch (IOException e) {
-                    log.error("FileConnector: MergeFiles - Error while"
-                            + " closing outputStream for file " + targetFile.getURL());
+                    @Override
+                    public FileObject getBaseFolder() {
+                        try {
+                            return child.getParent();
+                        } catch (Exception e) {
+                            return null;
+                        }
+                    }
+                };
+                if (advancedFilter.accept(fileSelectInfo)) {
+                    files.add(child);
                 }
+            } catch (Exception e) {
+                log.warn("Error applying advanced filter to file " + child.getName().getBaseName() + ": " + e.getMessage());
             }
         }
+        return files;
     }
 
     /**
-     * Perform File merging with advanced filtering.
+     * Perform File merging.
      *
-     * @param targetFile           Target file to create after merge
-     * @param advancedFilter       Advanced filter for file selection
-     * @param timeBetweenSizeCheck Time to wait between size checks for stability
-     * @param children             Files to merge
+     * @param targetFile  Target file to create after merge
+     * @param files       Files to merge
      * @return Info object with result of the operation
      * @throws IOException In case of file operation issue
      */
-    private MergeFileResult mergeFilesWithAdvancedFilter(FileObject targetFile, AdvancedFileFilter advancedFilter, 
-                                                        String timeBetweenSizeCheck, FileObject[] children) throws IOException {
+    private MergeFileResult mergeFiles(FileObject targetFile, List<FileObject> files) throws IOException {
+
         int numberOfMergedFiles = 0;
         long numberOfTotalBytesWritten = 0;
         OutputStream outputStream = null;
@@ -306,48 +322,8 @@ public class MergeFiles extends AbstractConnectorOperation {
             outputStream = targetFile.getContent().getOutputStream(true);
             bufferedOutputStream = new BufferedOutputStream(outputStream);
 
-            for (FileObject child : children) {
-                long numberOfBytesWritten = 0;
-                
-                // Check file stability if parameter is provided
-                if (!StringUtils.isEmpty(timeBetweenSizeCheck) && child.isFile()) {
-                    if (!isFileStable(child, timeBetweenSizeCheck)) {
-                        log.warn("File is not stable (still being written), skipping: " + child.getName().getBaseName());
-                        continue;
-                    }
-                }
-                
-                // Use advanced filter to check if file should be included
-                try {
-                    FileSelectInfo fileSelectInfo = new FileSelectInfo() {
-                        @Override
-                        public FileObject getFile() {
-                            return child;
-                        }
-
-                        @Override
-                        public int getDepth() {
-                            return 1; // Files in source directory are at depth 1
-                        }
-
-                        @Override
-                        public FileObject getBaseFolder() {
-                            try {
-                                return child.getParent();
-                            } catch (Exception e) {
-                                return null;
-                            }
-                        }
-                    };
-                    
-                    if (advancedFilter.accept(fileSelectInfo)) {
-                        numberOfBytesWritten = child.getContent().write(bufferedOutputStream);
-                    }
-                } catch (Exception e) {
-                    log.warn("Error applying advanced filter to file " + child.getName().getBaseName() + ": " + e.getMessage());
-                    continue;
-                }
-                
+            for (FileObject child : files) {
+                long numberOfBytesWritten = child.getContent().write(bufferedOutputStream);
                 if (numberOfBytesWritten != 0) {
                     bufferedOutputStream.flush();
                     outputStream.flush();
@@ -386,47 +362,6 @@ public class MergeFiles extends AbstractConnectorOperation {
         }
     }
 
-    /**
-     * Check if file is stable (not being written to) by comparing file sizes
-     * over a specified interval.
-     * 
-     * @param file File to check for stability
-     * @param sizeCheckInterval Time in milliseconds to wait between size checks
-     * @return true if file is stable, false if still being written
-     */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
-            }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Re-read file size and compare
-            long finalSize = file.getContent().getSize();
-            
-            // File is stable if size hasn't changed
-            return initialSize == finalSize;
-            
-        } catch (NumberFormatException e) {
-            // If we can't parse the interval, assume file is stable
-            log.warn("Invalid timeBetweenSizeCheck value: " + sizeCheckInterval + ". Skipping stability check.");
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            // If interrupted, assume file is stable
-            return true;
-        } catch (Exception e) {
-            // If we can't check stability, assume file is stable
-            log.warn("Error checking file stability: " + e.getMessage() + ". Assuming file is stable.");
-            return true;
-        }
-    }
-
     /**
      * Sets error to context and handle.
      *
@@ -40,6 +40,7 @@ import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.FilePatternMatcher;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.utils.AdvancedFileSelector;
 import org.wso2.org.apache.commons.vfs2.FileSelector;
 import org.wso2.org.apache.commons.vfs2.Selectors;
@@ -147,7 +148,7 @@ public class MoveFiles extends AbstractConnectorOperation {
             
             if (useAdvancedFilter) {
                 // Use advanced selector for include/exclude/age/stability filtering
-                fileSelector = new AdvancedFileSelector(fileFilterType, includeFiles, excludeFiles, 
+                fileSelector = new AdvancedFileSelector(connectionName, fileFilterType, includeFiles, excludeFiles,
                                                        maxFileAge, timeBetweenSizeCheck);
             } else if (StringUtils.isNotEmpty(filePattern)) {
                 // Legacy pattern handling will be done in moveFolder method
@@ -158,6 +159,7 @@ public class MoveFiles extends AbstractConnectorOperation {
 
             //execute move
             sourceFile = fileSystemHandlerConnection.resolveFileWithSuspension(sourcePath);
+            AppenderPool.release(sourceFile);
 
             if (sourceFile.exists()) {
 
@@ -175,6 +177,7 @@ public class MoveFiles extends AbstractConnectorOperation {
                     }
 
                     FileObject targetFile = fileSystemHandlerConnection.resolveFileWithSuspension(targetFilePath);
+                    AppenderPool.release(targetFile);
 
                     // Set the isMounted flag to to avoid errors in mounted volumes.
                     try {
@@ -212,6 +215,7 @@ public class MoveFiles extends AbstractConnectorOperation {
                         }
                         targetFile = fileSystemHandlerConnection.resolveFileWithSuspension(targetPath);
                     }
+                    AppenderPool.release(targetFile);
 
                     boolean success = moveFolder(sourceFile, targetFile, overwrite, filePattern, fileSelector, true, fileSystemHandlerConnection);
                     if (success) {
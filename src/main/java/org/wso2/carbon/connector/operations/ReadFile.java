@@ -18,8 +18,12 @@
 
 package org.wso2.carbon.connector.operations;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMException;
 import org.apache.axis2.AxisFault;
@@ -30,13 +34,20 @@ import org.apache.axis2.format.DataSourceMessageBuilder;
 import org.apache.axis2.format.ManagedDataSource;
 import org.apache.axis2.format.ManagedDataSourceFactory;
 import org.apache.axis2.transport.TransportUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.AutoCloseInputStream;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.lang.StringUtils;
+import org.wso2.org.apache.commons.vfs2.Capability;
 import org.wso2.org.apache.commons.vfs2.FileObject;
 import org.wso2.org.apache.commons.vfs2.FileSelectInfo;
 import org.wso2.org.apache.commons.vfs2.FileSystemException;
 import org.wso2.org.apache.commons.vfs2.FileSystemManager;
 import org.wso2.org.apache.commons.vfs2.FileSystemOptions;
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+import org.wso2.org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.commons.json.JsonUtil;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
@@ -55,28 +66,65 @@ import org.wso2.carbon.connector.exception.IllegalPathException;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.exception.ConnectionSuspendedException;
 import org.wso2.carbon.connector.filelock.FileLockManager;
+import org.wso2.carbon.connector.pojo.CompressionFormat;
+import org.wso2.carbon.connector.pojo.FileFingerprint;
 import org.wso2.carbon.connector.pojo.FileOperationResult;
+import org.wso2.carbon.connector.pojo.FileMetadata;
 import org.wso2.carbon.connector.pojo.FileReadMode;
+import org.wso2.carbon.connector.pojo.FileSelectionPolicy;
+import org.wso2.carbon.connector.pojo.ReadCursor;
+import org.wso2.carbon.connector.utils.DelimitedRecordReader;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
 import org.wso2.carbon.connector.utils.AdvancedFileFilter;
+import org.wso2.carbon.connector.utils.AppenderPool;
+import org.wso2.carbon.connector.utils.FileMetadataCache;
 import org.wso2.carbon.connector.utils.FileObjectDataSource;
+import org.wso2.carbon.connector.utils.LineOffsetIndex;
+import org.wso2.carbon.connector.utils.LineRangeInputStream;
+import org.wso2.carbon.connector.utils.MappedFileInputStream;
+import org.wso2.carbon.connector.utils.ReadAheadInputStream;
+import org.wso2.carbon.connector.utils.TailLineLocator;
+import org.wso2.carbon.connector.utils.ThreadPools;
 
 import javax.mail.internet.ContentType;
 import javax.mail.internet.ParseException;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.wso2.carbon.connector.utils.Utils.generateOperationResult;
 
@@ -92,6 +140,7 @@ public class ReadFile extends AbstractConnectorOperation {
     private static final String CONTENT_TYPE_PARAM = "contentType";
     private static final String ENCODING_PARAM = "encoding";
     private static final String ENABLE_STREAMING_PARAM = "enableStreaming";
+    private static final String ENABLE_MEMORY_MAPPING_PARAM = "enableMemoryMapping";
     private static final String START_LINE_NUM_PARAM = "startLineNum";
     private static final String END_LINE_NUM_PARAM = "endLineNum";
     private static final String LINE_NUM_PARAM = "lineNum";
@@ -102,8 +151,41 @@ public class ReadFile extends AbstractConnectorOperation {
     private static final String MAX_FILE_AGE = "maxFileAge";
     private static final String TIME_BETWEEN_SIZE_CHECK = "timeBetweenSizeCheck";
     private static final String METADATA_OUTPUT_FORMAT = "metadataOutputFormat";
+    private static final String METADATA_CACHE_TTL_PARAM = "metadataCacheTTL";
+    private static final String LINE_INDEX_INTERVAL_PARAM = "lineIndexInterval";
+    private static final String OFFSET_PARAM = "offset";
+    private static final String LENGTH_PARAM = "length";
+    private static final String LINE_COUNT_PARAM = "lineCount";
+    private static final String PAGE_SIZE_PARAM = "pageSize";
+    private static final String PAGE_UNIT_PARAM = "pageUnit";
+    private static final String CONTINUATION_TOKEN_PARAM = "continuationToken";
+    private static final String PAGE_UNIT_LINES = "Lines";
+    private static final String PAGE_UNIT_BYTES = "Bytes";
+    private static final String RECORD_FORMAT_PARAM = "recordFormat";
+    private static final String BATCH_SIZE_PARAM = "batchSize";
+    private static final String CSV_DELIMITER_PARAM = "csvDelimiter";
+    private static final String CSV_HEADER_PARAM = "csvHeader";
+    private static final String MAX_FILE_COUNT_PARAM = "maxFileCount";
+    private static final String READ_PARALLELISM_PARAM = "readParallelism";
+    private static final String FILE_SELECTION_POLICY_PARAM = "fileSelectionPolicy";
+    private static final String COMPRESSION_FORMAT_PARAM = "compressionFormat";
+    private static final String ARCHIVE_ENTRY_PARAM = "archiveEntry";
+    private static final String IF_NONE_MATCH_PARAM = "ifNoneMatch";
+    private static final String FINGERPRINT_CONTENT_HASH_PARAM = "fingerprintContentHash";
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+    private static final String READ_AHEAD_WINDOW_PARAM = "readAheadWindow";
+    private static final String FILES_ELE_NAME = "files";
+    private static final String RECORD_FORMAT_CSV = "CSV";
+    private static final String RECORD_FORMAT_JSON_LINES = "JSON Lines";
+    private static final String GZIP_FILE_EXTENSION = ".gz";
+    private static final String GZIP_LONG_FILE_EXTENSION = ".gzip";
+    private static final int DECOMPRESSION_BUFFER_SIZE = 8192;
     private static final String OPERATION_NAME = "read";
     private static final String ERROR_MESSAGE = "Error while performing file:read for file/directory ";
+    private static final int MAX_MULTI_FILE_READERS = 16;
+
+    private static final ExecutorService multiFileReaders = ThreadPools.newBoundedPool(
+            "file-connector-multi-file-reader", MAX_MULTI_FILE_READERS);
 
     @Override
     public void execute(MessageContext messageContext, String responseVariable, Boolean overwriteBody)
@@ -152,6 +234,7 @@ public class ReadFile extends AbstractConnectorOperation {
 
                 // Use suspension-enabled file resolution for FTP/FTPS
                 fileObject = fileSystemHandlerConnection.resolveFileWithSuspension(sourcePath);
+                AppenderPool.release(fileObject);
 
                 fileLockManager = fileSystemHandlerConnection.getFileLockManager();
 
@@ -159,21 +242,24 @@ public class ReadFile extends AbstractConnectorOperation {
                     throw new IllegalPathException("File or folder not found: " + sourcePath);
                 }
 
+                if (fileObject.isFolder() && config.maxFileCount > 1) {
+                    readMultipleFiles(messageContext, connectionName, fileSystemHandlerConnection, fileObject,
+                            config, diskShareAccessMask, responseVariable, overwriteBody);
+                    successOperation = true;
+                    return;
+                }
+
                 if (fileObject.isFolder()) {
                     //select file to read with advanced filtering if provided
-                    if (StringUtils.isNotEmpty(config.fileFilterType) || StringUtils.isNotEmpty(config.includeFiles) ||
-                        StringUtils.isNotEmpty(config.excludeFiles) || StringUtils.isNotEmpty(config.maxFileAge)) {
-                        fileObject = selectFileToReadWithAdvancedFilter(fileObject, config);
-                    } else {
-                        fileObject = selectFileToRead(fileObject, config.filePattern);
-                    }
+                    fileObject = selectFileToRead(connectionName, fileObject, config);
                     workingDirRelativePAth = workingDirRelativePAth + Const.FILE_SEPARATOR
                             + fileObject.getName().getBaseName();
                     sourcePath = fileSystemHandlerConnection.getBaseDirectoryPath() + workingDirRelativePAth;
                 }
 
                 // Check file stability if timeBetweenSizeCheck is provided
-                if (StringUtils.isNotEmpty(config.timeBetweenSizeCheck) && !isFileStable(fileObject, config.timeBetweenSizeCheck)) {
+                if (StringUtils.isNotEmpty(config.timeBetweenSizeCheck)
+                        && !FileStabilityTracker.isStable(connectionName, fileObject, config.timeBetweenSizeCheck)) {
                     throw new FileOperationException("File is not stable (still being written). Cannot read at this time: " + sourcePath);
                 }
 
@@ -186,7 +272,28 @@ public class ReadFile extends AbstractConnectorOperation {
                     }
                 }
 
-                Map<String, Object> fileAttributes = getFileProperties(workingDirRelativePAth, fileObject, config);
+                FileMetadata fileMetadata = FileMetadataCache.getMetadata(connectionName, fileObject,
+                        config.metadataCacheTTL);
+                Map<String, Object> fileAttributes = getFileProperties(workingDirRelativePAth, fileObject,
+                        fileMetadata, config);
+                FileFingerprint fingerprint = getFingerprint(fileObject, fileMetadata, config);
+                fileAttributes.put(Const.FILE_FINGERPRINT, fingerprint.toToken());
+
+                //if the content did not change since the given fingerprint, no need to touch content
+                if (config.ifNoneMatch != null) {
+                    boolean notModified = config.ifNoneMatch.matches(fingerprint);
+                    fileAttributes.put(Const.FILE_NOT_MODIFIED, String.valueOf(notModified));
+                    if (notModified) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("FileConnector:read  - file " + sourcePath + " is not modified");
+                        }
+                        JsonObject resultJSON = generateOperationResult(messageContext,
+                                new FileOperationResult(OPERATION_NAME, true));
+                        handleConnectorResponse(messageContext, responseVariable, overwriteBody, resultJSON, null,
+                                fileAttributes);
+                        return;
+                    }
+                }
 
                 //if we need to read metadata only, no need to touch content
                 if (Objects.equals(config.readMode, FileReadMode.METADATA_ONLY)) {
@@ -201,7 +308,8 @@ public class ReadFile extends AbstractConnectorOperation {
                             + " of Content-type : " + config.contentType);
                 }
 
-                readFileContent(fileObject, messageContext, config, fileAttributes, responseVariable, overwriteBody);
+                readFileContent(fileObject, fileMetadata, messageContext, config, fileAttributes, responseVariable,
+                        overwriteBody);
                 successOperation = true;
                 //TODO:MTOM Support?
 
@@ -305,6 +413,7 @@ public class ReadFile extends AbstractConnectorOperation {
         String contentType;
         String encoding;
         boolean enableStreaming;
+        boolean enableMemoryMapping;
         int startLineNum;
         int endLineNum;
         int lineNum;
@@ -315,6 +424,26 @@ public class ReadFile extends AbstractConnectorOperation {
         String maxFileAge;
         String timeBetweenSizeCheck;
         String metadataOutputFormat;
+        long metadataCacheTTL;
+        int lineIndexInterval;
+        long offset;
+        long length;
+        int lineCount;
+        int pageSize;
+        String pageUnit;
+        ReadCursor readCursor;
+        String recordFormat;
+        int batchSize;
+        String csvDelimiter;
+        boolean csvHeader;
+        int maxFileCount;
+        int readParallelism;
+        FileSelectionPolicy fileSelectionPolicy;
+        CompressionFormat compressionFormat;
+        String archiveEntry;
+        FileFingerprint ifNoneMatch;
+        boolean fingerprintContentHash;
+        int readAheadWindow;
     }
 
     private Config readAndValidateInputs(MessageContext msgCtx) throws InvalidConfigurationException {
@@ -333,6 +462,8 @@ public class ReadFile extends AbstractConnectorOperation {
                 lookUpStringParam(msgCtx, ENCODING_PARAM, Const.DEFAULT_ENCODING);
         config.enableStreaming = Utils.
                 lookUpBooleanParam(msgCtx, ENABLE_STREAMING_PARAM, false);
+        config.enableMemoryMapping = Utils.
+                lookUpBooleanParam(msgCtx, ENABLE_MEMORY_MAPPING_PARAM, false);
         config.startLineNum = Integer.
                 parseInt(Utils.lookUpStringParam(msgCtx, START_LINE_NUM_PARAM, "0"));
         config.endLineNum = Integer.
@@ -353,10 +484,87 @@ public class ReadFile extends AbstractConnectorOperation {
                 lookUpStringParam(msgCtx, TIME_BETWEEN_SIZE_CHECK, Const.EMPTY_STRING);
         config.metadataOutputFormat = Utils.
                 lookUpStringParam(msgCtx, METADATA_OUTPUT_FORMAT, "default");
+        config.metadataCacheTTL = Long.
+                parseLong(Utils.lookUpStringParam(msgCtx, METADATA_CACHE_TTL_PARAM, "0"));
+        config.lineIndexInterval = Integer.
+                parseInt(Utils.lookUpStringParam(msgCtx, LINE_INDEX_INTERVAL_PARAM, "0"));
+        config.offset = Long.
+                parseLong(Utils.lookUpStringParam(msgCtx, OFFSET_PARAM, "0"));
+        config.length = Long.
+                parseLong(Utils.lookUpStringParam(msgCtx, LENGTH_PARAM, "0"));
+        config.lineCount = Integer.
+                parseInt(Utils.lookUpStringParam(msgCtx, LINE_COUNT_PARAM, "0"));
+        config.pageSize = Integer.
+                parseInt(Utils.lookUpStringParam(msgCtx, PAGE_SIZE_PARAM, "0"));
+        config.pageUnit = Utils.
+                lookUpStringParam(msgCtx, PAGE_UNIT_PARAM, PAGE_UNIT_LINES);
+        config.recordFormat = Utils.
+                lookUpStringParam(msgCtx, RECORD_FORMAT_PARAM, RECORD_FORMAT_CSV);
+        config.batchSize = Integer.
+                parseInt(Utils.lookUpStringParam(msgCtx, BATCH_SIZE_PARAM, "0"));
+        config.csvDelimiter = Utils.
+                lookUpStringParam(msgCtx, CSV_DELIMITER_PARAM, ",");
+        config.csvHeader = Utils.
+                lookUpBooleanParam(msgCtx, CSV_HEADER_PARAM, true);
+        config.maxFileCount = Integer.
+                parseInt(Utils.lookUpStringParam(msgCtx, MAX_FILE_COUNT_PARAM, "1"));
+        config.readParallelism = Integer.
+                parseInt(Utils.lookUpStringParam(msgCtx, READ_PARALLELISM_PARAM, "4"));
+        config.fileSelectionPolicy = FileSelectionPolicy.fromString(Utils.lookUpStringParam(msgCtx,
+                FILE_SELECTION_POLICY_PARAM, FileSelectionPolicy.FIRST_MATCH.getPolicy()));
+        config.compressionFormat = CompressionFormat.fromString(Utils.lookUpStringParam(msgCtx,
+                COMPRESSION_FORMAT_PARAM, CompressionFormat.NONE.getFormat()));
+        config.archiveEntry = Utils.
+                lookUpStringParam(msgCtx, ARCHIVE_ENTRY_PARAM, Const.EMPTY_STRING);
+        config.readAheadWindow = Integer.
+                parseInt(Utils.lookUpStringParam(msgCtx, READ_AHEAD_WINDOW_PARAM, "0"));
+        config.fingerprintContentHash = Utils.
+                lookUpBooleanParam(msgCtx, FINGERPRINT_CONTENT_HASH_PARAM, false);
+        String ifNoneMatch = Utils.
+                lookUpStringParam(msgCtx, IF_NONE_MATCH_PARAM, Const.EMPTY_STRING);
+        if (StringUtils.isNotEmpty(ifNoneMatch)) {
+            config.ifNoneMatch = FileFingerprint.fromToken(ifNoneMatch);
+        }
+        String continuationToken = Utils.
+                lookUpStringParam(msgCtx, CONTINUATION_TOKEN_PARAM, Const.EMPTY_STRING);
+        if (StringUtils.isNotEmpty(continuationToken)) {
+            config.readCursor = ReadCursor.fromToken(continuationToken);
+        }
 
         if(config.readMode == null) {
             throw new InvalidConfigurationException("Unknown file read mode");
         }
+        if (config.fileSelectionPolicy == null) {
+            throw new InvalidConfigurationException("Unknown file selection policy");
+        }
+        if (config.compressionFormat == null) {
+            throw new InvalidConfigurationException("Unknown compression format");
+        }
+        if (config.compressionFormat != CompressionFormat.NONE && config.compressionFormat != CompressionFormat.AUTO
+                && !isDecompressionSupported(config.readMode)) {
+            throw new InvalidConfigurationException("Parameter '" + COMPRESSION_FORMAT_PARAM
+                    + "' is not supported for read mode " + config.readMode.getMode());
+        }
+        if (config.maxFileCount < 1) {
+            throw new InvalidConfigurationException("Parameter '"
+                    + MAX_FILE_COUNT_PARAM + "' should be positive");
+        }
+        if (config.readParallelism < 1) {
+            throw new InvalidConfigurationException("Parameter '"
+                    + READ_PARALLELISM_PARAM + "' should be positive");
+        }
+        if (config.metadataCacheTTL < 0) {
+            throw new InvalidConfigurationException("Parameter '"
+                    + METADATA_CACHE_TTL_PARAM + "' should not be negative");
+        }
+        if (config.lineIndexInterval < 0) {
+            throw new InvalidConfigurationException("Parameter '"
+                    + LINE_INDEX_INTERVAL_PARAM + "' should not be negative");
+        }
+        if (config.readAheadWindow < 0) {
+            throw new InvalidConfigurationException("Parameter '"
+                    + READ_AHEAD_WINDOW_PARAM + "' should not be negative");
+        }
 
         switch (config.readMode) {
             case STARTING_FROM_LINE:
@@ -396,6 +604,53 @@ public class ReadFile extends AbstractConnectorOperation {
                     throw new InvalidConfigurationException("Parameter 'lineNum' should be positive");
                 }
                 break;
+            case BYTE_RANGE:
+                if (config.offset < 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + OFFSET_PARAM + "' should not be negative");
+                } else if (config.length < 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + LENGTH_PARAM + "' should not be negative");
+                }
+                break;
+            case LAST_N_LINES:
+                if (config.lineCount == 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + LINE_COUNT_PARAM + "' is required for selected read mode");
+                } else if (config.lineCount < 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + LINE_COUNT_PARAM + "' should be positive");
+                }
+                break;
+            case PAGINATED:
+                if (config.pageSize == 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + PAGE_SIZE_PARAM + "' is required for selected read mode");
+                } else if (config.pageSize < 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + PAGE_SIZE_PARAM + "' should be positive");
+                } else if (!PAGE_UNIT_LINES.equalsIgnoreCase(config.pageUnit)
+                        && !PAGE_UNIT_BYTES.equalsIgnoreCase(config.pageUnit)) {
+                    throw new InvalidConfigurationException("Parameter '" + PAGE_UNIT_PARAM + "' should be '"
+                            + PAGE_UNIT_LINES + "' or '" + PAGE_UNIT_BYTES + "'");
+                }
+                break;
+            case RECORD_BATCH:
+                if (config.batchSize == 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + BATCH_SIZE_PARAM + "' is required for selected read mode");
+                } else if (config.batchSize < 0) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + BATCH_SIZE_PARAM + "' should be positive");
+                } else if (!RECORD_FORMAT_CSV.equalsIgnoreCase(config.recordFormat)
+                        && !RECORD_FORMAT_JSON_LINES.equalsIgnoreCase(config.recordFormat)) {
+                    throw new InvalidConfigurationException("Parameter '" + RECORD_FORMAT_PARAM + "' should be '"
+                            + RECORD_FORMAT_CSV + "' or '" + RECORD_FORMAT_JSON_LINES + "'");
+                } else if (config.csvDelimiter.length() != 1) {
+                    throw new InvalidConfigurationException("Parameter '"
+                            + CSV_DELIMITER_PARAM + "' should be a single character");
+                }
+                break;
             case COMPLETE_FILE:
                 break;
             case METADATA_ONLY:
@@ -407,19 +662,25 @@ public class ReadFile extends AbstractConnectorOperation {
         return config;
     }
 
-    private void readFileContent(FileObject file, MessageContext msgCtx, Config config, Map<String, Object> attributes,
-                                 String responseVariable, Boolean overwriteBody)
-            throws IOException, FileOperationException {
+    private void readFileContent(FileObject file, FileMetadata metadata, MessageContext msgCtx, Config config,
+                                 Map<String, Object> attributes, String responseVariable, Boolean overwriteBody)
+            throws IOException, FileOperationException, InvalidConfigurationException {
 
-        if (StringUtils.isEmpty(config.contentType)) {
-            config.contentType = getContentType(file);
+        CompressionFormat compression = resolveCompression(file, config);
+        if (config.readMode == FileReadMode.RECORD_BATCH) {
+            config.contentType = Const.CONTENT_TYPE_JSON;
+        } else if (StringUtils.isEmpty(config.contentType)) {
+            config.contentType = compression == CompressionFormat.NONE ? metadata.getContentType()
+                    : getDecompressedContentType(file, compression, config);
         }
         setCharsetEncoding(config.encoding, config.contentType, msgCtx);
         //read and build file content
-        if (config.enableStreaming) {
+        if (config.enableStreaming && compression != CompressionFormat.NONE) {
+            throw new InvalidConfigurationException("Compressed files cannot be read while streaming is enabled");
+        } else if (config.enableStreaming) {
             if (overwriteBody != null && overwriteBody) {
                 //here underlying stream to the file content is not closed. We keep it open
-                setStreamToSynapse(file, msgCtx, config.contentType);
+                setStreamToSynapse(file, msgCtx, config.contentType, config.readAheadWindow);
             } else {
                 handleError(msgCtx, new AxisFault("The content cannot be stored in a variable while streaming is enabled"),
                         Error.OPERATION_ERROR, "The content cannot be stored in a variable while streaming is enabled",
@@ -427,7 +688,7 @@ public class ReadFile extends AbstractConnectorOperation {
             }
         } else {
             //this will close input stream automatically after building message
-            try (InputStream inputStream = readFile(file, config)) {
+            try (InputStream inputStream = readFile(file, config, attributes)) {
                 OMElement documentElement =
                         buildSynapseMessage(inputStream, msgCtx, config.contentType);
                 ConnectorResponse response = new DefaultConnectorResponse();
@@ -452,138 +713,528 @@ public class ReadFile extends AbstractConnectorOperation {
     }
 
     /**
-     * Sets error to context and handle.
+     * Read up to maxFileCount files of a folder concurrently and respond with the
+     * content and attributes of each file in one payload. The calling thread reads
+     * files through the connection it holds, while up to readParallelism - 1 helpers
+     * on a shared pool borrow connections of their own and take over the remaining
+     * files. The calling thread does not wait for helpers to get a connection, so
+     * reads complete even if the pool of connections is exhausted. A file that cannot
+     * be read is reported with its error instead of failing the whole operation.
      *
-     * @param msgCtx      Message Context to set info
-     * @param e           Exception associated
-     * @param error       Error code
-     * @param errorDetail Error detail
-     * @param responseVariable Response variable name
-     * @param overwriteBody Overwrite body
+     * @param msgCtx                      Message context
+     * @param connectionName              Name of the connection
+     * @param fileSystemHandlerConnection Connection held by the operation
+     * @param directory                   Folder to read files from
+     * @param config                      Input config
+     * @param diskShareAccessMask         Access mask for disk share of borrowed connections
+     * @param responseVariable            Response variable name
+     * @param overwriteBody               Overwrite body
+     * @throws IOException            In case of file system issue
+     * @throws FileOperationException If no file can be selected or reading is interrupted
      */
-    private void handleError(MessageContext msgCtx, Exception e, Error error, String errorDetail,
-                             String responseVariable, boolean overwriteBody) {
+    private void readMultipleFiles(MessageContext msgCtx, String connectionName,
+                                   FileSystemHandler fileSystemHandlerConnection, FileObject directory,
+                                   Config config, String diskShareAccessMask, String responseVariable,
+                                   Boolean overwriteBody) throws IOException, FileOperationException {
+
+        List<String> filePaths = new ArrayList<>();
+        for (FileObject file : selectFilesToRead(connectionName, directory, config, config.maxFileCount)) {
+            filePaths.add(config.path + Const.FILE_SEPARATOR + file.getName().getBaseName());
+        }
+        if (filePaths.isEmpty()) {
+            throw new FileOperationException("There is no immediate files to read that matches with given "
+                    + "criteria in the folder " + directory.getName().getFriendlyURI());
+        }
 
-        errorDetail = Utils.maskURLPassword(errorDetail);
-        FileOperationResult result = new FileOperationResult(OPERATION_NAME, false, error, e.getMessage());
-        JsonObject resultJSON = generateOperationResult(msgCtx, result);
-        handleConnectorResponse(msgCtx, responseVariable, overwriteBody, resultJSON, null, null);
-        handleException(errorDetail, e, msgCtx);
+        MultiFileRead read = new MultiFileRead(filePaths);
+        List<Future<?>> helpers = new ArrayList<>();
+        int helperCount = Math.min(config.readParallelism, filePaths.size()) - 1;
+        for (int i = 0; i < helperCount; i++) {
+            helpers.add(multiFileReaders.submit(() -> readFilesWithBorrowedConnection(connectionName, read, config,
+                    diskShareAccessMask)));
+        }
+        try {
+            readFiles(fileSystemHandlerConnection, connectionName, read, config);
+            read.awaitCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileOperationException("Interrupted while reading files in folder "
+                    + directory.getName().getFriendlyURI(), e);
+        } finally {
+            // Helpers still waiting for a connection or a thread are no longer needed
+            for (Future<?> helper : helpers) {
+                helper.cancel(false);
+            }
+        }
+
+        JsonArray files = new JsonArray();
+        for (JsonObject file : read.results) {
+            files.add(file);
+        }
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(Const.FILE_PATH, config.path);
+        attributes.put(Const.FILE_COUNT, String.valueOf(files.size()));
+        JsonObject resultJSON = generateOperationResult(msgCtx, new FileOperationResult(OPERATION_NAME, true));
+        resultJSON.add(FILES_ELE_NAME, files);
+        handleConnectorResponse(msgCtx, responseVariable, overwriteBody, resultJSON, null, attributes);
     }
 
     /**
-     * Select file to read from the directory provided.
+     * Borrow a connection and read files of a multi file read through it until no file is left.
+     * No connection is borrowed if all files are taken by the time the helper runs.
      *
-     * @param directory   directory to scan
-     * @param filePattern file pattern to search files
-     * @return File selected
-     * @throws FileSystemException    in case of file related issue
-     * @throws FileOperationException if no file can be selected
+     * @param connectionName      Name of the connection
+     * @param read                Multi file read to take files from
+     * @param config              Input config
+     * @param diskShareAccessMask Access mask for disk share
      */
-    private FileObject selectFileToRead(FileObject directory, String filePattern)
-            throws FileSystemException, FileOperationException {
+    private void readFilesWithBorrowedConnection(String connectionName, MultiFileRead read, Config config,
+                                                 String diskShareAccessMask) {
 
-        FileObject fileToRead = null;
-        FileObject[] children = directory.getChildren();
+        if (!read.hasNextFile()) {
+            return;
+        }
+        ConnectionHandler handler = ConnectionHandler.getConnectionHandler();
+        FileSystemHandler fileSystemHandlerConnection = null;
+        try {
+            fileSystemHandlerConnection = Utils.getFileSystemHandler(connectionName);
+            Utils.addDiskShareAccessMaskToFSO(fileSystemHandlerConnection.getFsOptions(), diskShareAccessMask);
+            readFiles(fileSystemHandlerConnection, connectionName, read, config);
+        } catch (ConnectException e) {
+            // The remaining files are read by the operation through its own connection
+            log.warn(Const.CONNECTOR_NAME + ":Error while borrowing a connection to read files concurrently", e);
+        } finally {
+            if (fileSystemHandlerConnection != null
+                    && handler.getStatusOfConnection(Const.CONNECTOR_NAME, connectionName)) {
+                Utils.addMaxAccessMaskToFSO(fileSystemHandlerConnection.getFsOptions());
+                handler.returnConnection(Const.CONNECTOR_NAME, connectionName, fileSystemHandlerConnection);
+            }
+        }
+    }
 
-        if (children == null || children.length == 0) {
+    /**
+     * Read files of a multi file read through a connection until no file is left.
+     */
+    private void readFiles(FileSystemHandler fileSystemHandlerConnection, String connectionName,
+                           MultiFileRead read, Config config) {
 
-            throw new FileOperationException("There is no immediate files to read in the folder " + directory.getURL());
+        int index;
+        while ((index = read.nextFile()) != -1) {
+            try {
+                read.results[index] = readFileToJson(fileSystemHandlerConnection, connectionName,
+                        read.filePaths.get(index), config);
+            } finally {
+                read.fileDone();
+            }
+        }
+    }
 
-        } else if (StringUtils.isNotEmpty(filePattern)) {
+    /**
+     * Read a file as one entry of a multi file read. Text content is added as it is,
+     * record batches as JSON and any other content Base64 encoded.
+     *
+     * @param fileSystemHandlerConnection Connection to read the file through
+     * @param connectionName              Name of the connection
+     * @param filePath                    Path of the file relative to the working directory
+     * @param config                      Input config
+     * @return JSON with the attributes and content of the file, or the error reading it
+     */
+    private JsonObject readFileToJson(FileSystemHandler fileSystemHandlerConnection, String connectionName,
+                                      String filePath, Config config) {
 
-            boolean bFound = false;
-            for (FileObject child : children) {
-                if (child.getName().getBaseName().matches(filePattern)) {
-                    fileToRead = child;
-                    bFound = true;
-                    break;
+        FileObject file = null;
+        FileLockManager fileLockManager = null;
+        String sourcePath = filePath;
+        boolean lockAcquired = false;
+        JsonObject fileJson = new JsonObject();
+        try {
+            sourcePath = fileSystemHandlerConnection.getBaseDirectoryPath() + filePath;
+            file = fileSystemHandlerConnection.resolveFileWithSuspension(sourcePath);
+            AppenderPool.release(file);
+            if (config.enableLock) {
+                fileLockManager = fileSystemHandlerConnection.getFileLockManager();
+                lockAcquired = fileLockManager.tryAndAcquireLock(sourcePath, Const.DEFAULT_LOCK_TIMEOUT);
+                if (!lockAcquired) {
+                    throw new FileLockException("Failed to acquire lock for file "
+                            + sourcePath + ". Another process maybe processing it. ");
                 }
             }
-            if (!bFound) {
-                throw new FileOperationException("There is no immediate files to "
-                        + "read that matches with given pattern in the folder "
-                        + directory.getURL());
+            FileMetadata metadata = FileMetadataCache.getMetadata(connectionName, file, config.metadataCacheTTL);
+            Map<String, Object> attributes = getFileProperties(filePath, file, metadata, config);
+            attributes.put(Const.FILE_FINGERPRINT, getFingerprint(file, metadata, config).toToken());
+            byte[] content;
+            try (InputStream inputStream = readFile(file, config, attributes)) {
+                content = IOUtils.toByteArray(inputStream);
             }
+            JsonObject attributesJson = new JsonObject();
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                attributesJson.addProperty(attribute.getKey(), String.valueOf(attribute.getValue()));
+            }
+            fileJson.add("attributes", attributesJson);
+            Charset charset = getCharset(config.encoding);
+            String contentType = config.contentType;
+            if (StringUtils.isEmpty(contentType)) {
+                CompressionFormat compression = resolveCompression(file, config);
+                contentType = compression == CompressionFormat.NONE ? metadata.getContentType()
+                        : getDecompressedContentType(file, compression, config);
+            }
+            if (config.readMode == FileReadMode.RECORD_BATCH) {
+                fileJson.add("content", JsonParser.parseString(new String(content, charset)));
+            } else if (isTextContentType(contentType)) {
+                fileJson.addProperty("content", new String(content, charset));
+            } else {
+                fileJson.addProperty("content", Base64.getEncoder().encodeToString(content));
+                fileJson.addProperty("contentEncoding", "base64");
+            }
+        } catch (Exception e) {
+            log.error(ERROR_MESSAGE + Utils.maskURLPassword(sourcePath), e);
+            fileJson.addProperty(Const.FILE_PATH, filePath);
+            fileJson.addProperty("error", e.getMessage());
+        } finally {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (FileSystemException e) {
+                    log.error(Const.CONNECTOR_NAME + ":Error while closing file object " + file);
+                }
+            }
+            if (lockAcquired) {
+                fileLockManager.releaseLock(sourcePath);
+            }
+        }
+        return fileJson;
+    }
 
-        } else {
+    /**
+     * Files of a multi file read, handed out one at a time to the threads reading them.
+     */
+    private static class MultiFileRead {
+
+        private final List<String> filePaths;
+        private final JsonObject[] results;
+        private final AtomicInteger nextFile = new AtomicInteger();
+        private final CountDownLatch remainingFiles;
+
+        MultiFileRead(List<String> filePaths) {
+            this.filePaths = filePaths;
+            this.results = new JsonObject[filePaths.size()];
+            this.remainingFiles = new CountDownLatch(filePaths.size());
+        }
 
-            fileToRead = children[0];
+        boolean hasNextFile() {
+            return nextFile.get() < filePaths.size();
+        }
+
+        /**
+         * Take the next file to read.
+         *
+         * @return Index of the file, -1 if all files are taken
+         */
+        int nextFile() {
+            int index = nextFile.getAndIncrement();
+            return index < filePaths.size() ? index : -1;
+        }
 
+        void fileDone() {
+            remainingFiles.countDown();
         }
 
-        return fileToRead;
+        void awaitCompletion() throws InterruptedException {
+            remainingFiles.await();
+        }
     }
 
     /**
-     * Select file to read from the directory provided using advanced filtering.
+     * Take the fingerprint of the file. The content hash, if enabled, is only
+     * computed if it cannot be taken over from the fingerprint of the previous
+     * read, i.e. if the size or the last modified time of the file changed.
      *
-     * @param directory directory to scan
-     * @param config    configuration containing filter parameters
-     * @return File selected
-     * @throws FileSystemException    in case of file related issue
-     * @throws FileOperationException if no file can be selected
+     * @param file     File to read
+     * @param metadata Metadata of the file
+     * @param config   Input config
+     * @return Fingerprint of the file
+     * @throws IOException In case of I/O error
      */
-    private FileObject selectFileToReadWithAdvancedFilter(FileObject directory, Config config)
-            throws FileSystemException, FileOperationException {
+    private FileFingerprint getFingerprint(FileObject file, FileMetadata metadata, Config config)
+            throws IOException {
 
-        FileObject[] children = directory.getChildren();
+        long size = metadata.getSize();
+        long lastModifiedTime = metadata.getLastModifiedTime();
+        if (!config.fingerprintContentHash) {
+            return new FileFingerprint(size, lastModifiedTime, null);
+        }
+        if (config.ifNoneMatch != null && config.ifNoneMatch.getContentHash() != null
+                && config.ifNoneMatch.matches(size, lastModifiedTime)) {
+            return new FileFingerprint(size, lastModifiedTime, config.ifNoneMatch.getContentHash());
+        }
+        return new FileFingerprint(size, lastModifiedTime, computeContentHash(file, config));
+    }
 
-        if (children == null || children.length == 0) {
-            throw new FileOperationException("There is no immediate files to read in the folder " + directory.getURL());
+    /**
+     * Compute the hex encoded SHA-256 hash of the file content.
+     *
+     * @param file   File to hash
+     * @param config Input config
+     * @return Content hash
+     * @throws IOException In case of I/O error
+     */
+    private String computeContentHash(FileObject file, Config config) throws IOException {
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Content hash algorithm " + CONTENT_HASH_ALGORITHM + " is not available", e);
         }
+        try (InputStream in = openContent(file, config, 0)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
 
-        // Create advanced file filter
-        AdvancedFileFilter filter = new AdvancedFileFilter(config.fileFilterType, config.includeFiles, 
-                                                          config.excludeFiles, config.maxFileAge);
+    /**
+     * Check whether content of the content type can be added to a JSON payload as text.
+     *
+     * @param contentType Content type, may be null
+     * @return True for text, JSON, XML and CSV content
+     */
+    private boolean isTextContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml") || type.contains("csv");
+    }
 
-        // Find first file that matches advanced filtering criteria
-        for (FileObject child : children) {
-            if (child.isFile()) {
-                // Check file stability if required
-                if (StringUtils.isNotEmpty(config.timeBetweenSizeCheck) && !isFileStable(child, config.timeBetweenSizeCheck)) {
-                    log.warn("File is not stable (still being written), skipping: " + child.getName().getBaseName());
-                    continue;
+    /**
+     * Select up to maxCount files to read from the directory, applying the advanced
+     * filter if configured or the file pattern otherwise. Names are matched before
+     * a file is resolved and stability is only checked for files passing the filters.
+     * Local folders are listed lazily, so with the first match policy listing stops
+     * as soon as enough files are found. For the oldest and newest first policies
+     * only the best maxCount candidates are kept while listing.
+     *
+     * @param connectionName Name of the connection
+     * @param directory      directory to scan
+     * @param config         configuration containing filter parameters
+     * @param maxCount       maximum number of files to select
+     * @return Files selected, in the order of the selection policy
+     * @throws IOException in case of file related issue
+     */
+    private List<FileObject> selectFilesToRead(String connectionName, FileObject directory, Config config,
+                                               int maxCount) throws IOException {
+
+        FileSelection selection = new FileSelection(connectionName, config, maxCount);
+        if (Const.LOCAL_FILE_SCHEME.equals(directory.getName().getScheme())) {
+            FileSystemManager fsManager = directory.getFileSystem().getFileSystemManager();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory.getPath())) {
+                for (Path child : children) {
+                    if (selection.acceptName(child.getFileName().toString())
+                            && !selection.offer(fsManager.resolveFile(child.toUri().toString()))) {
+                        break;
+                    }
                 }
-                
-                // Apply advanced filtering
-                if (acceptFile(filter, child)) {
-                    return child;
+            }
+        } else {
+            FileObject[] children = directory.getChildren();
+            if (children != null) {
+                for (FileObject child : children) {
+                    if (selection.acceptName(child.getName().getBaseName()) && !selection.offer(child)) {
+                        break;
+                    }
                 }
             }
         }
+        return selection.getSelectedFiles();
+    }
+
+    /**
+     * Files selected from a folder while it is listed.
+     */
+    private class FileSelection {
+
+        private final String connectionName;
+        private final Config config;
+        private final int maxCount;
+        private final AdvancedFileFilter filter;
+        private final List<FileObject> selectedFiles = new ArrayList<>();
+        /**
+         * Best candidates for the oldest and newest first policies. The head is the
+         * worst of them, which is evicted when a better candidate is found.
+         */
+        private final PriorityQueue<FileCandidate> candidates;
+
+        FileSelection(String connectionName, Config config, int maxCount) {
+            this.connectionName = connectionName;
+            this.config = config;
+            this.maxCount = maxCount;
+            this.filter = hasAdvancedFilter(config) ? new AdvancedFileFilter(config.fileFilterType,
+                    config.includeFiles, config.excludeFiles, config.maxFileAge) : null;
+            Comparator<FileCandidate> byAge = Comparator.comparingLong(candidate -> candidate.lastModifiedTime);
+            if (config.fileSelectionPolicy == FileSelectionPolicy.OLDEST_FIRST) {
+                candidates = new PriorityQueue<>(byAge.reversed());
+            } else if (config.fileSelectionPolicy == FileSelectionPolicy.NEWEST_FIRST) {
+                candidates = new PriorityQueue<>(byAge);
+            } else {
+                candidates = null;
+            }
+        }
+
+        /**
+         * Check the name of a file before resolving it.
+         *
+         * @param fileName Base name of the file
+         * @return True if the file may be selected
+         */
+        boolean acceptName(String fileName) {
+            if (filter != null) {
+                return filter.acceptName(fileName);
+            }
+            return StringUtils.isEmpty(config.filePattern) || fileName.matches(config.filePattern);
+        }
+
+        /**
+         * Offer a file whose name is accepted.
+         *
+         * @param file File in the folder
+         * @return False if no more files need to be offered
+         * @throws FileSystemException in case of file related issue
+         */
+        boolean offer(FileObject file) throws FileSystemException {
+            if (!file.isFile() || (filter != null && !acceptFile(filter, file))) {
+                return true;
+            }
+            if (candidates == null) {
+                if (isStable(file)) {
+                    selectedFiles.add(file);
+                }
+                return selectedFiles.size() < maxCount;
+            }
+            candidates.add(new FileCandidate(file, file.getContent().getLastModifiedTime()));
+            if (candidates.size() > maxCount) {
+                candidates.poll();
+            }
+            return true;
+        }
+
+        /**
+         * Get the selected files. Candidates of the oldest and newest first policies
+         * which are not stable are left out, checking the stability of all of them at once.
+         *
+         * @return Selected files in the order of the selection policy
+         */
+        List<FileObject> getSelectedFiles() {
+            if (candidates == null) {
+                return selectedFiles;
+            }
+            List<FileObject> files = new ArrayList<>();
+            while (!candidates.isEmpty()) {
+                files.add(candidates.poll().file);
+            }
+            Collections.reverse(files);
+            if (isStabilityCheckEnabled()) {
+                Set<FileObject> unstableFiles = FileStabilityTracker.getUnstableFiles(connectionName, files,
+                        config.timeBetweenSizeCheck);
+                for (FileObject file : unstableFiles) {
+                    log.warn("File is not stable (still being written), skipping: " + file.getName().getBaseName());
+                }
+                files.removeAll(unstableFiles);
+            }
+            return files;
+        }
+
+        private boolean isStabilityCheckEnabled() {
+            return filter != null && StringUtils.isNotEmpty(config.timeBetweenSizeCheck);
+        }
+
+        private boolean isStable(FileObject file) {
+            if (!isStabilityCheckEnabled()
+                    || FileStabilityTracker.isStable(connectionName, file, config.timeBetweenSizeCheck)) {
+                return true;
+            }
+            log.warn("File is not stable (still being written), skipping: " + file.getName().getBaseName());
+            return false;
+        }
+    }
+
+    /**
+     * File with its last modified time, compared while selecting files.
+     */
+    private static class FileCandidate {
+
+        private final FileObject file;
+        private final long lastModifiedTime;
+
+        FileCandidate(FileObject file, long lastModifiedTime) {
+            this.file = file;
+            this.lastModifiedTime = lastModifiedTime;
+        }
+    }
 
-        throw new FileOperationException("No files found that match the advanced filtering criteria in folder " + directory.getURL());
+    /**
+     * Sets error to context and handle.
+     *
+     * @param msgCtx      Message Context to set info
+     * @param e           Exception associated
+     * @param error       Error code
+     * @param errorDetail Error detail
+     * @param responseVariable Response variable name
+     * @param overwriteBody Overwrite body
+     */
+    private void handleError(MessageContext msgCtx, Exception e, Error error, String errorDetail,
+                             String responseVariable, boolean overwriteBody) {
+
+        errorDetail = Utils.maskURLPassword(errorDetail);
+        FileOperationResult result = new FileOperationResult(OPERATION_NAME, false, error, e.getMessage());
+        JsonObject resultJSON = generateOperationResult(msgCtx, result);
+        handleConnectorResponse(msgCtx, responseVariable, overwriteBody, resultJSON, null, null);
+        handleException(errorDetail, e, msgCtx);
     }
 
     /**
-     * Checks if a file is stable by comparing its size over time.
+     * Select file to read from the directory provided, applying the advanced
+     * filter if configured or the file pattern otherwise.
      *
-     * @param file The file to check for stability
-     * @param sizeCheckInterval Time to wait between size checks in milliseconds
-     * @return true if file size is stable, false otherwise
+     * @param connectionName Name of the connection
+     * @param directory      directory to scan
+     * @param config         configuration containing filter parameters
+     * @return File selected
+     * @throws IOException            in case of file related issue
+     * @throws FileOperationException if no file can be selected
      */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
-            }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Refresh and check size again
-            file.refresh();
-            long finalSize = file.getContent().getSize();
-            
-            return initialSize == finalSize;
-        } catch (Exception e) {
-            log.warn("Error checking file stability for " + file + ": " + e.getMessage());
-            return true; // Assume stable if we can't check
+    private FileObject selectFileToRead(String connectionName, FileObject directory, Config config)
+            throws IOException, FileOperationException {
+
+        List<FileObject> files = selectFilesToRead(connectionName, directory, config, 1);
+        if (!files.isEmpty()) {
+            return files.get(0);
+        }
+        if (hasAdvancedFilter(config)) {
+            throw new FileOperationException("No files found that match the advanced filtering criteria in folder "
+                    + directory.getURL());
         }
+        throw new FileOperationException("There is no immediate files to "
+                + "read that matches with given pattern in the folder "
+                + directory.getURL());
+    }
+
+    /**
+     * Check whether any of the advanced filtering parameters is provided.
+     *
+     * @param config Input config
+     * @return True if the advanced file filter should be used
+     */
+    private boolean hasAdvancedFilter(Config config) {
+        return StringUtils.isNotEmpty(config.fileFilterType) || StringUtils.isNotEmpty(config.includeFiles)
+                || StringUtils.isNotEmpty(config.excludeFiles) || StringUtils.isNotEmpty(config.maxFileAge);
     }
 
     /**
@@ -629,10 +1280,12 @@ public class ReadFile extends AbstractConnectorOperation {
      *
      * @param filePath   Path of the file being read
      * @param file       File object being read
+     * @param metadata   Size, last modified time and content type of the file
      * @param config     Configuration with metadata format settings
      * @throws FileSystemException If relevant information cannot be read from file
      */
-    private Map<String, Object> getFileProperties(String filePath, FileObject file, Config config) throws FileSystemException {
+    private Map<String, Object> getFileProperties(String filePath, FileObject file, FileMetadata metadata,
+                                                  Config config) throws FileSystemException {
 
         Map<String, Object> fileProperties = new HashMap<>();
         
@@ -644,7 +1297,7 @@ public class ReadFile extends AbstractConnectorOperation {
                 break;
             case "unix":
                 // For Unix timestamp, we'll store the raw long value
-                fileProperties.put(Const.FILE_LAST_MODIFIED_TIME, String.valueOf(file.getContent().getLastModifiedTime()));
+                fileProperties.put(Const.FILE_LAST_MODIFIED_TIME, String.valueOf(metadata.getLastModifiedTime()));
                 break;
             case "detailed":
                 sdf = new SimpleDateFormat("EEEE, MMMM dd, yyyy HH:mm:ss z");
@@ -659,7 +1312,7 @@ public class ReadFile extends AbstractConnectorOperation {
         
         // Format last modified time if not using Unix timestamp
         if (!config.metadataOutputFormat.equalsIgnoreCase("unix") && sdf != null) {
-            String lastModifiedTime = sdf.format(file.getContent().getLastModifiedTime());
+            String lastModifiedTime = sdf.format(metadata.getLastModifiedTime());
             fileProperties.put(Const.FILE_LAST_MODIFIED_TIME, lastModifiedTime);
         }
         
@@ -671,7 +1324,7 @@ public class ReadFile extends AbstractConnectorOperation {
         fileProperties.put(Const.FILE_NAME_WITHOUT_EXTENSION, file.getName().
                 getBaseName().split("\\.")[0]);
         //The size of the file, in bytes
-        fileProperties.put(Const.FILE_SIZE, String.valueOf(file.getContent().getSize()));
+        fileProperties.put(Const.FILE_SIZE, String.valueOf(metadata.getSize()));
         
         // Add extended properties for "detailed" format
         if (config.metadataOutputFormat.equalsIgnoreCase("detailed")) {
@@ -685,7 +1338,7 @@ public class ReadFile extends AbstractConnectorOperation {
             }
             
             // Add readable file size (e.g., "1.5 MB", "256 KB")
-            long sizeInBytes = file.getContent().getSize();
+            long sizeInBytes = metadata.getSize();
             String readableSize = getReadableFileSize(sizeInBytes);
             fileProperties.put("fileSizeReadable", readableSize);
             
@@ -709,13 +1362,8 @@ public class ReadFile extends AbstractConnectorOperation {
             }
             
             // Add content type
-            try {
-                String contentType = file.getContent().getContentInfo().getContentType();
-                if (contentType != null) {
-                    fileProperties.put("contentType", contentType);
-                }
-            } catch (Exception e) {
-                log.debug("Could not retrieve content type: " + e.getMessage());
+            if (metadata.getContentType() != null) {
+                fileProperties.put("contentType", metadata.getContentType());
             }
             
             // Add parent directory
@@ -750,18 +1398,6 @@ public class ReadFile extends AbstractConnectorOperation {
         }
     }
 
-    /**
-     * Get content-type using VFS library. This uses 'FileNameMap' of Java.
-     * This works for .xml, .txt, .png files etc.
-     *
-     * @param file file object
-     * @return content type of file or null
-     * @throws FileSystemException in case of file system issue
-     */
-    private String getContentType(FileObject file) throws FileSystemException {
-        return file.getContent().getContentInfo().getContentType();
-    }
-
     /**
      * Extract the charset encoding from the configured content type and
      * set the CHARACTER_SET_ENCODING property as e.g. SOAPBuilder relies on this.
@@ -786,81 +1422,657 @@ public class ReadFile extends AbstractConnectorOperation {
 
     /**
      * Process Stream and generate a new stream
-     * as per reading conditions.
+     * as per reading conditions. When line terminators of the charset
+     * are single bytes the selected lines are streamed as they are read.
+     * Otherwise the content is decoded and the selected lines are collected.
      *
      * @param in        Original Input Stream
      * @param startLine Line to start reading
-     * @param endLine   Line to read up to
+     * @param endLine   Line to read up to. Long.MAX_VALUE to read up to the end
+     * @param charset   Charset of the file content
      * @return Processed stream
-     * @throws FileOperationException in case of input error
+     * @throws IOException in case of I/O error
      */
-    private InputStream processStream(InputStream in, int startLine, int endLine)
-            throws FileOperationException {
+    private InputStream processStream(InputStream in, long startLine, long endLine, Charset charset)
+            throws IOException {
 
-        Stream<String> tempStream;
-        BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-
-        if ((startLine > 0) && (endLine > 0) && (endLine > startLine)) {
-            tempStream = reader.lines().skip((long) startLine - 1).limit((long) (endLine - startLine + 1));
-        } else if (startLine > 0) {
-            tempStream = reader.lines().skip((long) startLine - 1);
-        } else if (endLine > 0) {
-            tempStream = reader.lines().limit(endLine);
-        } else {
-            throw new FileOperationException("File connector:read Error while processing stream ");
+        if (LineRangeInputStream.hasSingleByteLineTerminators(charset)) {
+            return new LineRangeInputStream(in, startLine, endLine);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset))) {
+            String lines = reader.lines().skip(startLine - 1).limit(endLine - startLine + 1)
+                    .collect(Collectors.joining(Const.NEW_LINE));
+            return new ByteArrayInputStream(lines.getBytes(charset));
         }
-        return new ByteArrayInputStream(tempStream.collect(
-                Collectors.joining(Const.NEW_LINE)).getBytes());
     }
 
 
     /**
      * Read file and generate a InputStream.
      *
-     * @param file     File to read
-     * @param config   Input config
+     * @param file       File to read
+     * @param config     Input config
+     * @param attributes File attributes of the response
      * @return InputStream to the file
-     * @throws FileOperationException In case of I/O error
+     * @throws FileOperationException        In case of I/O error
+     * @throws InvalidConfigurationException If the file cannot be read as configured
      */
-    private InputStream readFile(FileObject file, Config config)
-            throws FileOperationException {
-
-        InputStream processedStream;
+    private InputStream readFile(FileObject file, Config config, Map<String, Object> attributes)
+            throws FileOperationException, InvalidConfigurationException {
 
         try {
-            InputStream in = new AutoCloseInputStream(file.getContent().getInputStream());
-            switch (config.readMode) {
-                case STARTING_FROM_LINE:
-                    processedStream = processStream(in, config.startLineNum, 0);
-                    break;
-                case UP_TO_LINE:
-                    processedStream = processStream(in, 1, config.endLineNum);
-                    break;
-                case BETWEEN_LINES:
-                    processedStream = processStream(in, config.startLineNum, config.endLineNum);
-                    break;
-                case SPECIFIC_LINE:
-                    BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-                    Optional lineFound = reader.lines().skip((long) (config.lineNum - 1)).findFirst();
-                    String line = "";
-                    if (lineFound.isPresent()) {
-                        line = (String) lineFound.get();
-                    }
-                    processedStream = new ByteArrayInputStream(line.getBytes());
-                    break;
-                case COMPLETE_FILE:
-                    processedStream = in;
-                    break;
-                default:
-                    throw new IllegalStateException("Unexpected value: " + config.readMode.toString());
+            CompressionFormat compression = resolveCompression(file, config);
+            if (compression != CompressionFormat.NONE) {
+                return readDecompressedFile(file, config, compression);
+            }
+            if (config.readMode == FileReadMode.COMPLETE_FILE) {
+                return new AutoCloseInputStream(openContent(file, config, 0));
+            }
+            if (config.readMode == FileReadMode.BYTE_RANGE) {
+                return readByteRange(file, config);
+            }
+            Charset charset = getCharset(config.encoding);
+            if (config.readMode == FileReadMode.LAST_N_LINES) {
+                return readLastLines(file, config.lineCount, charset);
             }
-            return processedStream;
+            if (config.readMode == FileReadMode.PAGINATED) {
+                return readPage(file, config, charset, attributes);
+            }
+            if (config.readMode == FileReadMode.RECORD_BATCH) {
+                return readRecordBatch(file, config, charset, attributes);
+            }
+            if (isLineIndexApplicable(file, config, charset)) {
+                return readFileUsingLineIndex(file, config, charset);
+            }
+            return selectLines(new AutoCloseInputStream(openContent(file, config, 0)), config, charset);
 
         } catch (IOException e) {
             throw new FileOperationException("File connector:read - Error while reading file ", e);
         }
     }
 
+    /**
+     * Select the lines of the configured line based read mode from the stream.
+     *
+     * @param in      Stream to the file content
+     * @param config  Input config
+     * @param charset Charset of the file content
+     * @return InputStream to the selected lines
+     * @throws IOException In case of I/O error
+     */
+    private InputStream selectLines(InputStream in, Config config, Charset charset) throws IOException {
+
+        switch (config.readMode) {
+            case STARTING_FROM_LINE:
+                return processStream(in, config.startLineNum, Long.MAX_VALUE, charset);
+            case UP_TO_LINE:
+                return processStream(in, 1, config.endLineNum, charset);
+            case BETWEEN_LINES:
+                return processStream(in, config.startLineNum, config.endLineNum, charset);
+            case SPECIFIC_LINE:
+                return processStream(in, config.lineNum, config.lineNum, charset);
+            default:
+                throw new IllegalStateException("Unexpected value: " + config.readMode.toString());
+        }
+    }
+
+    /**
+     * Check whether compressed files can be read with the read mode. Modes positioning
+     * at byte offsets of the file (byte range, tail, pages and record batches) cannot
+     * be served from a decompressed stream.
+     *
+     * @param readMode Read mode
+     * @return True if the read mode supports decompression
+     */
+    private boolean isDecompressionSupported(FileReadMode readMode) {
+        switch (readMode) {
+            case COMPLETE_FILE:
+            case STARTING_FROM_LINE:
+            case UP_TO_LINE:
+            case BETWEEN_LINES:
+            case SPECIFIC_LINE:
+            case METADATA_ONLY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Resolve the compression format of the file. With the Auto format, the
+     * format is detected from the file extension (.gz, .gzip or .zip).
+     *
+     * @param file   File to read
+     * @param config Input config
+     * @return Compression format of the file, NONE if the file is read as is
+     * @throws InvalidConfigurationException If a detected format is not supported by the read mode
+     */
+    private CompressionFormat resolveCompression(FileObject file, Config config)
+            throws InvalidConfigurationException {
+
+        if (config.compressionFormat != CompressionFormat.AUTO) {
+            return config.compressionFormat;
+        }
+        String fileName = file.getName().getBaseName().toLowerCase();
+        CompressionFormat compression = CompressionFormat.NONE;
+        if (fileName.endsWith(GZIP_FILE_EXTENSION) || fileName.endsWith(GZIP_LONG_FILE_EXTENSION)) {
+            compression = CompressionFormat.GZIP;
+        } else if (fileName.endsWith(Const.ZIP_FILE_EXTENSION)) {
+            compression = CompressionFormat.ZIP;
+        }
+        if (compression != CompressionFormat.NONE && !isDecompressionSupported(config.readMode)) {
+            throw new InvalidConfigurationException("Compressed file " + file.getName().getBaseName()
+                    + " cannot be read with read mode " + config.readMode.getMode());
+        }
+        return compression;
+    }
+
+    /**
+     * Guess the content type of the decompressed content from the name of the
+     * file without the .gz extension, or from the name of the zip entry.
+     *
+     * @param file        Compressed file
+     * @param compression Compression format of the file
+     * @param config      Input config
+     * @return Content type, null if it cannot be guessed
+     */
+    private String getDecompressedContentType(FileObject file, CompressionFormat compression, Config config) {
+
+        String innerName;
+        if (compression == CompressionFormat.ZIP) {
+            innerName = config.archiveEntry;
+        } else {
+            innerName = file.getName().getBaseName();
+            int extensionIndex = innerName.lastIndexOf('.');
+            if (extensionIndex > 0) {
+                innerName = innerName.substring(0, extensionIndex);
+            }
+        }
+        if (StringUtils.isEmpty(innerName)) {
+            return null;
+        }
+        return URLConnection.getFileNameMap().getContentTypeFor(innerName);
+    }
+
+    /**
+     * Read a gzip file or an entry of a zip file, decompressing the content while
+     * it is consumed. Only the inflater window is kept in memory, hence the
+     * decompressed content is never materialized as a whole.
+     *
+     * @param file        Compressed file
+     * @param config      Input config
+     * @param compression Compression format of the file
+     * @return InputStream to the decompressed content
+     * @throws IOException                   In case of I/O error or if the zip entry is not found
+     * @throws FileOperationException        If the encoding is not supported
+     */
+    private InputStream readDecompressedFile(FileObject file, Config config, CompressionFormat compression)
+            throws IOException, FileOperationException {
+
+        InputStream in = openContent(file, config, 0);
+        try {
+            if (compression == CompressionFormat.GZIP) {
+                in = new GZIPInputStream(in, DECOMPRESSION_BUFFER_SIZE);
+            } else {
+                in = openArchiveEntry(new ZipArchiveInputStream(in), config.archiveEntry);
+            }
+        } catch (IOException e) {
+            IOUtils.closeQuietly(in);
+            throw e;
+        }
+        in = new AutoCloseInputStream(in);
+        if (config.readMode == FileReadMode.COMPLETE_FILE) {
+            return in;
+        }
+        return selectLines(in, config, getCharset(config.encoding));
+    }
+
+    /**
+     * Position the zip stream at the given entry.
+     *
+     * @param zipIn     Zip stream
+     * @param entryName Name of the entry, the first file entry is used if empty
+     * @return Zip stream reading the entry
+     * @throws IOException In case of I/O error or if the entry is not found
+     */
+    private InputStream openArchiveEntry(ZipArchiveInputStream zipIn, String entryName) throws IOException {
+
+        ZipArchiveEntry entry;
+        while ((entry = zipIn.getNextZipEntry()) != null) {
+            if (!entry.isDirectory() && (StringUtils.isEmpty(entryName) || entryName.equals(entry.getName()))) {
+                return zipIn;
+            }
+        }
+        throw new FileNotFoundException(StringUtils.isEmpty(entryName) ? "Zip file does not contain any file"
+                : "Entry " + entryName + " is not found in the zip file");
+    }
+
+    /**
+     * Read the configured byte range of the file. If the file system supports
+     * random access reads (LOCAL, SFTP, FTP using REST etc.) the content is
+     * positioned at the offset directly, otherwise the leading bytes are skipped.
+     * A length of 0 reads up to the end of the file.
+     *
+     * @param file   File to read
+     * @param config Input config
+     * @return InputStream to the byte range
+     * @throws IOException In case of I/O error
+     */
+    private InputStream readByteRange(FileObject file, Config config) throws IOException {
+
+        if (config.offset >= file.getContent().getSize()) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        InputStream in = openContent(file, config, config.offset);
+        if (config.length > 0) {
+            in = new BoundedInputStream(in, config.length);
+        }
+        return new AutoCloseInputStream(in);
+    }
+
+    /**
+     * Open a stream to the file content positioned at the given offset. Local files
+     * are memory mapped if enabled and SFTP files are read ahead if a window is set.
+     * Otherwise, if the file system supports random access reads (LOCAL, SFTP, FTP
+     * using REST etc.) the content is seeked to the offset, or else the leading bytes
+     * are skipped.
+     *
+     * @param file   File to read
+     * @param config Input config
+     * @param offset Byte offset to position at
+     * @return Stream reading from the offset
+     * @throws IOException In case of I/O error
+     */
+    private InputStream openContent(FileObject file, Config config, long offset) throws IOException {
+
+        if (config.enableMemoryMapping && Const.LOCAL_FILE_SCHEME.equals(file.getName().getScheme())) {
+            return new MappedFileInputStream(file.getPath(), offset);
+        }
+        if (Utils.isReadAheadApplicable(file, config.readAheadWindow)) {
+            return new ReadAheadInputStream(file, offset, config.readAheadWindow);
+        }
+        if (offset == 0) {
+            return file.getContent().getInputStream();
+        }
+        if (file.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_READ)) {
+            return Utils.openRandomAccessStream(
+                    file.getContent().getRandomAccessContent(RandomAccessMode.READ), offset);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("FileConnector:read - random access is not supported for " + file.getName().getScheme()
+                    + ". Skipping " + offset + " bytes to reach the offset.");
+        }
+        InputStream in = file.getContent().getInputStream();
+        try {
+            IOUtils.skip(in, offset);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(in);
+            throw e;
+        }
+        return in;
+    }
+
+    /**
+     * Read a page of the file starting from the position of the continuation token,
+     * or from the beginning if there is none. A page holds up to pageSize lines or
+     * bytes. If the file has more content, a token to the next page is added to the
+     * attributes. Tokens are only accepted while the file size and last modified
+     * time remain the same as when the token was issued.
+     *
+     * @param file       File to read
+     * @param config     Input config
+     * @param charset    Charset of the file content
+     * @param attributes File attributes of the response
+     * @return InputStream to the page
+     * @throws IOException                   In case of I/O error
+     * @throws InvalidConfigurationException If the token does not match the file or the encoding
+     */
+    private InputStream readPage(FileObject file, Config config, Charset charset, Map<String, Object> attributes)
+            throws IOException, InvalidConfigurationException {
+
+        long size = file.getContent().getSize();
+        long lastModifiedTime = file.getContent().getLastModifiedTime();
+        long offset = getCursorOffset(config, size, lastModifiedTime);
+        boolean readLines = PAGE_UNIT_LINES.equalsIgnoreCase(config.pageUnit);
+        if (readLines && !LineRangeInputStream.hasSingleByteLineTerminators(charset)) {
+            throw new InvalidConfigurationException("Paginated reads by lines are not supported for encoding "
+                    + config.encoding + ". Use pages of bytes instead.");
+        }
+
+        byte[] page = new byte[0];
+        if (offset < size) {
+            try (InputStream in = new BoundedInputStream(openContent(file, config, offset), size - offset)) {
+                if (readLines) {
+                    page = readLines(in, config.pageSize);
+                } else {
+                    page = IOUtils.toByteArray(in, (int) Math.min(config.pageSize, size - offset));
+                }
+            }
+        }
+
+        addCursorAttributes(attributes, Math.min(offset + page.length, size), size, lastModifiedTime);
+        InputStream pageStream = new ByteArrayInputStream(page);
+        return readLines ? new LineRangeInputStream(pageStream, 1, Long.MAX_VALUE) : pageStream;
+    }
+
+    /**
+     * Get the offset to continue reading from. Tokens are only accepted while the file
+     * size and last modified time remain the same as when the token was issued.
+     *
+     * @param config           Input config
+     * @param size             Current size of the file
+     * @param lastModifiedTime Current last modified time of the file
+     * @return Offset of the continuation token, 0 if there is none
+     * @throws InvalidConfigurationException If the token does not match the file
+     */
+    private long getCursorOffset(Config config, long size, long lastModifiedTime)
+            throws InvalidConfigurationException {
+
+        if (config.readCursor == null) {
+            return 0;
+        }
+        if (!config.readCursor.matches(size, lastModifiedTime)) {
+            throw new InvalidConfigurationException("File has changed since the continuation token "
+                    + "was issued. Restart reading without a continuation token.");
+        }
+        return config.readCursor.getOffset();
+    }
+
+    /**
+     * Add whether the file has more content and the continuation token to read it.
+     *
+     * @param attributes       File attributes of the response
+     * @param nextOffset       Offset to continue reading from
+     * @param size             Size of the file
+     * @param lastModifiedTime Last modified time of the file
+     */
+    private void addCursorAttributes(Map<String, Object> attributes, long nextOffset, long size,
+                                     long lastModifiedTime) {
+
+        boolean hasMore = nextOffset < size;
+        attributes.put(Const.FILE_HAS_MORE, String.valueOf(hasMore));
+        if (hasMore) {
+            attributes.put(Const.FILE_CONTINUATION_TOKEN,
+                    new ReadCursor(nextOffset, size, lastModifiedTime).toToken());
+        }
+    }
+
+    /**
+     * Read a batch of up to batchSize records of a CSV or JSON Lines file as a JSON
+     * array. Only one record is parsed at a time, so memory is bounded by the batch.
+     * CSV records become objects keyed by the header fields if the file has a header,
+     * otherwise arrays of fields. Blank records are skipped. If the file has more
+     * records, a continuation token to the next batch is added to the attributes.
+     *
+     * @param file       File to read
+     * @param config     Input config
+     * @param charset    Charset of the file content
+     * @param attributes File attributes of the response
+     * @return InputStream to the JSON array of records
+     * @throws IOException                   In case of I/O error
+     * @throws InvalidConfigurationException If the token does not match the file or the encoding
+     * @throws FileOperationException        If a JSON Lines record is not valid JSON
+     */
+    private InputStream readRecordBatch(FileObject file, Config config, Charset charset,
+                                        Map<String, Object> attributes)
+            throws IOException, InvalidConfigurationException, FileOperationException {
+
+        if (!LineRangeInputStream.hasSingleByteLineTerminators(charset)) {
+            throw new InvalidConfigurationException("Record batch reads are not supported for encoding "
+                    + config.encoding);
+        }
+        long size = file.getContent().getSize();
+        long lastModifiedTime = file.getContent().getLastModifiedTime();
+        long offset = getCursorOffset(config, size, lastModifiedTime);
+        boolean csv = RECORD_FORMAT_CSV.equalsIgnoreCase(config.recordFormat);
+        char delimiter = config.csvDelimiter.charAt(0);
+
+        List<String> header = null;
+        if (csv && config.csvHeader && offset > 0) {
+            try (InputStream in = new BoundedInputStream(openContent(file, config, 0), size)) {
+                header = readCsvHeader(new DelimitedRecordReader(in, true), charset, delimiter);
+            }
+        }
+        JsonArray batch = new JsonArray();
+        long nextOffset = offset;
+        if (offset < size) {
+            try (InputStream in = new BoundedInputStream(openContent(file, config, offset), size - offset)) {
+                DelimitedRecordReader reader = new DelimitedRecordReader(in, csv);
+                if (csv && config.csvHeader && offset == 0) {
+                    header = readCsvHeader(reader, charset, delimiter);
+                }
+                while (true) {
+                    long recordOffset = reader.getBytesConsumed();
+                    byte[] record = reader.nextRecord();
+                    if (record == null) {
+                        nextOffset = offset + reader.getBytesConsumed();
+                        break;
+                    }
+                    String value = new String(record, charset);
+                    if (StringUtils.isBlank(value)) {
+                        continue;
+                    }
+                    if (batch.size() == config.batchSize) {
+                        // Continue from the next non blank record, so that trailing blank lines do
+                        // not result in a continuation token to an empty batch
+                        nextOffset = offset + recordOffset;
+                        break;
+                    }
+                    if (csv) {
+                        batch.add(toCsvRecordJson(DelimitedRecordReader.splitCsvRecord(value, delimiter), header));
+                    } else {
+                        try {
+                            batch.add(JsonParser.parseString(value));
+                        } catch (JsonParseException e) {
+                            throw new FileOperationException("File connector:read - Invalid JSON record at byte "
+                                    + (offset + recordOffset), e);
+                        }
+                    }
+                }
+            }
+        }
+        addCursorAttributes(attributes, nextOffset, size, lastModifiedTime);
+        return new ByteArrayInputStream(batch.toString().getBytes(charset));
+    }
+
+    /**
+     * Read the first non blank record of a CSV file as the header.
+     *
+     * @param reader    Record reader positioned at the start of the file
+     * @param charset   Charset of the file content
+     * @param delimiter Field delimiter
+     * @return Header fields, empty if the file has no records
+     * @throws IOException In case of I/O error
+     */
+    private List<String> readCsvHeader(DelimitedRecordReader reader, Charset charset, char delimiter)
+            throws IOException {
+
+        byte[] record;
+        while ((record = reader.nextRecord()) != null) {
+            String value = new String(record, charset);
+            if (StringUtils.isNotBlank(value)) {
+                return DelimitedRecordReader.splitCsvRecord(value, delimiter);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Convert the fields of a CSV record to JSON. With a header, fields are keyed by the
+     * header field at the same position, and fields beyond the header by their column number.
+     *
+     * @param fields Fields of the record
+     * @param header Header fields or null if the file has no header
+     * @return JSON object or array of the record
+     */
+    private JsonElement toCsvRecordJson(List<String> fields, List<String> header) {
+
+        if (header == null) {
+            JsonArray values = new JsonArray();
+            for (String field : fields) {
+                values.add(new JsonPrimitive(field));
+            }
+            return values;
+        }
+        JsonObject values = new JsonObject();
+        for (int i = 0; i < fields.size(); i++) {
+            String name = i < header.size() ? header.get(i) : "column" + (i + 1);
+            values.addProperty(name, fields.get(i));
+        }
+        return values;
+    }
+
+    /**
+     * Read raw bytes of up to lineCount lines including their line terminators.
+     *
+     * @param in        Stream positioned at the start of a line
+     * @param lineCount Maximum number of lines to read
+     * @return Bytes of the lines read
+     * @throws IOException In case of I/O error
+     */
+    private byte[] readLines(InputStream in, int lineCount) throws IOException {
+
+        BufferedInputStream bufferedIn = new BufferedInputStream(in);
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        int linesRead = 0;
+        int current;
+        while (linesRead < lineCount && (current = bufferedIn.read()) != -1) {
+            lines.write(current);
+            if (current == '\n') {
+                linesRead++;
+            } else if (current == '\r') {
+                linesRead++;
+                bufferedIn.mark(1);
+                int next = bufferedIn.read();
+                if (next == '\n') {
+                    lines.write(next);
+                } else {
+                    bufferedIn.reset();
+                }
+            }
+        }
+        return lines.toByteArray();
+    }
+
+    /**
+     * Read the last lines of the file. If the file system supports random access
+     * reads the file is scanned backwards from the end, so only the tail of the
+     * file is read. Otherwise the file is read through, keeping only the last
+     * lines in a bounded buffer.
+     *
+     * @param file      File to read
+     * @param lineCount Number of lines to read
+     * @param charset   Charset of the file content
+     * @return InputStream to the last lines
+     * @throws IOException In case of I/O error
+     */
+    private InputStream readLastLines(FileObject file, int lineCount, Charset charset) throws IOException {
+
+        if (file.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_READ)
+                && LineRangeInputStream.hasSingleByteLineTerminators(charset)) {
+            // Lines appended while reading are not part of the tail located at this size
+            long size = file.getContent().getSize();
+            RandomAccessContent content = file.getContent().getRandomAccessContent(RandomAccessMode.READ);
+            long start;
+            try {
+                start = TailLineLocator.findStartOfLastLines(content, size, lineCount);
+            } catch (IOException e) {
+                content.close();
+                throw e;
+            }
+            InputStream in = new BoundedInputStream(Utils.openRandomAccessStream(content, start), size - start);
+            return new LineRangeInputStream(new AutoCloseInputStream(in), 1, Long.MAX_VALUE);
+        }
+
+        Deque<String> lastLines = new ArrayDeque<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getContent().getInputStream(), charset))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (lastLines.size() == lineCount) {
+                    lastLines.removeFirst();
+                }
+                lastLines.addLast(line);
+            }
+        }
+        return new ByteArrayInputStream(String.join(Const.NEW_LINE, lastLines).getBytes(charset));
+    }
+
+    /**
+     * Get the charset of the configured encoding.
+     *
+     * @param encoding Encoding name
+     * @return Charset of the encoding
+     * @throws FileOperationException If the encoding is not supported
+     */
+    private Charset getCharset(String encoding) throws FileOperationException {
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new FileOperationException("File connector:read - Unsupported encoding " + encoding, e);
+        }
+    }
+
+    /**
+     * Check whether the line offset index can be used to serve the read. The index
+     * is used for line range reads when it is enabled, the file system supports
+     * random access reads and line terminators are single bytes in the encoding.
+     *
+     * @param file    File to read
+     * @param config  Input config
+     * @param charset Charset of the file content
+     * @return True if the line offset index should be used
+     * @throws FileSystemException In case of file system issue
+     */
+    private boolean isLineIndexApplicable(FileObject file, Config config, Charset charset)
+            throws FileSystemException {
+        if (config.lineIndexInterval <= 0) {
+            return false;
+        }
+        if (config.readMode != FileReadMode.STARTING_FROM_LINE && config.readMode != FileReadMode.BETWEEN_LINES
+                && config.readMode != FileReadMode.SPECIFIC_LINE) {
+            return false;
+        }
+        if (!file.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_READ)) {
+            if (log.isDebugEnabled()) {
+                log.debug("FileConnector:read - random access is not supported for " + file.getName().getScheme()
+                        + ". Line index is not used.");
+            }
+            return false;
+        }
+        return LineRangeInputStream.hasSingleByteLineTerminators(charset);
+    }
+
+    /**
+     * Read a line range seeking to the first required line
+     * using the cached line offset index of the file.
+     *
+     * @param file    File to read
+     * @param config  Input config
+     * @param charset Charset of the file content
+     * @return InputStream to the selected lines
+     * @throws IOException In case of I/O error
+     */
+    private InputStream readFileUsingLineIndex(FileObject file, Config config, Charset charset)
+            throws IOException {
+
+        LineOffsetIndex index = LineOffsetIndex.getIndex(file.getName().getURI(), file.getContent().getSize(),
+                file.getContent().getLastModifiedTime(), config.lineIndexInterval);
+        int firstLine = config.readMode == FileReadMode.SPECIFIC_LINE ? config.lineNum : config.startLineNum;
+        InputStream in = new AutoCloseInputStream(index.openAtLine(
+                file.getContent().getRandomAccessContent(RandomAccessMode.READ), firstLine));
+        switch (config.readMode) {
+            case STARTING_FROM_LINE:
+                return processStream(in, 1, Long.MAX_VALUE, charset);
+            case BETWEEN_LINES:
+                return processStream(in, 1, config.endLineNum - config.startLineNum + 1, charset);
+            case SPECIFIC_LINE:
+                return processStream(in, 1, 1, charset);
+            default:
+                throw new IllegalStateException("Unexpected value: " + config.readMode.toString());
+        }
+    }
+
 
     /**
      * Set InputStream to the file to Synapse.
@@ -869,13 +2081,15 @@ public class ReadFile extends AbstractConnectorOperation {
      * @param file                File to read
      * @param msgCtx              MessageContext
      * @param contentType         MIME type of the message to build
+     * @param readAheadWindow     Number of chunks of SFTP files to read concurrently
      * @throws FileOperationException In case of synapse related or runtime issue
      */
     private void setStreamToSynapse(FileObject file, MessageContext msgCtx,
-                                    String contentType) throws FileOperationException {
+                                    String contentType, int readAheadWindow) throws FileOperationException {
 
         try {
-            ManagedDataSource dataSource = ManagedDataSourceFactory.create(new FileObjectDataSource(file, contentType));
+            ManagedDataSource dataSource = ManagedDataSourceFactory.create(
+                    new FileObjectDataSource(file, contentType, readAheadWindow));
             org.apache.axis2.context.MessageContext axis2MsgCtx = ((org.apache.synapse.core.axis2.
                     Axis2MessageContext) msgCtx).getAxis2MessageContext();
             Builder builder = selectSynapseMessageBuilder(msgCtx, contentType);
@@ -36,6 +36,8 @@ import org.wso2.carbon.connector.pojo.FileOperationResult;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.AppenderPool;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
 import org.apache.commons.lang.StringUtils;
 
 import static org.wso2.carbon.connector.utils.Utils.generateOperationResult;
@@ -88,12 +90,14 @@ public class RenameFiles extends AbstractConnectorOperation {
             String newFilePath = fileOrFolderPath.substring(0, fileOrFolderPath.lastIndexOf(Const.FILE_SEPARATOR))
                     + Const.FILE_SEPARATOR + newName;
             FileObject newFile = fileSystemHandlerConnection.resolveFileWithSuspension(newFilePath);
+            AppenderPool.release(fileToRename);
+            AppenderPool.release(newFile);
 
             if (fileToRename.exists()) {
 
                 // Check file stability if parameter is provided
                 if (!StringUtils.isEmpty(timeBetweenSizeCheck) && fileToRename.isFile()) {
-                    if (!isFileStable(fileToRename, timeBetweenSizeCheck)) {
+                    if (!FileStabilityTracker.isStable(connectionName, fileToRename, timeBetweenSizeCheck)) {
                         handleError(messageContext, null, Error.OPERATION_ERROR,
                                 "File is not stable (still being written). Cannot rename at this time.",
                                 responseVariable, overwriteBody);
@@ -163,47 +167,6 @@ public class RenameFiles extends AbstractConnectorOperation {
         }
     }
 
-    /**
-     * Check if file is stable (not being written to) by comparing file sizes
-     * over a specified interval.
-     * 
-     * @param file File to check for stability
-     * @param sizeCheckInterval Time in milliseconds to wait between size checks
-     * @return true if file is stable, false if still being written
-     */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
-            }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Re-read file size and compare
-            long finalSize = file.getContent().getSize();
-            
-            // File is stable if size hasn't changed
-            return initialSize == finalSize;
-            
-        } catch (NumberFormatException e) {
-            // If we can't parse the interval, assume file is stable
-            log.warn("Invalid timeBetweenSizeCheck value: " + sizeCheckInterval + ". Skipping stability check.");
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            // If interrupted, assume file is stable
-            return true;
-        } catch (Exception e) {
-            // If we can't check stability, assume file is stable
-            log.warn("Error checking file stability: " + e.getMessage() + ". Assuming file is stable.");
-            return true;
-        }
-    }
-
     /**
      * Sets error to context and handle.
      *
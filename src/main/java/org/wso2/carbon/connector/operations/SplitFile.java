@@ -19,7 +19,6 @@
 package org.wso2.carbon.connector.operations;
 
 import com.google.gson.JsonObject;
-import org.apache.commons.io.input.AutoCloseInputStream;
 import org.apache.commons.lang.StringUtils;
 import org.wso2.org.apache.commons.vfs2.FileObject;
 import org.wso2.org.apache.commons.vfs2.FileSystemException;
@@ -42,13 +41,18 @@ import org.wso2.carbon.connector.exception.IllegalPathException;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.pojo.FileOperationResult;
 import org.wso2.carbon.connector.pojo.FileSplitMode;
+import org.wso2.carbon.connector.utils.AppenderPool;
+import org.wso2.carbon.connector.utils.ChunkSplitter;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
+import org.wso2.carbon.connector.utils.XmlStreamSplitter;
 import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
@@ -62,9 +66,9 @@ import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
-import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -83,6 +87,7 @@ public class SplitFile extends AbstractConnectorOperation {
     private static final String TARGET_DIRECTORY_PARAM = "targetDirectory";
     private static final String SPLIT_MODE_PARAM = "splitMode";
     private static final String CHUNK_SIZE_PARAM = "chunkSize";
+    private static final String KEEP_RECORDS_INTACT_PARAM = "keepRecordsIntact";
     private static final String LINE_COUNT_PARAM = "lineCount";
     private static final String XPATH_EXPRESSION_PARAM = "xpathExpression";
     private static final String TIME_BETWEEN_SIZE_CHECK = "timeBetweenSizeCheck";
@@ -136,6 +141,7 @@ public class SplitFile extends AbstractConnectorOperation {
             FileSystemOptions fso = fileSystemHandlerConnection.getFsOptions();
             Utils.addDiskShareAccessMaskToFSO(fso, diskShareAccessMask);
             fileToSplit = fileSystemHandlerConnection.resolveFileWithSuspension(sourceFilePath);
+            AppenderPool.release(fileToSplit);
             targetDir = fileSystemHandlerConnection.resolveFileWithSuspension(targetDirectoryPath);
 
             if (!fileToSplit.exists()) {
@@ -152,7 +158,7 @@ public class SplitFile extends AbstractConnectorOperation {
 
             // Check file stability if parameter is provided
             if (!StringUtils.isEmpty(timeBetweenSizeCheck) && fileToSplit.isFile()) {
-                if (!isFileStable(fileToSplit, timeBetweenSizeCheck)) {
+                if (!FileStabilityTracker.isStable(connectionName, fileToSplit, timeBetweenSizeCheck)) {
                     handleError(messageContext, new IllegalPathException("File is not stable (still being written). Cannot split at this time."),
                             Error.OPERATION_ERROR, "File is not stable (still being written). Cannot split at this time.",
                             responseVariable, overwriteBody);
@@ -168,9 +174,23 @@ public class SplitFile extends AbstractConnectorOperation {
                     String chunkSizeAsStr = (String) ConnectorUtils.
                             lookupTemplateParamater(messageContext, CHUNK_SIZE_PARAM);
                     if (StringUtils.isNotEmpty(chunkSizeAsStr)) {
+                        long chunkSize;
+                        try {
+                            chunkSize = Long.parseLong(chunkSizeAsStr.trim());
+                        } catch (NumberFormatException e) {
+                            throw new InvalidConfigurationException("Parameter '" + CHUNK_SIZE_PARAM
+                                    + "' should be a number of bytes");
+                        }
+                        if (chunkSize <= 0) {
+                            throw new InvalidConfigurationException("Parameter '" + CHUNK_SIZE_PARAM
+                                    + "' should be positive");
+                        }
+                        boolean keepRecordsIntact = Utils.lookUpBooleanParam(messageContext,
+                                KEEP_RECORDS_INTACT_PARAM, false);
                         splitFileCount = splitByChunkSize(fileToSplit,
                                 targetDirectoryPath,
-                                chunkSizeAsStr,
+                                chunkSize,
+                                keepRecordsIntact,
                                 fileSystemHandlerConnection);
                     } else {
                         throw new InvalidConfigurationException("Parameter '" + CHUNK_SIZE_PARAM + "' is not provided");
@@ -200,6 +220,18 @@ public class SplitFile extends AbstractConnectorOperation {
                         throw new InvalidConfigurationException("Parameter '" + XPATH_EXPRESSION_PARAM + "' is not provided");
                     }
                     break;
+                case STREAMING_XPATH_EXPRESSION:
+                    String streamingXpathExpression = (String) ConnectorUtils.
+                            lookupTemplateParamater(messageContext, XPATH_EXPRESSION_PARAM);
+                    if (StringUtils.isNotEmpty(streamingXpathExpression)) {
+                        splitFileCount = splitByStreamingXPathExpression(fileToSplit,
+                                targetDirectoryPath,
+                                streamingXpathExpression,
+                                fileSystemHandlerConnection);
+                    } else {
+                        throw new InvalidConfigurationException("Parameter '" + XPATH_EXPRESSION_PARAM + "' is not provided");
+                    }
+                    break;
                 default:
 
                     break;
@@ -347,72 +379,56 @@ public class SplitFile extends AbstractConnectorOperation {
     }
 
     /**
-     * Splits the file based on chunk size.
+     * Splits the file based on chunk size. The file is streamed through a fixed size
+     * buffer, hence the chunk size is not limited by the available memory.
      *
-     * @param sourceFileObj Source file object.
-     * @param destination   Destination to write the splitted files.
-     * @param chunkSize     Size of a file chunk in bytes.
-     * @param manager       FileSystemManager to resolve splitted file.
-     * @param options       FileSystemOptions to resolve splitted file.
+     * @param sourceFileObj     Source file object.
+     * @param destination       Destination to write the splitted files.
+     * @param chunkSize         Size of a file chunk in bytes.
+     * @param keepRecordsIntact Whether to cut a chunk only after the next line terminator
      * @return Number of parts split
      * @throws IOException In case of error creating, writing to files
      */
-    private int splitByChunkSize(FileObject sourceFileObj, String destination, String chunkSize,
-                                 FileSystemHandler fileSystemHandlerConnection) throws IOException {
-        byte[] bytesIn = new byte[Integer.parseInt(chunkSize)];
-        InputStream inputStream = null;
-        OutputStream outputStream = null;
-        BufferedOutputStream bufferedOutputStream = null;
-        FileObject outputFileObj = null;
-        int partNum = 0;
+    private int splitByChunkSize(FileObject sourceFileObj, String destination, long chunkSize,
+                                 boolean keepRecordsIntact, FileSystemHandler fileSystemHandlerConnection)
+            throws IOException {
+
         String sourceFileName = sourceFileObj.getName().getBaseName();
-        try {
-            inputStream = new AutoCloseInputStream(sourceFileObj.getContent().getInputStream());
-            while (inputStream.read(bytesIn) != -1) {
-                try {
-                    outputFileObj = createFilePart(destination, sourceFileName, partNum, fileSystemHandlerConnection);
-                    outputStream = outputFileObj.getContent().getOutputStream();
-                    bufferedOutputStream = new BufferedOutputStream(outputStream);
-                    bufferedOutputStream.write(bytesIn);
-                    bufferedOutputStream.flush();
-                    outputStream.flush();
-
-                } finally {
-                    if (bufferedOutputStream != null) {
-                        try {
-                            bufferedOutputStream.close();
-                        } catch (IOException e) {
-                            log.warn(LOG_IDENTIFIER + "Error while closing the BufferedOutputStream: " + e.getMessage(), e);
-                        }
+        ChunkSplitter splitter = new ChunkSplitter(chunkSize, keepRecordsIntact);
+        try (InputStream inputStream = sourceFileObj.getContent().getInputStream()) {
+            return splitter.split(inputStream, partNumber -> {
+                FileObject outputFileObj = createFilePart(destination, sourceFileName, partNumber,
+                        fileSystemHandlerConnection);
+                return new FilterOutputStream(outputFileObj.getContent().getOutputStream()) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
                     }
-                    if (outputStream != null) {
-                        try {
-                            outputStream.close();
-                        } catch (IOException e) {
-                            log.warn(LOG_IDENTIFIER + "Error while closing the OutputStream: " + e.getMessage(), e);
+
+                    @Override
+                    public void close() throws IOException {
+                        closeFilePart(out, outputFileObj);
+                        if (log.isDebugEnabled()) {
+                            log.debug(LOG_IDENTIFIER + "created the file part " + (partNumber + 1));
                         }
                     }
-                    if (outputFileObj != null) {
-                        outputFileObj.close();
-                    }
-                }
-                partNum++;
-                if (log.isDebugEnabled()) {
-                    log.debug(LOG_IDENTIFIER + "created the file part " + partNum);
-                }
-            }
-
-            return partNum;
+                };
+            });
+        }
+    }
 
+    /**
+     * Close a file part once it is written.
+     *
+     * @param outputStream  Stream to the file part
+     * @param outputFileObj File part
+     * @throws IOException In case of error flushing the content
+     */
+    private void closeFilePart(OutputStream outputStream, FileObject outputFileObj) throws IOException {
+        try {
+            outputStream.close();
         } finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    log.error(LOG_IDENTIFIER + "error while" + " closing inputStream for file "
-                            + sourceFileObj.getURL());
-                }
-            }
+            outputFileObj.close();
         }
     }
 
@@ -517,6 +533,56 @@ public class SplitFile extends AbstractConnectorOperation {
         return nodeList.getLength();
     }
 
+    /**
+     * Split xml document based on a location path while the document is read, without
+     * building the document in memory.
+     *
+     * @param sourceFileObj   Source xml document file
+     * @param destination     Destination to write the splitted files.
+     * @param xpathExpression Location path of element names such as /root/record
+     * @return Number of split files
+     * @throws InvalidConfigurationException If the expression is not supported for streaming
+     * @throws FileOperationException        In case of error reading the source xml file
+     * @throws IOException                   In case of error writing the split files
+     */
+    private int splitByStreamingXPathExpression(FileObject sourceFileObj, String destination,
+                                                String xpathExpression,
+                                                FileSystemHandler fileSystemHandlerConnection)
+            throws InvalidConfigurationException, FileOperationException, IOException {
+
+        XmlStreamSplitter splitter = new XmlStreamSplitter(xpathExpression);
+        try (InputStream inputStream = sourceFileObj.getContent().getInputStream()) {
+            return splitter.split(inputStream, (name, partNumber) -> {
+                FileObject outputFileObj = fileSystemHandlerConnection.resolveFileWithSuspension(destination
+                        + Const.FILE_SEPARATOR + name + partNumber + ".xml");
+                if (!outputFileObj.exists()) {
+                    outputFileObj.createFile();
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("File connector:split - Creating the xml file part " + partNumber);
+                }
+                return new FilterOutputStream(outputFileObj.getContent().getOutputStream()) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            outputFileObj.close();
+                        }
+                    }
+                };
+            });
+        } catch (XMLStreamException e) {
+            throw new FileOperationException("Failed to read source xml file "
+                    + sourceFileObj.getName().getBaseName(), e);
+        }
+    }
+
     /**
      * Get document builder factory instance.
      *
@@ -547,47 +613,6 @@ public class SplitFile extends AbstractConnectorOperation {
         return documentBuilderFactory;
     }
 
-    /**
-     * Check if file is stable (not being written to) by comparing file sizes
-     * over a specified interval.
-     * 
-     * @param file File to check for stability
-     * @param sizeCheckInterval Time in milliseconds to wait between size checks
-     * @return true if file is stable, false if still being written
-     */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
-            }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Re-read file size and compare
-            long finalSize = file.getContent().getSize();
-            
-            // File is stable if size hasn't changed
-            return initialSize == finalSize;
-            
-        } catch (NumberFormatException e) {
-            // If we can't parse the interval, assume file is stable
-            log.warn("Invalid timeBetweenSizeCheck value: " + sizeCheckInterval + ". Skipping stability check.");
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            // If interrupted, assume file is stable
-            return true;
-        } catch (Exception e) {
-            // If we can't check stability, assume file is stable
-            log.warn("Error checking file stability: " + e.getMessage() + ". Assuming file is stable.");
-            return true;
-        }
-    }
-
     /**
      * Sets error to context and handle.
      *
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.operations;
+
+import com.google.gson.JsonObject;
+import org.apache.commons.lang.StringUtils;
+import org.apache.synapse.MessageContext;
+import org.wso2.carbon.connector.connection.FileSystemHandler;
+import org.wso2.carbon.connector.exception.FileAlreadyExistsException;
+import org.wso2.carbon.connector.exception.IllegalPathException;
+import org.wso2.carbon.connector.exception.InvalidConfigurationException;
+import org.wso2.carbon.connector.pojo.FileOperationResult;
+import org.wso2.carbon.connector.utils.AppenderPool;
+import org.wso2.carbon.connector.utils.Const;
+import org.wso2.carbon.connector.utils.DoubleBufferedPipe;
+import org.wso2.carbon.connector.utils.Error;
+import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.integration.connector.core.AbstractConnectorOperation;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.connection.ConnectionHandler;
+import org.wso2.integration.connector.core.util.ConnectorUtils;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.FileSystemException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+
+import static org.wso2.carbon.connector.utils.Utils.generateOperationResult;
+
+/**
+ * Implements transfer file operation. The content of a file is piped from the
+ * source connection to a file of the target connection without passing through
+ * the message, reading the source while the target is written.
+ */
+public class TransferFile extends AbstractConnectorOperation {
+
+    private static final String SOURCE_PATH_PARAM = "sourcePath";
+    private static final String TARGET_CONNECTION_PARAM = "targetConnection";
+    private static final String TARGET_PATH_PARAM = "targetPath";
+    private static final String RENAME_TO_PARAM = "renameTo";
+    private static final String OVERWRITE_PARAM = "overwrite";
+    private static final String DELETE_SOURCE_PARAM = "deleteSource";
+    private static final String BUFFER_SIZE_PARAM = "bufferSize";
+    private static final String READ_AHEAD_WINDOW_PARAM = "readAheadWindow";
+    private static final String PART_EXTENSION = ".part";
+
+    private static final String DETAIL_ELE_NAME = "detail";
+    private static final String TRANSFERRED_BYTES_ELE_NAME = "transferredBytes";
+    private static final String OPERATION_NAME = "transfer";
+    private static final String ERROR_MESSAGE = "Error while performing file:transfer for file ";
+
+    @Override
+    public void execute(MessageContext messageContext, String responseVariable, Boolean overwriteBody)
+            throws ConnectException {
+
+        String sourcePath = null;
+        FileObject sourceFile = null;
+        FileObject targetFile = null;
+        int maxRetries;
+        int retryDelay;
+        int attempt = 0;
+        boolean successOperation = false;
+
+        FileSystemHandler sourceConnection = null;
+        FileSystemHandler targetConnection = null;
+        String targetConnectionName = null;
+        ConnectionHandler handler = ConnectionHandler.getConnectionHandler();
+        String connectionName = Utils.getConnectionName(messageContext);
+        String diskShareAccessMask = (String) ConnectorUtils.lookupTemplateParamater
+                (messageContext, Const.DISK_SHARE_ACCESS_MASK);
+        //read max retries and retry delay
+        try {
+            maxRetries = Integer.parseInt((String) ConnectorUtils.lookupTemplateParamater(messageContext,
+                    Const.MAX_RETRY_PARAM));
+            retryDelay = Integer.parseInt((String) ConnectorUtils.lookupTemplateParamater(messageContext,
+                    Const.RETRY_DELAY_PARAM));
+            if (log.isDebugEnabled()) {
+                log.debug("Max retries: " + maxRetries + " Retry delay: " + retryDelay);
+            }
+        } catch (Exception e) {
+            maxRetries = 0;
+            retryDelay = 0;
+        }
+        while (attempt <= maxRetries && !successOperation) {
+            try {
+                //read inputs
+                sourcePath = Utils.lookUpStringParam(messageContext, SOURCE_PATH_PARAM);
+                String targetPath = Utils.lookUpStringParam(messageContext, TARGET_PATH_PARAM);
+                String renameTo = Utils.lookUpStringParam(messageContext, RENAME_TO_PARAM, Const.EMPTY_STRING);
+                boolean overwrite = Utils.lookUpBooleanParam(messageContext, OVERWRITE_PARAM, false);
+                boolean deleteSource = Utils.lookUpBooleanParam(messageContext, DELETE_SOURCE_PARAM, false);
+                int bufferSize = Integer.parseInt(Utils.lookUpStringParam(messageContext,
+                        BUFFER_SIZE_PARAM, "1048576"));
+                int readAheadWindow = Integer.parseInt(Utils.lookUpStringParam(messageContext,
+                        READ_AHEAD_WINDOW_PARAM, "0"));
+                if (bufferSize < 1) {
+                    throw new InvalidConfigurationException("Parameter '" + BUFFER_SIZE_PARAM
+                            + "' should be positive");
+                }
+                if (readAheadWindow < 0) {
+                    throw new InvalidConfigurationException("Parameter '" + READ_AHEAD_WINDOW_PARAM
+                            + "' should not be negative");
+                }
+                String targetConnectionParam = Utils.lookUpStringParam(messageContext, TARGET_CONNECTION_PARAM,
+                        Const.EMPTY_STRING);
+                targetConnectionName = StringUtils.isEmpty(targetConnectionParam) ? connectionName
+                        : Utils.getTenantSpecificConnectionName(targetConnectionParam, messageContext);
+
+                // Only one handler is borrowed per connection, as the pool blocks when exhausted. Handlers of
+                // different connections are borrowed in name order, so transfers in opposite directions do not
+                // wait for each other.
+                if (targetConnectionName.equals(connectionName)) {
+                    sourceConnection = Utils.getFileSystemHandler(connectionName);
+                    targetConnection = sourceConnection;
+                } else if (connectionName.compareTo(targetConnectionName) < 0) {
+                    sourceConnection = Utils.getFileSystemHandler(connectionName);
+                    targetConnection = Utils.getFileSystemHandler(targetConnectionName);
+                } else {
+                    targetConnection = Utils.getFileSystemHandler(targetConnectionName);
+                    sourceConnection = Utils.getFileSystemHandler(connectionName);
+                }
+                Utils.addDiskShareAccessMaskToFSO(sourceConnection.getFsOptions(), diskShareAccessMask);
+                Utils.addDiskShareAccessMaskToFSO(targetConnection.getFsOptions(), diskShareAccessMask);
+
+                sourcePath = sourceConnection.getBaseDirectoryPath() + sourcePath;
+                sourceFile = sourceConnection.resolveFileWithSuspension(sourcePath);
+                AppenderPool.release(sourceFile);
+                if (!sourceFile.exists() || !sourceFile.isFile()) {
+                    throw new IllegalPathException("File does not exist : " + sourcePath);
+                }
+                String targetFileName = StringUtils.isNotEmpty(renameTo) ? renameTo
+                        : sourceFile.getName().getBaseName();
+                String targetFilePath = targetConnection.getBaseDirectoryPath() + targetPath
+                        + Const.FILE_SEPARATOR + targetFileName;
+                targetFile = targetConnection.resolveFileWithSuspension(targetFilePath);
+                AppenderPool.release(targetFile);
+                if (targetFile.exists() && !overwrite) {
+                    throw new FileAlreadyExistsException("Destination file already exists and overwrite not allowed");
+                }
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Transferring file " + sourcePath + " of connection " + connectionName + " to "
+                            + targetFilePath + " of connection " + targetConnectionName);
+                }
+                long transferredBytes = transfer(sourceFile, targetFile, bufferSize, readAheadWindow);
+                if (deleteSource && !sourceFile.delete()) {
+                    log.warn("Could not delete transferred file " + sourcePath);
+                }
+
+                JsonObject transferDetailEle = new JsonObject();
+                transferDetailEle.addProperty(TRANSFERRED_BYTES_ELE_NAME, transferredBytes);
+                JsonObject resultJSON = generateOperationResult(messageContext,
+                        new FileOperationResult(OPERATION_NAME, true));
+                resultJSON.add(DETAIL_ELE_NAME, transferDetailEle);
+                handleConnectorResponse(messageContext, responseVariable, overwriteBody, resultJSON, null, null);
+                successOperation = true;
+            } catch (InvalidConfigurationException e) {
+                String errorDetail = ERROR_MESSAGE + sourcePath;
+                handleError(messageContext, e, Error.INVALID_CONFIGURATION, errorDetail, responseVariable, overwriteBody);
+            } catch (FileAlreadyExistsException e) {
+                String errorDetail = ERROR_MESSAGE + sourcePath;
+                handleError(messageContext, e, Error.FILE_ALREADY_EXISTS, errorDetail, responseVariable, overwriteBody);
+            } catch (IllegalPathException e) {
+                String errorDetail = ERROR_MESSAGE + sourcePath;
+                handleError(messageContext, e, Error.ILLEGAL_PATH, errorDetail, responseVariable, overwriteBody);
+            } catch (Exception e) {
+                String errorDetail = ERROR_MESSAGE + sourcePath;
+                log.error(errorDetail, e);
+                Utils.closeFileSystem(sourceFile);
+                Utils.closeFileSystem(targetFile);
+                if (attempt >= maxRetries - 1) {
+                    handleError(messageContext, e, Error.RETRY_EXHAUSTED, errorDetail, responseVariable, overwriteBody);
+                }
+                // Log the retry attempt
+                log.warn(Const.CONNECTOR_NAME + ":Error while transferring file "
+                        + sourcePath + ". Retrying after " + retryDelay + " milliseconds retry attempt " + (attempt + 1)
+                        + " out of " + maxRetries);
+                attempt++;
+                try {
+                    Thread.sleep(retryDelay); // Wait before retrying
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt(); // Restore interrupted status
+                    handleError(messageContext, ie, Error.OPERATION_ERROR, ERROR_MESSAGE + sourcePath,
+                            responseVariable, overwriteBody);
+                }
+            } finally {
+                closeFile(sourceFile);
+                closeFile(targetFile);
+                returnConnection(handler, connectionName, sourceConnection);
+                if (targetConnection != sourceConnection) {
+                    returnConnection(handler, targetConnectionName, targetConnection);
+                }
+                sourceConnection = null;
+                targetConnection = null;
+            }
+        }
+    }
+
+    /**
+     * Pipe the content of the source file to a temporary file next to the target
+     * and rename it to the target once the content is written.
+     *
+     * @param sourceFile      File to read
+     * @param targetFile      File to write
+     * @param bufferSize      Size of each of the two buffers
+     * @param readAheadWindow Number of chunks of an SFTP source to read concurrently
+     * @return Number of bytes transferred
+     * @throws IOException In case of I/O error
+     */
+    private long transfer(FileObject sourceFile, FileObject targetFile, int bufferSize, int readAheadWindow)
+            throws IOException {
+
+        long transferredBytes;
+        // A unique name, so that concurrent transfers to the same target do not write to the same file
+        try (FileObject partFile = targetFile.getParent().resolveFile(
+                targetFile.getName().getBaseName() + "." + UUID.randomUUID() + PART_EXTENSION)) {
+            boolean transferred = false;
+            try {
+                try (InputStream in = Utils.openInputStream(sourceFile, readAheadWindow);
+                     OutputStream out = partFile.getContent().getOutputStream()) {
+                    transferredBytes = DoubleBufferedPipe.copy(in, out, bufferSize);
+                }
+                partFile.moveTo(targetFile);
+                transferred = true;
+            } finally {
+                if (!transferred) {
+                    try {
+                        partFile.delete();
+                    } catch (FileSystemException deleteError) {
+                        log.warn("Error while deleting partially transferred file "
+                                + partFile.getName().getBaseName(), deleteError);
+                    }
+                }
+            }
+        }
+        return transferredBytes;
+    }
+
+    private void closeFile(FileObject file) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (FileSystemException e) {
+                log.error(Const.CONNECTOR_NAME + ":Error while closing file object " + file.getName().getBaseName());
+            }
+        }
+    }
+
+    private void returnConnection(ConnectionHandler handler, String connectionName,
+                                  FileSystemHandler fileSystemHandlerConnection) {
+        if (fileSystemHandlerConnection != null
+                && handler.getStatusOfConnection(Const.CONNECTOR_NAME, connectionName)) {
+            Utils.addMaxAccessMaskToFSO(fileSystemHandlerConnection.getFsOptions());
+            handler.returnConnection(Const.CONNECTOR_NAME, connectionName, fileSystemHandlerConnection);
+        }
+    }
+
+    /**
+     * Sets error to context and handle.
+     *
+     * @param msgCtx           Message Context to set info
+     * @param e                Exception associated
+     * @param error            Error code
+     * @param errorDetail      Error detail
+     * @param responseVariable Response variable name
+     * @param overwriteBody    Overwrite body
+     */
+    private void handleError(MessageContext msgCtx, Exception e, Error error, String errorDetail,
+                             String responseVariable, boolean overwriteBody) {
+        errorDetail = Utils.maskURLPassword(errorDetail);
+        FileOperationResult result = new FileOperationResult(OPERATION_NAME, false, error, e.getMessage());
+        JsonObject resultJSON = generateOperationResult(msgCtx, result);
+        handleConnectorResponse(msgCtx, responseVariable, overwriteBody, resultJSON, null, null);
+        handleException(errorDetail, e, msgCtx);
+    }
+}
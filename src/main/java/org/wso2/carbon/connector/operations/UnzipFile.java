@@ -25,6 +25,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.wso2.org.apache.commons.vfs2.FileObject;
 import org.wso2.org.apache.commons.vfs2.FileSystemException;
 import org.wso2.org.apache.commons.vfs2.FileSystemManager;
@@ -38,15 +39,20 @@ import org.wso2.integration.connector.core.util.ConnectorUtils;
 import org.wso2.carbon.connector.exception.IllegalPathException;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.pojo.FileOperationResult;
+import org.wso2.carbon.connector.utils.AppenderPool;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
 import org.apache.commons.lang.StringUtils;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -63,6 +69,7 @@ public class UnzipFile extends AbstractConnectorOperation {
     private static final String TIME_BETWEEN_SIZE_CHECK = "timeBetweenSizeCheck";
     private static final String OPERATION_NAME = "unzipFile";
     private static final String FILE_NAME_ENCODING = "fileNameEncoding";
+    private static final String ENTRY_NAMES = "entryNames";
     private static final String DEFAULT_ENCODING = StandardCharsets.UTF_8.name();
     private static final String ERROR_MESSAGE = "Error while performing file:unzip for file ";
 
@@ -81,6 +88,7 @@ public class UnzipFile extends AbstractConnectorOperation {
         String connectorName = Const.CONNECTOR_NAME;
         String fileNameEncoding;
         String validatedFileNameEncoding;
+        Set<String> entryNames;
 
         try {
             String diskShareAccessMask = (String) ConnectorUtils.lookupTemplateParamater
@@ -93,6 +101,8 @@ public class UnzipFile extends AbstractConnectorOperation {
                     lookupTemplateParamater(messageContext, FILE_NAME_ENCODING);
             String timeBetweenSizeCheck = (String) ConnectorUtils.
                     lookupTemplateParamater(messageContext, TIME_BETWEEN_SIZE_CHECK);
+            entryNames = parseEntryNames((String) ConnectorUtils.
+                    lookupTemplateParamater(messageContext, ENTRY_NAMES));
 
             fileSystemHandlerConnection = (FileSystemHandler) handler
                     .getConnection(Const.CONNECTOR_NAME, connectionName);
@@ -102,6 +112,7 @@ public class UnzipFile extends AbstractConnectorOperation {
             FileSystemOptions fso = fileSystemHandlerConnection.getFsOptions();
             Utils.addDiskShareAccessMaskToFSO(fso, diskShareAccessMask);
             compressedFile = fileSystemHandlerConnection.resolveFileWithSuspension(filePath);
+            AppenderPool.release(compressedFile);
             targetFolder = fileSystemHandlerConnection.resolveFileWithSuspension(folderPathToExtract);
 
             //execute validations
@@ -121,7 +132,7 @@ public class UnzipFile extends AbstractConnectorOperation {
 
             // Check file stability if parameter is provided
             if (!StringUtils.isEmpty(timeBetweenSizeCheck) && compressedFile.isFile()) {
-                if (!isFileStable(compressedFile, timeBetweenSizeCheck)) {
+                if (!FileStabilityTracker.isStable(connectionName, compressedFile, timeBetweenSizeCheck)) {
                     handleError(messageContext, new IllegalPathException("File is not stable (still being written). Cannot unzip at this time."),
                             Error.OPERATION_ERROR, "File is not stable (still being written). Cannot unzip at this time.",
                             responseVariable, overwriteBody);
@@ -129,7 +140,8 @@ public class UnzipFile extends AbstractConnectorOperation {
                 }
             }
 
-            executeDecompression(compressedFile, folderPathToExtract, validatedFileNameEncoding, fileSystemHandlerConnection);
+            executeDecompression(compressedFile, folderPathToExtract, validatedFileNameEncoding, entryNames,
+                    fileSystemHandlerConnection);
 
             JsonObject resultJSON = generateOperationResult(messageContext,
                     new FileOperationResult(OPERATION_NAME, true));
@@ -140,6 +152,11 @@ public class UnzipFile extends AbstractConnectorOperation {
             String errorDetail = ERROR_MESSAGE + filePath;
             handleError(messageContext, e, Error.INVALID_CONFIGURATION, errorDetail, responseVariable, overwriteBody);
 
+        } catch (IllegalPathException e) {
+
+            String errorDetail = ERROR_MESSAGE + filePath;
+            handleError(messageContext, e, Error.ILLEGAL_PATH, errorDetail, responseVariable, overwriteBody);
+
         } catch (IOException e) {       //FileSystemException also handled here
 
             String errorDetail = ERROR_MESSAGE + filePath;
@@ -166,18 +183,24 @@ public class UnzipFile extends AbstractConnectorOperation {
     }
 
     /**
-     * Execute decompression, iterating over compressed entries.
+     * Execute decompression, iterating over compressed entries. If entry names are
+     * given and the file system supports random access reads, only the requested
+     * entries are located through the central directory and extracted.
      *
-     * @param sourceFile             Compressed file
-     * @param folderPathToExtract Directory path to decompress
-     * @param fsManager           File System Manager associated with the file connection
-     * @param fso                 File System Options associated with the file connection
-     * @throws IOException In case of I/O error
+     * @param sourceFile                  Compressed file
+     * @param folderPathToExtract         Directory path to decompress
+     * @param fileNameEncoding            Encoding of the entry names
+     * @param entryNames                  Names of the entries to extract, all entries if empty
+     * @param fileSystemHandlerConnection File system handler of the connection
+     * @throws IOException          In case of I/O error
+     * @throws IllegalPathException If a requested entry is not found in the zip file
      */
     private void executeDecompression(FileObject sourceFile,
                                       String folderPathToExtract,
                                       String fileNameEncoding,
-                                      FileSystemHandler fileSystemHandlerConnection) throws IOException {
+                                      Set<String> entryNames,
+                                      FileSystemHandler fileSystemHandlerConnection)
+            throws IOException, IllegalPathException {
         //execute decompression
         String fileExtension = sourceFile.getName().getExtension();
         if (fileExtension.equals("gz")) {
@@ -187,11 +210,19 @@ public class UnzipFile extends AbstractConnectorOperation {
             extractGzip(sourceFile, target);
             return;
         }
+        if (!entryNames.isEmpty() && Utils.isZipRandomAccessSupported(sourceFile)) {
+            extractEntries(sourceFile, folderPathToExtract, fileNameEncoding, entryNames, fileSystemHandlerConnection);
+            return;
+        }
 
+        Set<String> foundEntryNames = new LinkedHashSet<>();
         try (InputStream inputStream = sourceFile.getContent().getInputStream();
              ZipArchiveInputStream zipIn = new ZipArchiveInputStream(inputStream, fileNameEncoding, true, true)) {
             ZipArchiveEntry entry;
             while ((entry = zipIn.getNextZipEntry()) != null) {
+                if (!isRequestedEntry(entry.getName(), entryNames, foundEntryNames)) {
+                    continue;
+                }
                 String zipEntryPath = folderPathToExtract + Const.FILE_SEPARATOR + entry.getName();
                 FileObject zipEntryTargetFile = fileSystemHandlerConnection.resolveFileWithSuspension(zipEntryPath);
                 if (!entry.isDirectory()) {
@@ -203,6 +234,106 @@ public class UnzipFile extends AbstractConnectorOperation {
                 }
             }
         }
+        checkEntriesFound(entryNames, foundEntryNames);
+    }
+
+    /**
+     * Extract the requested entries of a zip file. The central directory at the end
+     * of the file is read to locate the entries, then only the data of those entries
+     * is read, hence the rest of the archive is never transferred.
+     *
+     * @param sourceFile                  Zip file
+     * @param folderPathToExtract         Directory path to decompress
+     * @param fileNameEncoding            Encoding of the entry names
+     * @param entryNames                  Names of the entries to extract
+     * @param fileSystemHandlerConnection File system handler of the connection
+     * @throws IOException          In case of I/O error
+     * @throws IllegalPathException If a requested entry is not found in the zip file
+     */
+    private void extractEntries(FileObject sourceFile, String folderPathToExtract, String fileNameEncoding,
+                                Set<String> entryNames, FileSystemHandler fileSystemHandlerConnection)
+            throws IOException, IllegalPathException {
+
+        Set<String> foundEntryNames = new LinkedHashSet<>();
+        try (ZipFile zipFile = Utils.openZipFile(sourceFile, fileNameEncoding)) {
+            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                if (!isRequestedEntry(entry.getName(), entryNames, foundEntryNames)) {
+                    continue;
+                }
+                String zipEntryPath = folderPathToExtract + Const.FILE_SEPARATOR + entry.getName();
+                FileObject zipEntryTargetFile = fileSystemHandlerConnection.resolveFileWithSuspension(zipEntryPath);
+                if (!entry.isDirectory()) {
+                    try (InputStream entryIn = zipFile.getInputStream(entry)) {
+                        extractFile(entryIn, zipEntryTargetFile);
+                    }
+                } else {
+                    zipEntryTargetFile.createFolder();
+                }
+            }
+        }
+        checkEntriesFound(entryNames, foundEntryNames);
+    }
+
+    /**
+     * Check whether a zip entry is requested. An entry is requested if no entry
+     * names are given, if its name is given, or if it is inside a requested folder
+     * (a name ending with '/'). Matching requested names are recorded as found.
+     *
+     * @param entryName       Name of the zip entry
+     * @param entryNames      Requested entry names, all entries if empty
+     * @param foundEntryNames Requested entry names found so far
+     * @return True if the entry should be extracted
+     */
+    private boolean isRequestedEntry(String entryName, Set<String> entryNames, Set<String> foundEntryNames) {
+        if (entryNames.isEmpty()) {
+            return true;
+        }
+        boolean requested = false;
+        for (String name : entryNames) {
+            if (entryName.equals(name) || (name.endsWith(Const.FILE_SEPARATOR) && entryName.startsWith(name))) {
+                foundEntryNames.add(name);
+                requested = true;
+            }
+        }
+        return requested;
+    }
+
+    /**
+     * Check whether all requested entries were found in the zip file.
+     *
+     * @param entryNames      Requested entry names
+     * @param foundEntryNames Requested entry names found
+     * @throws IllegalPathException If a requested entry is not found
+     */
+    private void checkEntriesFound(Set<String> entryNames, Set<String> foundEntryNames)
+            throws IllegalPathException {
+        Set<String> missingEntryNames = new LinkedHashSet<>(entryNames);
+        missingEntryNames.removeAll(foundEntryNames);
+        if (!missingEntryNames.isEmpty()) {
+            throw new IllegalPathException("Entries not found in the zip file: "
+                    + String.join(",", missingEntryNames));
+        }
+    }
+
+    /**
+     * Parse the comma separated entry names to extract.
+     *
+     * @param entryNames Comma separated entry names, may be empty
+     * @return Set of entry names, empty if all entries should be extracted
+     */
+    private Set<String> parseEntryNames(String entryNames) {
+        Set<String> names = new LinkedHashSet<>();
+        if (StringUtils.isNotEmpty(entryNames)) {
+            for (String name : entryNames.split(",")) {
+                name = name.trim();
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
     }
 
     public static void extractGzip(FileObject source, FileObject target) throws IOException {
@@ -219,11 +350,11 @@ public class UnzipFile extends AbstractConnectorOperation {
     /**
      * Extract Zip entry and write to file.
      *
-     * @param zipIn              ZipInputStream to zip entry
+     * @param zipIn              Stream to zip entry content
      * @param zipEntryTargetFile FileObject pointing to extracted file related to zip entry
      * @throws IOException In case of I/O error
      */
-    private void extractFile(ZipArchiveInputStream zipIn, FileObject zipEntryTargetFile) throws IOException {
+    private void extractFile(InputStream zipIn, FileObject zipEntryTargetFile) throws IOException {
         BufferedOutputStream bos = null;
         OutputStream fOut = null;
         try {
@@ -258,47 +389,6 @@ public class UnzipFile extends AbstractConnectorOperation {
         }
     }
 
-    /**
-     * Check if file is stable (not being written to) by comparing file sizes
-     * over a specified interval.
-     * 
-     * @param file File to check for stability
-     * @param sizeCheckInterval Time in milliseconds to wait between size checks
-     * @return true if file is stable, false if still being written
-     */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
-            }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Re-read file size and compare
-            long finalSize = file.getContent().getSize();
-            
-            // File is stable if size hasn't changed
-            return initialSize == finalSize;
-            
-        } catch (NumberFormatException e) {
-            // If we can't parse the interval, assume file is stable
-            log.warn("Invalid timeBetweenSizeCheck value: " + sizeCheckInterval + ". Skipping stability check.");
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            // If interrupted, assume file is stable
-            return true;
-        } catch (Exception e) {
-            // If we can't check stability, assume file is stable
-            log.warn("Error checking file stability: " + e.getMessage() + ". Assuming file is stable.");
-            return true;
-        }
-    }
-
     /**
      * Sets error to context and handle.
      *
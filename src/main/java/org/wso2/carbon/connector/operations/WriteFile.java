@@ -20,7 +20,9 @@ package org.wso2.carbon.connector.operations;
 
 import com.google.gson.JsonObject;
 import org.apache.axiom.om.OMElement;
+import org.apache.axiom.attachments.SizeAwareDataSource;
 import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.OMText;
 import org.apache.axis2.format.BinaryFormatter;
 import org.apache.axis2.format.PlainTextFormatter;
 import org.apache.axis2.transport.MessageFormatter;
@@ -49,20 +51,33 @@ import org.wso2.carbon.connector.exception.FileOperationException;
 import org.wso2.carbon.connector.exception.IllegalPathException;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.filelock.FileLockManager;
+import org.wso2.carbon.connector.pojo.AppenderPolicy;
 import org.wso2.carbon.connector.pojo.FileOperationResult;
 import org.wso2.carbon.connector.pojo.FileWriteMode;
+import org.wso2.carbon.connector.pojo.RollingPolicy;
+import org.wso2.carbon.connector.pojo.WriteDurability;
+import org.wso2.carbon.connector.utils.AppendCoalescer;
+import org.wso2.carbon.connector.utils.AppenderPool;
+import org.wso2.carbon.connector.utils.RollingFileWriter;
+import org.wso2.carbon.connector.utils.SegmentedUploader;
+import org.wso2.carbon.connector.utils.FreeSpaceChecker;
 import org.wso2.carbon.connector.utils.Error;
 import org.wso2.carbon.connector.utils.Const;
 import org.wso2.carbon.connector.utils.Utils;
+import org.wso2.carbon.connector.utils.FileStabilityTracker;
 import org.wso2.carbon.relay.ExpandingMessageFormatter;
 
-import java.io.BufferedReader;
+import javax.activation.DataHandler;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Base64;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.UUID;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -86,8 +101,27 @@ public class WriteFile extends AbstractConnectorOperation {
     private static final String APPEND_POSITION_PARAM = "appendPosition";
     private static final String TIME_BETWEEN_SIZE_CHECK = "timeBetweenSizeCheck";
     private static final String UPDATE_FILE_PERMISSION = "updateFilePermission";
+    private static final String COALESCE_APPENDS_PARAM = "coalesceAppends";
+    private static final String COALESCE_MAX_DELAY_PARAM = "coalesceMaxDelay";
+    private static final String COALESCE_MAX_BATCH_SIZE_PARAM = "coalesceMaxBatchSize";
+    private static final String KEEP_APPENDER_OPEN_PARAM = "keepAppenderOpen";
+    private static final String APPENDER_FLUSH_SIZE_PARAM = "appenderFlushSize";
+    private static final String APPENDER_FLUSH_INTERVAL_PARAM = "appenderFlushInterval";
+    private static final String APPENDER_IDLE_TIMEOUT_PARAM = "appenderIdleTimeout";
+    private static final String APPENDER_SYNC_PARAM = "appenderSync";
+    private static final String DURABILITY_PARAM = "durability";
+    private static final String ENABLE_ROLLING_PARAM = "enableRolling";
+    private static final String ROLL_OVER_SIZE_PARAM = "rollOverSize";
+    private static final String ROLL_OVER_AGE_PARAM = "rollOverAge";
+    private static final String COMPRESS_ROLLED_FILES_PARAM = "compressRolledFiles";
+    private static final String SEGMENTED_UPLOAD_PARAM = "segmentedUpload";
+    private static final String UPLOAD_SEGMENTS_PARAM = "uploadSegments";
+    private static final String SEGMENTED_UPLOAD_THRESHOLD_PARAM = "segmentedUploadThreshold";
+    private static final String CHECK_FREE_SPACE_PARAM = "checkFreeSpace";
+    private static final String EXPECTED_SIZE_PARAM = "expectedSize";
     private static final String OPERATION_NAME = "write";
     private static final String ERROR_MESSAGE = "Error while performing file:write for file ";
+    private static final int APPEND_BUFFER_SIZE = 8192;
 
     @Override
     public void execute(MessageContext messageContext, String responseVariable, Boolean overwriteBody)
@@ -149,7 +183,7 @@ public class WriteFile extends AbstractConnectorOperation {
 
                 // Check file stability if timeBetweenSizeCheck is provided and file exists
                 if (StringUtils.isNotEmpty(config.timeBetweenSizeCheck) && targetFile.exists() && 
-                    !isFileStable(targetFile, config.timeBetweenSizeCheck)) {
+                    !FileStabilityTracker.isStable(connectionName, targetFile, config.timeBetweenSizeCheck)) {
                     throw new FileOperationException("File is not stable (still being written). Cannot write at this time: " + targetFilePath);
                 }
 
@@ -167,12 +201,14 @@ public class WriteFile extends AbstractConnectorOperation {
                 byteCountWritten = (int) writeToFile(targetFile, messageContext, config, fileSystemHandlerConnection);
                 
                 // Update last modified time if requested
-                if (!targetFile.getURL().toString().startsWith(Const.FTP_PROTOCOL_PREFIX) && config.updateLastModified) {
+                // Segments of rolling files are modified by the append itself
+                if (config.rollingPolicy == null && config.updateLastModified
+                        && !targetFile.getURL().toString().startsWith(Const.FTP_PROTOCOL_PREFIX)) {
                     targetFile.getContent().setLastModifiedTime(System.currentTimeMillis());
                 }
                 
                 // Update file permissions if requested
-                if (StringUtils.isNotEmpty(config.updateFilePermission)) {
+                if (config.rollingPolicy == null && StringUtils.isNotEmpty(config.updateFilePermission)) {
                     updateFilePermissions(targetFile, config.updateFilePermission);
                 }
                 result = new FileOperationResult(
@@ -277,6 +313,74 @@ public class WriteFile extends AbstractConnectorOperation {
         config.appendPosition = Integer.parseInt(appendPosition);
         config.timeBetweenSizeCheck = Utils.lookUpStringParam(msgCtx, TIME_BETWEEN_SIZE_CHECK, Const.EMPTY_STRING);
         config.updateFilePermission = Utils.lookUpStringParam(msgCtx, UPDATE_FILE_PERMISSION, Const.EMPTY_STRING);
+        config.coalesceAppends = Utils.lookUpBooleanParam(msgCtx, COALESCE_APPENDS_PARAM, false);
+        config.coalesceMaxDelay = Long.parseLong(Utils.lookUpStringParam(msgCtx, COALESCE_MAX_DELAY_PARAM, "10"));
+        config.coalesceMaxBatchSize = Integer.parseInt(Utils.lookUpStringParam(msgCtx,
+                COALESCE_MAX_BATCH_SIZE_PARAM, "100"));
+        if (config.coalesceMaxDelay < 0) {
+            throw new InvalidConfigurationException("Parameter '"
+                    + COALESCE_MAX_DELAY_PARAM + "' should not be negative");
+        }
+        if (config.coalesceMaxBatchSize < 1) {
+            throw new InvalidConfigurationException("Parameter '"
+                    + COALESCE_MAX_BATCH_SIZE_PARAM + "' should be positive");
+        }
+        config.durability = WriteDurability.fromString(Utils.lookUpStringParam(msgCtx, DURABILITY_PARAM,
+                WriteDurability.NO_SYNC.getLevel()));
+        if (config.durability == null) {
+            throw new InvalidConfigurationException("Invalid value for parameter '" + DURABILITY_PARAM + "'");
+        }
+        config.keepAppenderOpen = Utils.lookUpBooleanParam(msgCtx, KEEP_APPENDER_OPEN_PARAM, false);
+        if (config.keepAppenderOpen) {
+            long flushSize = Long.parseLong(Utils.lookUpStringParam(msgCtx, APPENDER_FLUSH_SIZE_PARAM, "8192"));
+            long flushInterval = Long.parseLong(Utils.lookUpStringParam(msgCtx,
+                    APPENDER_FLUSH_INTERVAL_PARAM, "1000"));
+            long idleTimeout = Long.parseLong(Utils.lookUpStringParam(msgCtx,
+                    APPENDER_IDLE_TIMEOUT_PARAM, "60000"));
+            if (flushSize < 0 || flushInterval < 0 || idleTimeout < 0) {
+                throw new InvalidConfigurationException("Parameters '" + APPENDER_FLUSH_SIZE_PARAM + "', '"
+                        + APPENDER_FLUSH_INTERVAL_PARAM + "' and '" + APPENDER_IDLE_TIMEOUT_PARAM
+                        + "' should not be negative");
+            }
+            config.appenderPolicy = new AppenderPolicy(flushSize, flushInterval, idleTimeout,
+                    Utils.lookUpBooleanParam(msgCtx, APPENDER_SYNC_PARAM, false));
+        }
+
+        if (config.writeMode == FileWriteMode.APPEND
+                && Utils.lookUpBooleanParam(msgCtx, ENABLE_ROLLING_PARAM, false)) {
+            long rollOverSize = Long.parseLong(Utils.lookUpStringParam(msgCtx, ROLL_OVER_SIZE_PARAM, "0"));
+            long rollOverAge = Long.parseLong(Utils.lookUpStringParam(msgCtx, ROLL_OVER_AGE_PARAM, "0"));
+            if (rollOverSize < 0 || rollOverAge < 0) {
+                throw new InvalidConfigurationException("Parameters '" + ROLL_OVER_SIZE_PARAM + "' and '"
+                        + ROLL_OVER_AGE_PARAM + "' should not be negative");
+            }
+            if (rollOverSize == 0 && rollOverAge == 0) {
+                throw new InvalidConfigurationException("Parameter '" + ROLL_OVER_SIZE_PARAM + "' or '"
+                        + ROLL_OVER_AGE_PARAM + "' is required when rolling is enabled");
+            }
+            config.rollingPolicy = new RollingPolicy(rollOverSize, rollOverAge,
+                    Utils.lookUpBooleanParam(msgCtx, COMPRESS_ROLLED_FILES_PARAM, false));
+        }
+
+        config.segmentedUpload = Utils.lookUpBooleanParam(msgCtx, SEGMENTED_UPLOAD_PARAM, false);
+        if (config.segmentedUpload) {
+            config.uploadSegments = Integer.parseInt(Utils.lookUpStringParam(msgCtx, UPLOAD_SEGMENTS_PARAM, "4"));
+            config.segmentedUploadThreshold = Long.parseLong(Utils.lookUpStringParam(msgCtx,
+                    SEGMENTED_UPLOAD_THRESHOLD_PARAM, "67108864"));
+            if (config.uploadSegments < 1 || config.uploadSegments > SegmentedUploader.MAX_SEGMENTS) {
+                throw new InvalidConfigurationException("Parameter '" + UPLOAD_SEGMENTS_PARAM
+                        + "' should be between 1 and " + SegmentedUploader.MAX_SEGMENTS);
+            }
+            if (config.segmentedUploadThreshold < 0) {
+                throw new InvalidConfigurationException("Parameter '" + SEGMENTED_UPLOAD_THRESHOLD_PARAM
+                        + "' should not be negative");
+            }
+        }
+
+        config.checkFreeSpace = Utils.lookUpBooleanParam(msgCtx, CHECK_FREE_SPACE_PARAM, false);
+        if (config.checkFreeSpace) {
+            config.expectedSize = Long.parseLong(Utils.lookUpStringParam(msgCtx, EXPECTED_SIZE_PARAM, "-1"));
+        }
 
         config.fileNameWithExtension = config.targetFilePath.
                 substring(config.targetFilePath.lastIndexOf(Const.FILE_SEPARATOR) + 1);
@@ -300,36 +404,18 @@ public class WriteFile extends AbstractConnectorOperation {
         boolean updateLastModified = true;
         String timeBetweenSizeCheck;
         String updateFilePermission;
-    }
-
-    /**
-     * Checks if a file is stable by comparing its size over time.
-     *
-     * @param file The file to check for stability
-     * @param sizeCheckInterval Time to wait between size checks in milliseconds
-     * @return true if file size is stable, false otherwise
-     */
-    private boolean isFileStable(FileObject file, String sizeCheckInterval) {
-        try {
-            long interval = Long.parseLong(sizeCheckInterval);
-            if (interval <= 0) {
-                return true; // No stability check if interval is 0 or negative
-            }
-            
-            long initialSize = file.getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(interval);
-            
-            // Refresh and check size again
-            file.refresh();
-            long finalSize = file.getContent().getSize();
-            
-            return initialSize == finalSize;
-        } catch (Exception e) {
-            log.warn("Error checking file stability for " + file + ": " + e.getMessage());
-            return true; // Assume stable if we can't check
-        }
+        boolean coalesceAppends = false;
+        long coalesceMaxDelay;
+        int coalesceMaxBatchSize;
+        boolean keepAppenderOpen = false;
+        AppenderPolicy appenderPolicy;
+        WriteDurability durability = WriteDurability.NO_SYNC;
+        RollingPolicy rollingPolicy;
+        boolean segmentedUpload = false;
+        int uploadSegments;
+        long segmentedUploadThreshold;
+        boolean checkFreeSpace = false;
+        long expectedSize = -1;
     }
 
     /**
@@ -426,7 +512,7 @@ public class WriteFile extends AbstractConnectorOperation {
 
         //TODO: how to write an attachment to a file?
 
-        if (config.enableStreaming) {
+        if (config.enableStreaming || config.rollingPolicy != null) {
             config.appendPosition = Integer.MAX_VALUE;
             config.appendNewLine = false;
         }
@@ -439,32 +525,26 @@ public class WriteFile extends AbstractConnectorOperation {
             }
         }
 
+        // Content buffered in a handle kept open must be in the file before it is written otherwise
+        if (!isAppenderKeptOpen(targetFile, config, contentToWriteIsProvided)) {
+            AppenderPool.release(targetFile);
+        }
+
         switch (config.writeMode) {
             case CREATE_NEW:
                 if (targetFile.exists()) {
                     throw new FileOperationException("Target file already exists. Path = "
                             + targetFile.getURL());
                 } else {
-                    try (FileObject tempFile = targetFile.getParent().resolveFile(
-                            targetFile.getName().getBaseName() + ".tmp")) {
-
-                        // Create a temporary file with .tmp extension
-                        tempFile.createFile();
-
-                        // Write content to the temporary file based on a condition
-                        if (contentToWriteIsProvided) {
-                            writtenBytesCount = performContentWrite(tempFile, config);
-                        } else {
-                            writtenBytesCount = performBodyWrite(tempFile, msgCtx, false, config);
-                        }
-
-                        // Rename temporary file to original file
-                        tempFile.moveTo(targetFile);
-
-                    }
+                    writtenBytesCount = writeThroughTempFile(targetFile, msgCtx, config, contentToWriteIsProvided);
                 }
                 break;
             case OVERWRITE:
+                // Synced overwrites replace the file atomically so that it is never seen partially written
+                if (Utils.isSyncApplicable(targetFile, config.durability)) {
+                    writtenBytesCount = writeThroughTempFile(targetFile, msgCtx, config, contentToWriteIsProvided);
+                    break;
+                }
                 targetFile.createFile();
                 if (contentToWriteIsProvided) {
                     writtenBytesCount = performContentWrite(targetFile, config);
@@ -476,13 +556,22 @@ public class WriteFile extends AbstractConnectorOperation {
                 if (config.appendPosition <= 0) {
                     throw new FileOperationException("Invalid file append position. Expecting a positive value");
                 }
-                if (!targetFile.exists()) {
+                if (config.rollingPolicy != null) {
+                    // Rolling files are written to numbered segments which are created as needed
+                    boolean contentProvided = contentToWriteIsProvided;
+                    writtenBytesCount = RollingFileWriter.append(targetFile, config.rollingPolicy,
+                            segment -> appendToSegment(segment, msgCtx, config, contentProvided,
+                                    fileSystemHandlerConnection));
+                } else if (!targetFile.exists()) {
                     throw new IllegalPathException("File to append is not found: " + targetFile.getURL());
                 } else {
                     if (contentToWriteIsProvided) {
-                        writtenBytesCount = performContentAppend(targetFile, config);
+                        writtenBytesCount = performContentAppend(targetFile, config, fileSystemHandlerConnection);
                     } else {
                         writtenBytesCount = performBodyWrite(targetFile, msgCtx, true, config);
+                        if (Utils.isSyncApplicable(targetFile, config.durability)) {
+                            Utils.syncLocalFile(targetFile, config.durability);
+                        }
                     }
                 }
                 break;
@@ -494,15 +583,107 @@ public class WriteFile extends AbstractConnectorOperation {
         return writtenBytesCount;
     }
 
+    /**
+     * Append to the current segment of a rolling file.
+     *
+     * @param segment                     Segment to append to
+     * @param msgCtx                      MessageContext
+     * @param config                      Input configs
+     * @param contentToWriteIsProvided    Whether static content is written instead of the message body
+     * @param fileSystemHandlerConnection File system handler of the connection
+     * @return Number of bytes appended
+     * @throws IOException            In case of I/O error
+     * @throws FileOperationException In case of any application error
+     */
+    private long appendToSegment(FileObject segment, MessageContext msgCtx, Config config,
+                                 boolean contentToWriteIsProvided, FileSystemHandler fileSystemHandlerConnection)
+            throws IOException, FileOperationException {
+
+        long writtenBytesCount;
+        if (contentToWriteIsProvided) {
+            writtenBytesCount = performContentAppend(segment, config, fileSystemHandlerConnection);
+        } else {
+            writtenBytesCount = performBodyWrite(segment, msgCtx, true, config);
+            if (Utils.isSyncApplicable(segment, config.durability)) {
+                Utils.syncLocalFile(segment, config.durability);
+            }
+        }
+        if (StringUtils.isNotEmpty(config.updateFilePermission)) {
+            updateFilePermissions(segment, config.updateFilePermission);
+        }
+        return writtenBytesCount;
+    }
+
+    /**
+     * Write the content to a temporary file of the same folder and rename it to the
+     * target file. Local files are synced and replaced atomically if the durability
+     * level requires syncing.
+     *
+     * @param targetFile               File to write to
+     * @param msgCtx                   MessageContext to read configs from
+     * @param config                   Input configs
+     * @param contentToWriteIsProvided Whether static content is written instead of the message
+     * @return Bytes written to file
+     * @throws IOException            In case of I/O error
+     * @throws FileOperationException In case of any application error
+     */
+    private long writeThroughTempFile(FileObject targetFile, MessageContext msgCtx, Config config,
+                                      boolean contentToWriteIsProvided) throws IOException, FileOperationException {
+        long writtenBytesCount;
+        // A name of its own, so that concurrent writes to the file do not share the temporary file
+        try (FileObject tempFile = targetFile.getParent().resolveFile(
+                targetFile.getName().getBaseName() + "." + UUID.randomUUID() + ".tmp")) {
+            boolean replaced = false;
+            try {
+                // Create a temporary file with .tmp extension
+                tempFile.createFile();
+
+                // Write content to the temporary file based on a condition
+                if (contentToWriteIsProvided) {
+                    writtenBytesCount = performContentWrite(tempFile, config);
+                } else {
+                    writtenBytesCount = performBodyWrite(tempFile, msgCtx, false, config);
+                }
+
+                // Rename temporary file to original file
+                if (Utils.isSyncApplicable(targetFile, config.durability)) {
+                    Utils.replaceLocalFile(tempFile, targetFile, config.durability);
+                } else {
+                    tempFile.moveTo(targetFile);
+                }
+                replaced = true;
+            } finally {
+                if (!replaced) {
+                    deleteTempFile(tempFile);
+                }
+            }
+        }
+        return writtenBytesCount;
+    }
+
     /**
      * Execute writing static of evaluated content.
      *
      * @param targetFile File to write to
      * @param config     Input configs
      * @return Bytes written to file
-     * @throws IOException In case of I/O error
+     * @throws IOException            In case of I/O error
+     * @throws FileOperationException If there is not enough space for the content
      */
-    private long performContentWrite(FileObject targetFile, Config config) throws IOException {
+    private long performContentWrite(FileObject targetFile, Config config)
+            throws IOException, FileOperationException {
+        byte[] content;
+        if (Objects.equals(config.mimeType, Const.CONTENT_TYPE_BINARY)) {
+            // Write binary content decoded from a base64 string
+            content = Base64.getDecoder().decode(config.contentToWrite);
+        } else if (StringUtils.isNotEmpty(config.encoding)) {
+            content = config.contentToWrite.getBytes(config.encoding);
+        } else {
+            content = config.contentToWrite.getBytes(Const.DEFAULT_ENCODING);
+        }
+        if (config.checkFreeSpace && !config.compress && FreeSpaceChecker.isSupported(targetFile)) {
+            FreeSpaceChecker.checkSpace(targetFile, content.length);
+        }
         CountingOutputStream out = null;
         try {
             if (config.compress) {
@@ -513,15 +694,7 @@ public class WriteFile extends AbstractConnectorOperation {
             } else {
                 out = new CountingOutputStream(targetFile.getContent().getOutputStream());
             }
-            if (Objects.equals(config.mimeType, Const.CONTENT_TYPE_BINARY)) {
-                // Write binary content decoded from a base64 string
-                byte[] decoded = Base64.getDecoder().decode(config.contentToWrite);
-                out.write(decoded);
-            } else if (StringUtils.isNotEmpty(config.encoding)) {
-                IOUtils.write(config.contentToWrite, out, config.encoding);
-            } else {
-                IOUtils.write(config.contentToWrite, out, Const.DEFAULT_ENCODING);
-            }
+            out.write(content);
             return out.getByteCount();
         } finally {
             try {
@@ -562,58 +735,125 @@ public class WriteFile extends AbstractConnectorOperation {
 
 
     /**
-     * Append static content to a file.
+     * Append static content to a file. Content appended at the end of the file is
+     * written through a handle kept open or together with concurrent appends to the
+     * same file, if configured and the file is not locked, otherwise through an
+     * appending output stream. Content inserted at the end of
+     * an earlier line is written while streaming the file into a temporary file,
+     * which then replaces the file. Lines are detected on the raw bytes (LF, CR LF
+     * and CR terminate a line), hence only a buffer of the file is held in memory.
      *
-     * @param targetFile File to append to
-     * @param config     Input configs
+     * @param targetFile                  File to append to
+     * @param config                      Input configs
+     * @param fileSystemHandlerConnection Connection the file is resolved through
      * @return Number of bytes written
      * @throws IOException In case of I/O error
      */
-    private long performContentAppend(FileObject targetFile, Config config) throws IOException {
-        BufferedReader reader = null;
-        CountingOutputStream out = null;
-        try {
-            reader = new BufferedReader(new InputStreamReader(targetFile.getContent().getInputStream()));
-            List<String> lines = reader.lines().collect(Collectors.toList());
-            if (config.appendPosition <= lines.size()) {
-                String contentToWrite = lines.get(config.appendPosition - 1) + config.contentToWrite;
-                lines.set(config.appendPosition - 1, contentToWrite);
-            } else {
-                if (config.appendPosition != Integer.MAX_VALUE) {
-                    log.warn("FileConnector:write - Append position is greater than the existing line count of file "
-                            + targetFile.getName().getBaseName()
-                            + ". Hence appending the content at EOF.");
-                }
-                if (lines.size() > 0) {
-                    String contentToWrite = lines.get(lines.size() - 1) + config.contentToWrite;
-                    lines.set(lines.size() - 1, contentToWrite);
-                } else {
-                    // handle empty files
-                    lines.add(config.contentToWrite);
-                }
+    private long performContentAppend(FileObject targetFile, Config config,
+                                      FileSystemHandler fileSystemHandlerConnection) throws IOException {
+        String encoding = StringUtils.isNotEmpty(config.encoding) ? config.encoding : Const.DEFAULT_ENCODING;
+        byte[] content = config.contentToWrite.getBytes(encoding);
+        if (isAppenderKeptOpen(targetFile, config, true)) {
+            return AppenderPool.append(fileSystemHandlerConnection, targetFile, content, config.appenderPolicy);
+        }
+        if (config.appendPosition == Integer.MAX_VALUE) {
+            if (config.coalesceAppends && !config.enableLocking) {
+                return AppendCoalescer.append(targetFile, content, config.coalesceMaxDelay,
+                        config.coalesceMaxBatchSize, config.durability);
+            }
+            try (OutputStream out = targetFile.getContent().getOutputStream(true)) {
+                out.write(content);
+            }
+            if (Utils.isSyncApplicable(targetFile, config.durability)) {
+                Utils.syncLocalFile(targetFile, config.durability);
             }
+            return content.length;
+        }
 
-            out = new CountingOutputStream(targetFile.getContent().getOutputStream());
-            IOUtils.writeLines(lines, null, out, config.encoding);
-            return out.getByteCount();
-        } finally {
+        // A name of its own, so that concurrent writes to the file do not share the temporary file
+        try (FileObject tempFile = targetFile.getParent().resolveFile(
+                targetFile.getName().getBaseName() + "." + UUID.randomUUID() + ".tmp")) {
+            boolean replaced = false;
             try {
-                if (reader != null) {
-                    reader.close();
+                try (InputStream in = targetFile.getContent().getInputStream();
+                     OutputStream out = new BufferedOutputStream(tempFile.getContent().getOutputStream())) {
+                    byte[] buffer = new byte[APPEND_BUFFER_SIZE];
+                    long currentLine = 1;
+                    int previous = -1;
+                    boolean inserted = false;
+                    int read;
+                    while (!inserted && (read = in.read(buffer)) != -1) {
+                        int insertAt = -1;
+                        for (int i = 0; i < read && insertAt == -1; i++) {
+                            byte current = buffer[i];
+                            boolean lineEnds = current == '\r' || (current == '\n' && previous != '\r');
+                            previous = current;
+                            if (lineEnds && currentLine++ == config.appendPosition) {
+                                insertAt = i;
+                            }
+                        }
+                        if (insertAt == -1) {
+                            out.write(buffer, 0, read);
+                        } else {
+                            out.write(buffer, 0, insertAt);
+                            out.write(content);
+                            out.write(buffer, insertAt, read - insertAt);
+                            IOUtils.copyLarge(in, out, buffer);
+                            inserted = true;
+                        }
+                    }
+                    if (!inserted) {
+                        long lineCount = previous == -1 || previous == '\n' || previous == '\r'
+                                ? currentLine - 1 : currentLine;
+                        if (config.appendPosition > lineCount) {
+                            log.warn("FileConnector:write - Append position is greater than the existing line count "
+                                    + "of file " + targetFile.getName().getBaseName()
+                                    + ". Hence appending the content at EOF.");
+                        }
+                        out.write(content);
+                    }
                 }
-            } catch (IOException e) {
-                log.error("FileConnector:write - Error while closing BufferedReader for file: "
-                        + targetFile.getName().getBaseName(), e);
-            }
-            try {
-                if (out != null) {
-                    out.close();
+                if (Utils.isSyncApplicable(targetFile, config.durability)) {
+                    Utils.replaceLocalFile(tempFile, targetFile, config.durability);
+                } else {
+                    tempFile.moveTo(targetFile);
+                }
+                replaced = true;
+            } finally {
+                if (!replaced) {
+                    deleteTempFile(tempFile);
                 }
-            } catch (IOException e) {
-                log.error("FileConnector:write - Error while closing OutputStream: for file "
-                        + targetFile.getName().getBaseName(), e);
             }
         }
+        return content.length;
+    }
+
+    /**
+     * Delete a temporary file left by a failed write, logging a failure to delete it.
+     *
+     * @param tempFile Temporary file to delete
+     */
+    private void deleteTempFile(FileObject tempFile) {
+        try {
+            tempFile.delete();
+        } catch (FileSystemException e) {
+            log.warn("Error while deleting temporary file " + tempFile.getName().getBaseName(), e);
+        }
+    }
+
+    /**
+     * Check whether content is appended to the end of the file through a handle kept open.
+     *
+     * @param targetFile               File to write to
+     * @param config                   Input configs
+     * @param contentToWriteIsProvided Whether static content is written
+     * @return True if the handle of the file is kept open
+     */
+    private boolean isAppenderKeptOpen(FileObject targetFile, Config config, boolean contentToWriteIsProvided) {
+        return config.keepAppenderOpen && !config.enableLocking && config.durability == WriteDurability.NO_SYNC
+                && contentToWriteIsProvided
+                && config.writeMode == FileWriteMode.APPEND && config.appendPosition == Integer.MAX_VALUE
+                && AppenderPool.isSupported(targetFile);
     }
 
     /**
@@ -649,9 +889,18 @@ public class WriteFile extends AbstractConnectorOperation {
         if (Objects.isNull(messageFormatter)) {
             throw new FileOperationException("Error while determining message "
                     + "formatter to use when writing file" + targetFile.getName().getBaseName());
+        } else if (!append && !config.compress && config.segmentedUpload
+                && SegmentedUploader.isSupported(targetFile)) {
+            long writtenByesCount = performSegmentedBodyWrite(targetFile, axis2MessageContext,
+                    messageFormatter, format, config);
+            if (config.appendNewLine) {
+                writtenByesCount = writtenByesCount + appendNewLine(targetFile);
+            }
+            return writtenByesCount;
         } else {
             CountingOutputStream outputStream = null;
             long writtenByesCount = 0;
+            long expectedSize = append ? -1 : getExpectedSize(targetFile, axis2MessageContext, config);
             try {
                 if (config.compress) {
                     ZipOutputStream zipOutputStream = new ZipOutputStream(targetFile.getContent().
@@ -660,6 +909,9 @@ public class WriteFile extends AbstractConnectorOperation {
                     zipOutputStream.putNextEntry(zipEntry);
                     outputStream = new CountingOutputStream(zipOutputStream);
                 } else {
+                    if (expectedSize > 0) {
+                        FreeSpaceChecker.checkSpace(targetFile, expectedSize);
+                    }
                     outputStream = new CountingOutputStream(targetFile.getContent().getOutputStream(append));
                 }
                 messageFormatter.writeTo(axis2MessageContext, format, outputStream, true);
@@ -681,6 +933,76 @@ public class WriteFile extends AbstractConnectorOperation {
         }
     }
 
+    /**
+     * Get the expected size of the serialized message to check the free space for.
+     * The size is taken from the configuration or from the size of a streamed binary
+     * payload, which is written as is. The Content-Length of the incoming message is
+     * not used, as the serialized message may differ in size from it.
+     *
+     * @param targetFile          File to write to
+     * @param axis2MessageContext Axis2 MessageContext holding the message
+     * @param config              Input configs
+     * @return Expected number of bytes, -1 if unknown or if the free space is not checked
+     */
+    private long getExpectedSize(FileObject targetFile, org.apache.axis2.context.MessageContext axis2MessageContext,
+                                 Config config) {
+
+        if (!config.checkFreeSpace || config.compress || !FreeSpaceChecker.isSupported(targetFile)) {
+            return -1;
+        }
+        if (config.expectedSize > 0) {
+            return config.expectedSize;
+        }
+        OMElement firstChild = axis2MessageContext.getEnvelope().getBody().getFirstElement();
+        if (firstChild != null && BaseConstants.DEFAULT_BINARY_WRAPPER.equals(firstChild.getQName())
+                && firstChild.getFirstOMChild() instanceof OMText) {
+            Object dataHandler = ((OMText) firstChild.getFirstOMChild()).getDataHandler();
+            if (dataHandler instanceof DataHandler
+                    && ((DataHandler) dataHandler).getDataSource() instanceof SizeAwareDataSource) {
+                return ((SizeAwareDataSource) ((DataHandler) dataHandler).getDataSource()).getSize();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Spool the message to a local temporary file and upload it to the target file. Messages
+     * larger than the threshold are uploaded in segments written concurrently.
+     *
+     * @param targetFile          File to write to
+     * @param axis2MessageContext Axis2 MessageContext holding the message
+     * @param messageFormatter    Formatter to serialize the message with
+     * @param format              Output format of the message
+     * @param config              Input configs
+     * @return Number of bytes written
+     * @throws IOException In case of I/O error
+     */
+    private long performSegmentedBodyWrite(FileObject targetFile,
+                                           org.apache.axis2.context.MessageContext axis2MessageContext,
+                                           MessageFormatter messageFormatter, OMOutputFormat format, Config config)
+            throws IOException {
+
+        File spoolFile = File.createTempFile("file-connector-upload", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(spoolFile))) {
+                messageFormatter.writeTo(axis2MessageContext, format, out, true);
+            }
+            long size = spoolFile.length();
+            if (size >= config.segmentedUploadThreshold && config.uploadSegments > 1) {
+                SegmentedUploader.upload(spoolFile, targetFile, config.uploadSegments);
+            } else {
+                try (InputStream in = new FileInputStream(spoolFile);
+                     OutputStream out = targetFile.getContent().getOutputStream()) {
+                    IOUtils.copyLarge(in, out);
+                }
+            }
+            return size;
+        } finally {
+            if (!spoolFile.delete()) {
+                log.warn("Could not delete temporary file " + spoolFile.getAbsolutePath());
+            }
+        }
+    }
 
     /**
      * Get the correct formatter for message.
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+/**
+ * Flush and idle policy of an output handle kept open to append to a file.
+ */
+public class AppenderPolicy {
+
+    private final long flushSize;
+    private final long flushInterval;
+    private final long idleTimeout;
+    private final boolean sync;
+
+    /**
+     * Create a policy.
+     *
+     * @param flushSize     Number of unflushed bytes after which the handle is flushed, 0 flushes every write
+     * @param flushInterval Time in milliseconds after which unflushed content is flushed
+     * @param idleTimeout   Time in milliseconds after which a handle without writes is closed
+     * @param sync          Whether to sync the content to the storage device when flushing
+     */
+    public AppenderPolicy(long flushSize, long flushInterval, long idleTimeout, boolean sync) {
+        this.flushSize = flushSize;
+        this.flushInterval = flushInterval;
+        this.idleTimeout = idleTimeout;
+        this.sync = sync;
+    }
+
+    public long getFlushSize() {
+        return flushSize;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public boolean isSync() {
+        return sync;
+    }
+}
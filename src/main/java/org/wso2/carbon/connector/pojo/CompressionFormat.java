@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+/**
+ * Compression formats of files decompressed while reading
+ */
+public enum CompressionFormat {
+
+    NONE(CompressionFormat.NONE_STR),
+    AUTO(CompressionFormat.AUTO_STR),
+    GZIP(CompressionFormat.GZIP_STR),
+    ZIP(CompressionFormat.ZIP_STR);
+
+    private final String format;
+
+    private static final String NONE_STR = "None";
+    private static final String AUTO_STR = "Auto";
+    private static final String GZIP_STR = "GZIP";
+    private static final String ZIP_STR = "ZIP";
+
+    CompressionFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * Get CompressionFormat from String value.
+     *
+     * @param text CompressionFormat as String
+     * @return CompressionFormat
+     */
+    public static CompressionFormat fromString(String text) {
+        for (CompressionFormat b : CompressionFormat.values()) {
+            if (b.getFormat().equalsIgnoreCase(text)) {
+                return b;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get compression format as a string
+     *
+     * @return String
+     */
+    public String getFormat() {
+        return this.format;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+import org.wso2.carbon.connector.exception.InvalidConfigurationException;
+
+/**
+ * Fingerprint identifying a version of a file. It holds the size and the last
+ * modified time of the file and optionally a hash of its content. It is handed
+ * out as an opaque token so that a later read can skip content that has not
+ * changed.
+ */
+public class FileFingerprint {
+
+    private final long size;
+    private final long lastModifiedTime;
+    private final String contentHash;
+
+    public FileFingerprint(long size, long lastModifiedTime, String contentHash) {
+        this.size = size;
+        this.lastModifiedTime = lastModifiedTime;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Parse a fingerprint token.
+     *
+     * @param token Fingerprint token returned by a previous read
+     * @return Fingerprint held by the token
+     * @throws InvalidConfigurationException If the token is malformed
+     */
+    public static FileFingerprint fromToken(String token) throws InvalidConfigurationException {
+        String[] fields = TokenCodec.decode(token, 2, 3);
+        if (fields != null) {
+            try {
+                long size = Long.parseLong(fields[0]);
+                if (size >= 0) {
+                    return new FileFingerprint(size, Long.parseLong(fields[1]), fields.length == 3 ? fields[2] : null);
+                }
+            } catch (NumberFormatException e) {
+                // Reported as an invalid fingerprint below
+            }
+        }
+        throw new InvalidConfigurationException("Invalid fingerprint " + token);
+    }
+
+    /**
+     * Get the opaque token representation of the fingerprint.
+     *
+     * @return Fingerprint token
+     */
+    public String toToken() {
+        if (contentHash != null) {
+            return TokenCodec.encode(size, lastModifiedTime, contentHash);
+        }
+        return TokenCodec.encode(size, lastModifiedTime);
+    }
+
+    /**
+     * Check whether the file has the same size and last modified time as
+     * when this fingerprint was taken.
+     *
+     * @param currentSize             Current size of the file
+     * @param currentLastModifiedTime Current last modified time of the file
+     * @return True if the size and the last modified time are unchanged
+     */
+    public boolean matches(long currentSize, long currentLastModifiedTime) {
+        return size == currentSize && lastModifiedTime == currentLastModifiedTime;
+    }
+
+    /**
+     * Check whether another fingerprint identifies the same content. Fingerprints
+     * match if the size and the last modified time are the same, or if the size
+     * and the content hash are the same when both have a hash.
+     *
+     * @param other Fingerprint to compare with
+     * @return True if the content is unchanged
+     */
+    public boolean matches(FileFingerprint other) {
+        if (matches(other.size, other.lastModifiedTime)) {
+            return true;
+        }
+        return size == other.size && contentHash != null && contentHash.equals(other.contentHash);
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+/**
+ * Size, last modified time and detected content type of a file, collected together.
+ */
+public class FileMetadata {
+
+    private final long size;
+    private final long lastModifiedTime;
+    private final String contentType;
+    private final long collectedTime;
+
+    public FileMetadata(long size, long lastModifiedTime, String contentType, long collectedTime) {
+        this.size = size;
+        this.lastModifiedTime = lastModifiedTime;
+        this.contentType = contentType;
+        this.collectedTime = collectedTime;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModifiedTime() {
+        return lastModifiedTime;
+    }
+
+    /**
+     * Get the content type detected for the file.
+     *
+     * @return Content type or null if it could not be detected
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getCollectedTime() {
+        return collectedTime;
+    }
+}
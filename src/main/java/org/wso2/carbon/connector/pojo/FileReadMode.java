@@ -28,7 +28,11 @@ public enum FileReadMode {
     UP_TO_LINE(FileReadMode.UP_TO_LINE_STR),
     BETWEEN_LINES(FileReadMode.BETWEEN_LINES_STR),
     SPECIFIC_LINE(FileReadMode.SPECIFIC_LINE_STR),
-    METADATA_ONLY(FileReadMode.METADATA_ONLY_STR);
+    METADATA_ONLY(FileReadMode.METADATA_ONLY_STR),
+    BYTE_RANGE(FileReadMode.BYTE_RANGE_STR),
+    LAST_N_LINES(FileReadMode.LAST_N_LINES_STR),
+    PAGINATED(FileReadMode.PAGINATED_STR),
+    RECORD_BATCH(FileReadMode.RECORD_BATCH_STR);
 
     private final String mode;
 
@@ -38,6 +42,10 @@ public enum FileReadMode {
     private static final String BETWEEN_LINES_STR = "Between Lines";
     private static final String SPECIFIC_LINE_STR = "Specific Line";
     private static final String METADATA_ONLY_STR = "Metadata Only";
+    private static final String BYTE_RANGE_STR = "Byte Range";
+    private static final String LAST_N_LINES_STR = "Last N Lines";
+    private static final String PAGINATED_STR = "Paginated";
+    private static final String RECORD_BATCH_STR = "Record Batch";
 
     FileReadMode(String mode) {
         this.mode = mode;
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+/**
+ * Policies to select files to read from a folder
+ */
+public enum FileSelectionPolicy {
+
+    FIRST_MATCH(FileSelectionPolicy.FIRST_MATCH_STR),
+    OLDEST_FIRST(FileSelectionPolicy.OLDEST_FIRST_STR),
+    NEWEST_FIRST(FileSelectionPolicy.NEWEST_FIRST_STR);
+
+    private final String policy;
+
+    private static final String FIRST_MATCH_STR = "First Match";
+    private static final String OLDEST_FIRST_STR = "Oldest First";
+    private static final String NEWEST_FIRST_STR = "Newest First";
+
+    FileSelectionPolicy(String policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Get FileSelectionPolicy from String value.
+     *
+     * @param text FileSelectionPolicy as String
+     * @return FileSelectionPolicy
+     */
+    public static FileSelectionPolicy fromString(String text) {
+        for (FileSelectionPolicy b : FileSelectionPolicy.values()) {
+            if (b.getPolicy().equalsIgnoreCase(text)) {
+                return b;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get file selection policy as a string
+     *
+     * @return String
+     */
+    public String getPolicy() {
+        return this.policy;
+    }
+
+}
@@ -25,13 +25,15 @@ public enum FileSplitMode {
 
     CHUNK_SIZE(FileSplitMode.CHUNK_SIZE_STR),
     LINE_COUNT(FileSplitMode.LINE_COUNT_STR),
-    XPATH_EXPRESSION(FileSplitMode.XPATH_EXPRESSION_STR);
+    XPATH_EXPRESSION(FileSplitMode.XPATH_EXPRESSION_STR),
+    STREAMING_XPATH_EXPRESSION(FileSplitMode.STREAMING_XPATH_EXPRESSION_STR);
 
     private final String mode;
 
     private static final String CHUNK_SIZE_STR = "Chunk Size";
     private static final String LINE_COUNT_STR = "Line Count";
     private static final String XPATH_EXPRESSION_STR = "XPATH Expression";
+    private static final String STREAMING_XPATH_EXPRESSION_STR = "Streaming XPATH Expression";
 
     FileSplitMode(String mode) {
         this.mode = mode;
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+import org.wso2.carbon.connector.exception.InvalidConfigurationException;
+
+/**
+ * Position of a paginated read. It is handed out as an opaque continuation token
+ * holding the byte offset of the next page together with the size and the last
+ * modified time of the file, so that a token is not applied to a changed file.
+ */
+public class ReadCursor {
+
+    private final long offset;
+    private final long fileSize;
+    private final long lastModifiedTime;
+
+    public ReadCursor(long offset, long fileSize, long lastModifiedTime) {
+        this.offset = offset;
+        this.fileSize = fileSize;
+        this.lastModifiedTime = lastModifiedTime;
+    }
+
+    /**
+     * Parse a continuation token.
+     *
+     * @param token Continuation token returned by a previous read
+     * @return Cursor held by the token
+     * @throws InvalidConfigurationException If the token is malformed
+     */
+    public static ReadCursor fromToken(String token) throws InvalidConfigurationException {
+        String[] fields = TokenCodec.decode(token, 3, 3);
+        if (fields != null) {
+            try {
+                long offset = Long.parseLong(fields[0]);
+                long fileSize = Long.parseLong(fields[1]);
+                if (offset >= 0 && fileSize >= 0) {
+                    return new ReadCursor(offset, fileSize, Long.parseLong(fields[2]));
+                }
+            } catch (NumberFormatException e) {
+                // Reported as an invalid token below
+            }
+        }
+        throw new InvalidConfigurationException("Invalid continuation token " + token);
+    }
+
+    /**
+     * Get the opaque token representation of the cursor.
+     *
+     * @return Continuation token
+     */
+    public String toToken() {
+        return TokenCodec.encode(offset, fileSize, lastModifiedTime);
+    }
+
+    /**
+     * Check whether the cursor was created for the file in its current state.
+     *
+     * @param currentSize             Current size of the file
+     * @param currentLastModifiedTime Current last modified time of the file
+     * @return True if the file is unchanged
+     */
+    public boolean matches(long currentSize, long currentLastModifiedTime) {
+        return fileSize == currentSize && lastModifiedTime == currentLastModifiedTime;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+}
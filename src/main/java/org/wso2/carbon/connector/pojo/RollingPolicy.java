@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+/**
+ * Thresholds after which appends roll over to a new segment of a rolling file.
+ */
+public class RollingPolicy {
+
+    private final long maxSize;
+    private final long maxAge;
+    private final boolean compressRolledFiles;
+
+    /**
+     * Create a policy.
+     *
+     * @param maxSize             Size in bytes after which a segment is rolled over, 0 for no size limit
+     * @param maxAge              Time in milliseconds after which a segment is rolled over, 0 for no age limit
+     * @param compressRolledFiles Whether to gzip segments once they are rolled over
+     */
+    public RollingPolicy(long maxSize, long maxAge, boolean compressRolledFiles) {
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.compressRolledFiles = compressRolledFiles;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    public boolean isCompressRolledFiles() {
+        return compressRolledFiles;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.connector.pojo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes the fields of opaque tokens handed out by reads, such as continuation
+ * tokens and fingerprints. A token is the URL safe Base64 encoding of a version
+ * followed by the fields, separated by colons.
+ */
+final class TokenCodec {
+
+    private static final String TOKEN_VERSION = "1";
+    private static final String SEPARATOR = ":";
+
+    private TokenCodec() {
+    }
+
+    /**
+     * Encode fields as a token. Fields must not contain the separator.
+     *
+     * @param fields Fields of the token
+     * @return Token
+     */
+    static String encode(Object... fields) {
+        StringBuilder value = new StringBuilder(TOKEN_VERSION);
+        for (Object field : fields) {
+            value.append(SEPARATOR).append(field);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode the fields of a token.
+     *
+     * @param token     Token
+     * @param minFields Minimum number of fields
+     * @param maxFields Maximum number of fields
+     * @return Fields of the token, null if the token is malformed or of another version
+     */
+    static String[] decode(String token, int minFields, int maxFields) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String[] parts = decoded.split(SEPARATOR);
+        int fieldCount = parts.length - 1;
+        if (fieldCount < minFields || fieldCount > maxFields || !TOKEN_VERSION.equals(parts[0])) {
+            return null;
+        }
+        return Arrays.copyOfRange(parts, 1, parts.length);
+    }
+}
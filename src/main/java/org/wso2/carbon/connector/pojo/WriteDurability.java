@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.pojo;
+
+/**
+ * Durability levels of writes to local files.
+ * <ul>
+ * <li>NO_SYNC - content is left to the operating system to write back. Fastest, but
+ * content written shortly before a power loss or OS crash may be lost.</li>
+ * <li>DATA_SYNC - content is forced to the storage device before the write completes
+ * (fdatasync) and new or overwritten files replace the target atomically. Costs a
+ * device flush per write.</li>
+ * <li>FULL_SYNC - like DATA_SYNC but file metadata is forced as well (fsync) and the
+ * parent directory is synced after a replace, so that the rename itself survives a
+ * crash. Costs up to two device flushes per write.</li>
+ * </ul>
+ */
+public enum WriteDurability {
+
+    NO_SYNC(WriteDurability.NO_SYNC_STR),
+    DATA_SYNC(WriteDurability.DATA_SYNC_STR),
+    FULL_SYNC(WriteDurability.FULL_SYNC_STR);
+
+    private final String level;
+
+    private static final String NO_SYNC_STR = "No Sync";
+    private static final String DATA_SYNC_STR = "Data Sync";
+    private static final String FULL_SYNC_STR = "Full Sync";
+
+    WriteDurability(String level) {
+        this.level = level;
+    }
+
+    /**
+     * Get WriteDurability from String value.
+     *
+     * @param text WriteDurability as String
+     * @return WriteDurability
+     */
+    public static WriteDurability fromString(String text) {
+        for (WriteDurability b : WriteDurability.values()) {
+            if (b.getLevel().equalsIgnoreCase(text)) {
+                return b;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get durability level as a string
+     *
+     * @return String
+     */
+    public String getLevel() {
+        return this.level;
+    }
+
+}
@@ -85,18 +85,30 @@ public class AdvancedFileFilter implements FileFilter {
         }
     }
 
+    /**
+     * Check a file name against the include and exclude patterns only.
+     * This does not access the file, hence it can be used to skip files
+     * before resolving them.
+     *
+     * @param fileName Base name of the file
+     * @return true if the name passes the include and exclude patterns
+     */
+    public boolean acceptName(String fileName) {
+        // Check include pattern first
+        if (includeRegex != null && !includeRegex.matcher(fileName).matches()) {
+            return false;
+        }
+
+        // Check exclude pattern
+        return excludeRegex == null || !excludeRegex.matcher(fileName).matches();
+    }
+
     @Override
     public boolean accept(FileSelectInfo fileSelectInfo) {
         try {
             String fileName = fileSelectInfo.getFile().getName().getBaseName();
             
-            // Check include pattern first
-            if (includeRegex != null && !includeRegex.matcher(fileName).matches()) {
-                return false;
-            }
-            
-            // Check exclude pattern
-            if (excludeRegex != null && excludeRegex.matcher(fileName).matches()) {
+            if (!acceptName(fileName)) {
                 return false;
             }
             
@@ -33,10 +33,12 @@ import java.util.concurrent.TimeUnit;
 public class AdvancedFileSelector implements FileSelector {
 
     private AdvancedFileFilter advancedFilter;
+    private String connectionName;
     private long fileSizeCheckInterval;
     
-    public AdvancedFileSelector(String filterType, String includePattern, String excludePattern, 
-                               String maxFileAge, String sizeCheckInterval) {
+    public AdvancedFileSelector(String connectionName, String filterType, String includePattern,
+                               String excludePattern, String maxFileAge, String sizeCheckInterval) {
+        this.connectionName = connectionName;
         this.advancedFilter = new AdvancedFileFilter(filterType, includePattern, excludePattern, maxFileAge);
         
         // Parse file size check interval if provided
@@ -60,7 +62,7 @@ public class AdvancedFileSelector implements FileSelector {
         
         // If file stability check is enabled and this is a file (not directory)
         if (fileSizeCheckInterval > 0 && fileSelectInfo.getFile().isFile()) {
-            return isFileStable(fileSelectInfo);
+            return FileStabilityTracker.isStable(connectionName, fileSelectInfo.getFile(), fileSizeCheckInterval);
         }
         
         return true;
@@ -71,34 +73,4 @@ public class AdvancedFileSelector implements FileSelector {
         // Always traverse directories for complete filtering
         return fileSelectInfo.getFile().isFolder();
     }
-    
-    /**
-     * Check if file is stable (not being written to) by comparing file sizes
-     * over a specified interval.
-     * 
-     * @param fileSelectInfo File selection info
-     * @return true if file is stable, false if still being written
-     */
-    private boolean isFileStable(FileSelectInfo fileSelectInfo) throws FileSystemException {
-        try {
-            long initialSize = fileSelectInfo.getFile().getContent().getSize();
-            
-            // Wait for the specified interval
-            Thread.sleep(fileSizeCheckInterval);
-            
-            // Re-read file size and compare
-            long finalSize = fileSelectInfo.getFile().getContent().getSize();
-            
-            // File is stable if size hasn't changed
-            return initialSize == finalSize;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            // If interrupted, assume file is stable
-            return true;
-        } catch (Exception e) {
-            // If we can't check stability, assume file is stable
-            return true;
-        }
-    }
 }
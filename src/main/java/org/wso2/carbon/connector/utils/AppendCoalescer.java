@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.connector.pojo.WriteDurability;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent appends to the same file into a single write (group commit).
+ * The first caller appending to a file becomes the leader of a group. It waits up
+ * to the maximum delay, or until the maximum batch size is reached, for other
+ * callers to queue their content. Then it opens the file once, writes the content
+ * of all queued appends in the order they arrived and completes each of them with
+ * its own result. Callers arriving while the leader writes form the next group.
+ * <p>
+ * Every caller blocks until its own content is written, hence a successful return
+ * means the content is in the file. If the write fails, every append of the group
+ * fails with the error.
+ */
+public final class AppendCoalescer {
+
+    private static final Log log = LogFactory.getLog(AppendCoalescer.class);
+
+    private static final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    private AppendCoalescer() {
+    }
+
+    /**
+     * Append content to the end of a file, together with the content of concurrent
+     * appends to the same file.
+     *
+     * @param file         File to append to
+     * @param content      Content to append
+     * @param maxDelay     Maximum time in milliseconds to wait for other appends
+     * @param maxBatchSize Maximum number of appends written together
+     * @param durability   Durability level, the group is synced once before it completes
+     * @return Number of bytes appended for this caller
+     * @throws IOException In case of I/O error writing the group
+     */
+    public static long append(FileObject file, byte[] content, long maxDelay, int maxBatchSize,
+                              WriteDurability durability) throws IOException {
+
+        String key = file.getName().getURI();
+        PendingAppend append = new PendingAppend(content);
+        Group group;
+        while (true) {
+            group = groups.computeIfAbsent(key, k -> new Group());
+            synchronized (group) {
+                // A group is retired once it is idle and removed, a new one is used then
+                if (!group.retired) {
+                    group.pending.add(append);
+                    if (!group.leaderActive) {
+                        group.leaderActive = true;
+                        append.leader = true;
+                    } else {
+                        group.notifyAll();
+                    }
+                    awaitTurn(group, append);
+                    break;
+                }
+            }
+        }
+        if (!append.done) {
+            lead(key, group, file, maxDelay, maxBatchSize, durability);
+        }
+        if (append.error != null) {
+            throw new IOException(append.error.getMessage(), append.error);
+        }
+        return content.length;
+    }
+
+    /**
+     * Wait until the append is written by the leader or becomes the leader itself.
+     * Interruptions are deferred since the queued content is written regardless.
+     */
+    private static void awaitTurn(Group group, PendingAppend append) {
+        boolean interrupted = false;
+        while (!append.done && !append.leader) {
+            try {
+                group.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Collect the pending appends of the group, write them in one go and hand the
+     * leadership to the next pending append, if any.
+     */
+    private static void lead(String key, Group group, FileObject file, long maxDelay, int maxBatchSize,
+                             WriteDurability durability) {
+
+        List<PendingAppend> batch;
+        synchronized (group) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelay);
+            long remaining;
+            while (group.pending.size() < maxBatchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(group, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            int batchSize = Math.min(maxBatchSize, group.pending.size());
+            batch = new ArrayList<>(group.pending.subList(0, batchSize));
+            group.pending.subList(0, batchSize).clear();
+        }
+
+        IOException error = null;
+        try (OutputStream out = new BufferedOutputStream(file.getContent().getOutputStream(true))) {
+            for (PendingAppend pendingAppend : batch) {
+                out.write(pendingAppend.content);
+            }
+        } catch (IOException e) {
+            error = e;
+        }
+        if (error == null && Utils.isSyncApplicable(file, durability)) {
+            try {
+                Utils.syncLocalFile(file, durability);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Appended " + batch.size() + " record(s) to " + file.getName().getBaseName()
+                    + " in one write" + (error != null ? " with error: " + error.getMessage() : ""));
+        }
+
+        synchronized (group) {
+            for (PendingAppend pendingAppend : batch) {
+                pendingAppend.error = error;
+                pendingAppend.done = true;
+            }
+            if (group.pending.isEmpty()) {
+                group.leaderActive = false;
+                group.retired = true;
+                groups.remove(key, group);
+            } else {
+                group.pending.get(0).leader = true;
+            }
+            group.notifyAll();
+        }
+    }
+
+    /**
+     * Appends to a file waiting to be written.
+     */
+    private static class Group {
+
+        private final List<PendingAppend> pending = new ArrayList<>();
+        private boolean leaderActive;
+        private boolean retired;
+    }
+
+    /**
+     * Content of a caller with the outcome of its write. Guarded by the monitor of the group.
+     */
+    private static class PendingAppend {
+
+        private final byte[] content;
+        private boolean leader;
+        private boolean done;
+        private IOException error;
+
+        PendingAppend(byte[] content) {
+            this.content = content;
+        }
+    }
+}
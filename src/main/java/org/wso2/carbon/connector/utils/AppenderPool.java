@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.connector.connection.FileSystemHandler;
+import org.wso2.carbon.connector.pojo.AppenderPolicy;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of output handles kept open to append to files, so that small
+ * appends do not open and close the file every time. A file has at most one
+ * handle, which belongs to the connection that appended to it last; an append
+ * through another connection closes the handle and opens one of its own. Handles
+ * are kept in LRU order; the least recently used handle is closed when the pool is
+ * full. Content is flushed once the unflushed size reaches the flush size of the
+ * policy, and a background task flushes content older than the flush interval
+ * and closes handles idle longer than the idle timeout.
+ * <p>
+ * Content is acknowledged once written to the handle. Content not flushed yet is
+ * lost if the server stops abruptly. Handles are closed when the connection that
+ * opened them is closed (see {@link #closeAll(FileSystemHandler)}), and operations
+ * acting on a file by other means release its handle first (see
+ * {@link #release(FileObject)}), so that they see all acknowledged content and a
+ * renamed or deleted file is not written through a stale handle.
+ * <p>
+ * VFS tracks open streams per thread, hence streams of remote files are opened
+ * and closed on the thread of the pool so that operations closing the same file
+ * object on mediation threads do not close them. Local files are appended
+ * through a {@link FileChannel}, which also allows syncing to the storage device.
+ */
+public final class AppenderPool {
+
+    private static final Log log = LogFactory.getLog(AppenderPool.class);
+    private static final int MAX_OPEN_APPENDERS = 128;
+    private static final long MAINTENANCE_PERIOD = 100;
+    private static final int LOCAL_BUFFER_SIZE = 8192;
+    private static final String THREAD_NAME = "file-connector-appender";
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<String, Appender> appenders = Collections.synchronizedMap(
+            new LinkedHashMap<String, Appender>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Appender> eldest) {
+                    if (size() > MAX_OPEN_APPENDERS) {
+                        Appender appender = eldest.getValue();
+                        scheduler.execute(() -> closeOnPoolThread(appender));
+                        return true;
+                    }
+                    return false;
+                }
+            });
+
+    static {
+        scheduler.scheduleWithFixedDelay(AppenderPool::maintain, MAINTENANCE_PERIOD, MAINTENANCE_PERIOD,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private AppenderPool() {
+    }
+
+    /**
+     * Check whether a handle can be kept open to append to the file. Supported for
+     * local, SFTP and SMB2 files.
+     *
+     * @param file File to append to
+     * @return True if the file can be appended through the pool
+     */
+    public static boolean isSupported(FileObject file) {
+        String scheme = file.getName().getScheme();
+        return Const.LOCAL_FILE_SCHEME.equals(scheme) || Const.SFTP_FILE_SCHEME.equals(scheme)
+                || Const.SMB2_FILE_SCHEME.equals(scheme);
+    }
+
+    /**
+     * Append content to the end of the file through a handle kept open, opening it if needed.
+     *
+     * @param owner   Connection the file is resolved through
+     * @param file    File to append to
+     * @param content Content to append
+     * @param policy  Flush and idle policy of the handle
+     * @return Number of bytes appended
+     * @throws IOException In case of I/O error, the handle is closed then
+     */
+    public static long append(FileSystemHandler owner, FileObject file, byte[] content, AppenderPolicy policy)
+            throws IOException {
+
+        String key = file.getName().getURI();
+        while (true) {
+            Appender appender;
+            synchronized (appenders) {
+                appender = appenders.get(key);
+                if (appender == null) {
+                    appender = new Appender(key, owner, file);
+                    appenders.put(key, appender);
+                } else if (appender.owner != owner) {
+                    appenders.remove(key);
+                }
+            }
+            if (appender.owner != owner) {
+                // The handle of another connection is closed before this connection opens its own
+                appender.closeLocked();
+                continue;
+            }
+            // A closed appender was evicted concurrently, use a new one then
+            if (appender.write(content, policy)) {
+                return content.length;
+            }
+            appenders.remove(key, appender);
+        }
+    }
+
+    /**
+     * Flush and close the handle of a file, or the handles of the files in a folder,
+     * before the file is read, written or moved by other means.
+     *
+     * @param file File or folder to release
+     */
+    public static void release(FileObject file) {
+        if (appenders.isEmpty()) {
+            return;
+        }
+        String uri = file.getName().getURI();
+        String folderPrefix = uri.endsWith(Const.FILE_SEPARATOR) ? uri : uri + Const.FILE_SEPARATOR;
+        for (Appender appender : snapshot()) {
+            if (appender.key.equals(uri) || appender.key.startsWith(folderPrefix)) {
+                appenders.remove(appender.key, appender);
+                appender.closeLocked();
+            }
+        }
+    }
+
+    /**
+     * Flush and close all handles opened through a connection.
+     *
+     * @param owner Connection being closed
+     */
+    public static void closeAll(FileSystemHandler owner) {
+        for (Appender appender : snapshot()) {
+            if (appender.owner == owner) {
+                appenders.remove(appender.key, appender);
+                appender.closeLocked();
+            }
+        }
+    }
+
+    /**
+     * Flush content older than the flush interval and close idle handles. Handles
+     * in use are skipped, they are checked again on the next run.
+     */
+    private static void maintain() {
+        long now = System.currentTimeMillis();
+        for (Appender appender : snapshot()) {
+            if (!appender.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (appender.isIdle(now)) {
+                    appenders.remove(appender.key, appender);
+                    appender.close();
+                } else {
+                    appender.flushIfDue(now);
+                }
+            } catch (Exception e) {
+                log.warn("Error while flushing appender of file " + appender.file.getName().getBaseName(), e);
+                appenders.remove(appender.key, appender);
+                appender.close();
+            } finally {
+                appender.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Close an evicted handle on the thread of the pool. The thread of the pool never
+     * waits for a handle in use, as its user may be waiting for the thread of the pool.
+     */
+    private static void closeOnPoolThread(Appender appender) {
+        if (appender.lock.tryLock()) {
+            try {
+                appender.close();
+            } finally {
+                appender.lock.unlock();
+            }
+        } else {
+            scheduler.schedule(() -> closeOnPoolThread(appender), MAINTENANCE_PERIOD, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static List<Appender> snapshot() {
+        synchronized (appenders) {
+            return new ArrayList<>(appenders.values());
+        }
+    }
+
+    /**
+     * Run a task on the thread of the pool and wait for it.
+     */
+    private static <T> T runOnPoolThread(Callable<T> task) throws IOException {
+        if (THREAD_NAME.equals(Thread.currentThread().getName())) {
+            try {
+                return task.call();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        try {
+            return scheduler.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the appender of the file", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Output handle of a file. State is guarded by the lock.
+     */
+    private static class Appender {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final String key;
+        private final FileSystemHandler owner;
+        private final FileObject file;
+        private OutputStream out;
+        private FileChannel channel;
+        private AppenderPolicy policy;
+        private long unflushedBytes;
+        private long firstUnflushedTime;
+        private long lastWriteTime;
+        private boolean closed;
+
+        Appender(String key, FileSystemHandler owner, FileObject file) {
+            this.key = key;
+            this.owner = owner;
+            this.file = file;
+        }
+
+        /**
+         * Write content, opening the handle on first use.
+         *
+         * @return False if the appender is already closed
+         */
+        boolean write(byte[] content, AppenderPolicy policy) throws IOException {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                this.policy = policy;
+                if (out == null) {
+                    open();
+                }
+                out.write(content);
+                long now = System.currentTimeMillis();
+                if (unflushedBytes == 0) {
+                    firstUnflushedTime = now;
+                }
+                unflushedBytes += content.length;
+                lastWriteTime = now;
+                if (unflushedBytes >= policy.getFlushSize()) {
+                    flush();
+                }
+                return true;
+            } catch (IOException e) {
+                appenders.remove(key, this);
+                closeQuietly();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void open() throws IOException {
+            if (Const.LOCAL_FILE_SCHEME.equals(file.getName().getScheme())) {
+                FileOutputStream fileOut = new FileOutputStream(file.getPath().toFile(), true);
+                channel = fileOut.getChannel();
+                out = new BufferedOutputStream(fileOut, LOCAL_BUFFER_SIZE);
+            } else {
+                out = runOnPoolThread(() -> file.getContent().getOutputStream(true));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Opened appender of file " + file.getName().getBaseName());
+            }
+        }
+
+        private void flush() throws IOException {
+            out.flush();
+            if (policy.isSync() && channel != null) {
+                channel.force(false);
+            }
+            unflushedBytes = 0;
+        }
+
+        boolean isIdle(long now) {
+            return out != null && now - lastWriteTime >= policy.getIdleTimeout();
+        }
+
+        void flushIfDue(long now) throws IOException {
+            if (!closed && unflushedBytes > 0 && now - firstUnflushedTime >= policy.getFlushInterval()) {
+                flush();
+            }
+        }
+
+        void closeLocked() {
+            lock.lock();
+            try {
+                close();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Flush and close the handle, the lock must be held. Errors are logged since
+         * the content was already acknowledged.
+         */
+        void close() {
+            if (closed) {
+                return;
+            }
+            try {
+                if (out != null && unflushedBytes > 0) {
+                    flush();
+                }
+            } catch (IOException e) {
+                log.error("Error while flushing appender of file " + file.getName().getBaseName(), e);
+            }
+            closeQuietly();
+        }
+
+        private void closeQuietly() {
+            closed = true;
+            OutputStream stream = out;
+            out = null;
+            if (stream == null) {
+                return;
+            }
+            try {
+                if (channel != null) {
+                    stream.close();
+                } else {
+                    runOnPoolThread(() -> {
+                        stream.close();
+                        return null;
+                    });
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Closed appender of file " + file.getName().getBaseName());
+                }
+            } catch (IOException e) {
+                log.error("Error while closing appender of file " + file.getName().getBaseName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Splits a stream into parts of a chunk size while it is read through a fixed size
+ * buffer, hence the chunk size is not limited by the available memory.
+ * <p>
+ * When records are kept intact, a part reaching the chunk size is extended up to
+ * the next line terminator (LF, CR LF or CR), so that no line is split across parts.
+ * Lines are detected on the raw bytes, so this only works for encodings where CR
+ * and LF are single bytes.
+ */
+public class ChunkSplitter {
+
+    private static final Log log = LogFactory.getLog(ChunkSplitter.class);
+    private static final int DEFAULT_BUFFER_SIZE = 65536;
+
+    private final long chunkSize;
+    private final boolean keepRecordsIntact;
+    private final int bufferSize;
+
+    /**
+     * Create a splitter for a chunk size.
+     *
+     * @param chunkSize         Size of a part in bytes
+     * @param keepRecordsIntact Whether to cut a part only after the next line terminator
+     */
+    public ChunkSplitter(long chunkSize, boolean keepRecordsIntact) {
+        this(chunkSize, keepRecordsIntact, DEFAULT_BUFFER_SIZE);
+    }
+
+    ChunkSplitter(long chunkSize, boolean keepRecordsIntact, int bufferSize) {
+        this.chunkSize = chunkSize;
+        this.keepRecordsIntact = keepRecordsIntact;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Split the stream, opening a part only once there is content for it.
+     *
+     * @param in    Stream to split
+     * @param parts Opens the streams of the parts
+     * @return Number of parts written
+     * @throws IOException In case of I/O error while reading the stream or writing a part
+     */
+    public int split(InputStream in, PartOpener parts) throws IOException {
+
+        byte[] buffer = new byte[bufferSize];
+        OutputStream outputStream = null;
+        int partNum = 0;
+        long partLength = 0;
+        // Whether the chunk size is reached and the part ends at the next line terminator
+        boolean seekingLineEnd = false;
+        // Whether the part ended with a CR which may be followed by an LF
+        boolean pendingCarriageReturn = false;
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                int offset = 0;
+                while (offset < read) {
+                    if (outputStream == null) {
+                        outputStream = parts.open(partNum);
+                        partLength = 0;
+                    }
+                    int end;
+                    boolean endOfPart;
+                    if (!seekingLineEnd) {
+                        end = offset + (int) Math.min(read - offset, chunkSize - partLength);
+                        endOfPart = partLength + (end - offset) == chunkSize;
+                        if (endOfPart && keepRecordsIntact && buffer[end - 1] != '\n') {
+                            endOfPart = false;
+                            seekingLineEnd = true;
+                            pendingCarriageReturn = buffer[end - 1] == '\r';
+                        }
+                    } else if (pendingCarriageReturn) {
+                        end = buffer[offset] == '\n' ? offset + 1 : offset;
+                        endOfPart = true;
+                    } else {
+                        end = offset;
+                        while (end < read && buffer[end] != '\n' && buffer[end] != '\r') {
+                            end++;
+                        }
+                        endOfPart = end < read && buffer[end] == '\n';
+                        if (end < read) {
+                            pendingCarriageReturn = buffer[end] == '\r';
+                            end++;
+                        }
+                        if (pendingCarriageReturn && end < read) {
+                            if (buffer[end] == '\n') {
+                                end++;
+                            }
+                            endOfPart = true;
+                        }
+                    }
+                    outputStream.write(buffer, offset, end - offset);
+                    partLength += end - offset;
+                    offset = end;
+                    if (endOfPart) {
+                        OutputStream completed = outputStream;
+                        outputStream = null;
+                        completed.close();
+                        seekingLineEnd = false;
+                        pendingCarriageReturn = false;
+                        partNum++;
+                    }
+                }
+            }
+            if (outputStream != null) {
+                OutputStream completed = outputStream;
+                outputStream = null;
+                completed.close();
+                partNum++;
+            }
+            return partNum;
+        } finally {
+            if (outputStream != null) {
+                try {
+                    outputStream.close();
+                } catch (IOException e) {
+                    log.warn("Error while closing the part " + partNum + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the stream of a part.
+     */
+    public interface PartOpener {
+
+        /**
+         * Open the stream of a part. The stream is closed once the part is written.
+         *
+         * @param partNumber Number of the part starting from 0
+         * @return Stream to write the part to
+         * @throws IOException In case of error creating the part
+         */
+        OutputStream open(int partNumber) throws IOException;
+    }
+}
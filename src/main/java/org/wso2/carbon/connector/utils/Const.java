@@ -70,6 +70,9 @@ public final class Const {
     public static final String DIRECTORY_PATH = "directoryPath";
     public static final String FILE_OR_DIRECTORY_PATH = "path";
     public static final String LOCAL_FILE_PROTOCOL_PREFIX = "file://";
+    public static final String LOCAL_FILE_SCHEME = "file";
+    public static final String SFTP_FILE_SCHEME = "sftp";
+    public static final String SMB2_FILE_SCHEME = "smb2";
     public static final String FTP_PROTOCOL_PREFIX = "ftp://";
     public static final String FTPS_PROTOCOL_PREFIX = "ftps://";
     public static final String SFTP_PROTOCOL_PREFIX = "sftp://";
@@ -101,6 +104,11 @@ public final class Const {
     public static final String FILE_URL = "FILE_URL";
     public static final String FILE_NAME = "FILE_NAME";
     public static final String FILE_NAME_WITHOUT_EXTENSION = "FILE_NAME_WITHOUT_EXTENSION";
+    public static final String FILE_HAS_MORE = "FILE_HAS_MORE";
+    public static final String FILE_CONTINUATION_TOKEN = "FILE_CONTINUATION_TOKEN";
+    public static final String FILE_COUNT = "FILE_COUNT";
+    public static final String FILE_FINGERPRINT = "FILE_FINGERPRINT";
+    public static final String FILE_NOT_MODIFIED = "FILE_NOT_MODIFIED";
 
 
     public static final CharSequence NEW_LINE = "\n";
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads new line delimited records (CSV rows, JSON Lines) one at a time from a
+ * stream, keeping only the current record in memory. Records are split on the raw
+ * bytes (LF, CR LF and CR terminate a record), hence the encoding must have single
+ * byte line terminators. When quotes are honoured, line terminators inside double
+ * quoted CSV fields do not end the record. The number of bytes consumed is tracked
+ * so that reading can be resumed from a record boundary. Records larger than the
+ * maximum record size fail the read, so that an unbalanced quote does not buffer
+ * the rest of the file.
+ */
+public class DelimitedRecordReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    public static final int DEFAULT_MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private final InputStream in;
+    private final boolean honourQuotes;
+    private final int maxRecordSize;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean endOfStream = false;
+    private long bytesConsumed = 0;
+
+    private byte[] record = new byte[256];
+    private int recordLength;
+
+    /**
+     * Create a record reader.
+     *
+     * @param in           Stream positioned at the start of a record
+     * @param honourQuotes Whether line terminators inside double quotes belong to the record (CSV)
+     */
+    public DelimitedRecordReader(InputStream in, boolean honourQuotes) {
+        this(in, honourQuotes, DEFAULT_MAX_RECORD_SIZE);
+    }
+
+    /**
+     * Create a record reader with a limit on the size of a record.
+     *
+     * @param in            Stream positioned at the start of a record
+     * @param honourQuotes  Whether line terminators inside double quotes belong to the record (CSV)
+     * @param maxRecordSize Maximum number of bytes of a record without its line terminator
+     */
+    public DelimitedRecordReader(InputStream in, boolean honourQuotes, int maxRecordSize) {
+        this.in = in;
+        this.honourQuotes = honourQuotes;
+        this.maxRecordSize = maxRecordSize;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return Bytes of the record without the line terminator, null at the end of the stream
+     * @throws IOException In case of I/O error, or if the record exceeds the maximum record size
+     */
+    public byte[] nextRecord() throws IOException {
+
+        recordLength = 0;
+        boolean inQuotes = false;
+        boolean recordStarted = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                return recordStarted ? Arrays.copyOf(record, recordLength) : null;
+            }
+            byte current = buffer[position++];
+            bytesConsumed++;
+            recordStarted = true;
+            if (!inQuotes && (current == '\n' || current == '\r')) {
+                if (current == '\r' && (position < limit || fill()) && buffer[position] == '\n') {
+                    position++;
+                    bytesConsumed++;
+                }
+                return Arrays.copyOf(record, recordLength);
+            }
+            if (honourQuotes && current == '"') {
+                inQuotes = !inQuotes;
+            }
+            if (recordLength == maxRecordSize) {
+                throw new IOException("Record exceeds the maximum record size of " + maxRecordSize
+                        + " bytes at byte " + bytesConsumed
+                        + (inQuotes ? ". The record may have an unbalanced double quote" : ""));
+            }
+            if (recordLength == record.length) {
+                record = Arrays.copyOf(record, (int) Math.min((long) record.length * 2, maxRecordSize));
+            }
+            record[recordLength++] = current;
+        }
+    }
+
+    /**
+     * Get the number of bytes of the stream consumed by the records read so far.
+     *
+     * @return Number of bytes consumed including line terminators
+     */
+    public long getBytesConsumed() {
+        return bytesConsumed;
+    }
+
+    /**
+     * Split a CSV record into its fields. Fields may be enclosed in double quotes,
+     * in which case delimiters and line terminators are part of the field and a
+     * doubled double quote stands for a double quote.
+     *
+     * @param record    CSV record
+     * @param delimiter Field delimiter
+     * @return Fields of the record
+     */
+    public static List<String> splitCsvRecord(String record, char delimiter) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < record.length(); i++) {
+            char current = record.charAt(i);
+            if (inQuotes) {
+                if (current != '"') {
+                    field.append(current);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (current == '"') {
+                inQuotes = true;
+            } else if (current == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(current);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfStream) {
+            return false;
+        }
+        int read = in.read(buffer, 0, buffer.length);
+        if (read == -1) {
+            endOfStream = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
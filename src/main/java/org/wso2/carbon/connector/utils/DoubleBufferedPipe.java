@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies a stream to another through two buffers, so that reading the source
+ * overlaps with writing the target. A reader thread fills one buffer while the
+ * calling thread writes the other. Buffers are pooled across copies, and are
+ * returned to the pool only once both the reader and the writer are done with
+ * them, since a reader blocked in a read may outlive a failed copy.
+ * <p>
+ * The streams are opened and closed by the caller, only reads happen on the
+ * reader thread. Readers of all copies run on one bounded pool; a copy beyond its
+ * size waits until a reader thread is free.
+ */
+public final class DoubleBufferedPipe {
+
+    private static final int BUFFER_COUNT = 2;
+    private static final int MAX_POOLED_BUFFERS = 16;
+    private static final int MAX_READERS = 32;
+
+    private static final BlockingQueue<byte[]> bufferPool = new LinkedBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    private static final ExecutorService readers = ThreadPools.newBoundedPool("file-connector-pipe-reader",
+            MAX_READERS);
+
+    private DoubleBufferedPipe() {
+    }
+
+    /**
+     * Copy the input stream to the output stream until the end of the input.
+     *
+     * @param in         Stream to read from
+     * @param out        Stream to write to
+     * @param bufferSize Size of each of the two buffers
+     * @return Number of bytes copied
+     * @throws IOException In case of I/O error while reading or writing
+     */
+    public static long copy(InputStream in, OutputStream out, int bufferSize) throws IOException {
+
+        Buffers buffers = new Buffers(bufferSize);
+        Future<?> reader = readers.submit(() -> read(in, buffers));
+        long copied = 0;
+        try {
+            while (true) {
+                Chunk chunk = buffers.filledChunks.take();
+                if (chunk.error != null) {
+                    throw chunk.error;
+                }
+                if (chunk.length < 0) {
+                    return copied;
+                }
+                try {
+                    out.write(chunk.buffer, 0, chunk.length);
+                } finally {
+                    buffers.emptyBuffers.offer(chunk.buffer);
+                }
+                copied += chunk.length;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while copying after " + copied + " bytes");
+        } finally {
+            reader.cancel(true);
+            buffers.leave();
+        }
+    }
+
+    /**
+     * Fill empty buffers from the stream and hand them over until the end of the stream or an error.
+     */
+    private static void read(InputStream in, Buffers buffers) {
+        byte[] buffer = null;
+        try {
+            while (true) {
+                buffer = buffers.emptyBuffers.take();
+                int length = 0;
+                int read = 0;
+                while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) != -1) {
+                    length += read;
+                }
+                if (length > 0) {
+                    buffers.filledChunks.put(new Chunk(buffer, length, null));
+                } else {
+                    buffers.emptyBuffers.put(buffer);
+                }
+                buffer = null;
+                if (read == -1) {
+                    buffers.filledChunks.put(new Chunk(null, -1, null));
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // The writer stopped copying
+        } catch (IOException e) {
+            buffers.filledChunks.offer(new Chunk(null, -1, e));
+        } finally {
+            if (buffer != null) {
+                buffers.emptyBuffers.offer(buffer);
+            }
+            buffers.leave();
+        }
+    }
+
+    /**
+     * Buffers of a copy, shared by the reader and the writer. The last of them to
+     * leave returns the buffers to the pool. A reader cancelled before it started
+     * never leaves, its buffers are then left to the garbage collector.
+     */
+    private static class Buffers {
+
+        private final BlockingQueue<byte[]> emptyBuffers = new ArrayBlockingQueue<>(BUFFER_COUNT);
+        private final BlockingQueue<Chunk> filledChunks = new ArrayBlockingQueue<>(BUFFER_COUNT + 1);
+        private final AtomicInteger users = new AtomicInteger(2);
+
+        Buffers(int bufferSize) {
+            for (int i = 0; i < BUFFER_COUNT; i++) {
+                byte[] buffer = bufferPool.poll();
+                emptyBuffers.add(buffer != null && buffer.length == bufferSize ? buffer : new byte[bufferSize]);
+            }
+        }
+
+        void leave() {
+            if (users.decrementAndGet() > 0) {
+                return;
+            }
+            for (byte[] buffer : emptyBuffers) {
+                bufferPool.offer(buffer);
+            }
+            for (Chunk chunk : filledChunks) {
+                if (chunk.buffer != null) {
+                    bufferPool.offer(chunk.buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffer filled by the reader, or the end of the stream or a read error.
+     */
+    private static class Chunk {
+
+        private final byte[] buffer;
+        private final int length;
+        private final IOException error;
+
+        Chunk(byte[] buffer, int length, IOException error) {
+            this.buffer = buffer;
+            this.length = length;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.connector.pojo.FileMetadata;
+import org.wso2.org.apache.commons.vfs2.FileContent;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.FileSystemException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of file metadata per connection and file. An entry is reused while
+ * it is younger than the requested time to live and the last modified time of the
+ * file is unchanged, so that repeated reads of the same file do not fetch the size
+ * and guess the content type again.
+ */
+public final class FileMetadataCache {
+
+    private static final Log log = LogFactory.getLog(FileMetadataCache.class);
+    private static final int MAX_CACHED_ENTRIES = 1024;
+
+    private static final Map<String, FileMetadata> metadataCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, FileMetadata>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FileMetadata> eldest) {
+                    return size() > MAX_CACHED_ENTRIES;
+                }
+            });
+
+    private FileMetadataCache() {
+    }
+
+    /**
+     * Get metadata of a file. Only the last modified time is fetched from the file
+     * system when there is a valid cached entry.
+     *
+     * @param connectionName Name of the connection the file is accessed through
+     * @param file           File to get metadata of
+     * @param timeToLive     Time in milliseconds a cached entry is valid. 0 disables caching
+     * @return Metadata of the file
+     * @throws FileSystemException In case of file system issue
+     */
+    public static FileMetadata getMetadata(String connectionName, FileObject file, long timeToLive)
+            throws FileSystemException {
+
+        FileContent content = file.getContent();
+        long lastModifiedTime = content.getLastModifiedTime();
+        long now = System.currentTimeMillis();
+        String key = connectionName + Const.FILE_SEPARATOR + file.getName().getURI();
+        if (timeToLive > 0) {
+            FileMetadata cached = metadataCache.get(key);
+            if (cached != null && cached.getLastModifiedTime() == lastModifiedTime
+                    && now - cached.getCollectedTime() < timeToLive) {
+                return cached;
+            }
+        }
+        String contentType = null;
+        try {
+            contentType = content.getContentInfo().getContentType();
+        } catch (FileSystemException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not detect content type of " + file.getName().getFriendlyURI(), e);
+            }
+        }
+        FileMetadata metadata = new FileMetadata(content.getSize(), lastModifiedTime, contentType, now);
+        if (timeToLive > 0) {
+            metadataCache.put(key, metadata);
+        }
+        return metadata;
+    }
+}
@@ -33,10 +33,23 @@ import java.io.OutputStream;
 public class FileObjectDataSource implements SizeAwareDataSource {
     private final FileObject file;
     private final String contentType;
+    private final int readAheadWindow;
 
     public FileObjectDataSource(FileObject file, String contentType) {
+        this(file, contentType, 0);
+    }
+
+    /**
+     * Create a data source reading SFTP files ahead with the given window.
+     *
+     * @param file            File to read
+     * @param contentType     Content type of the file
+     * @param readAheadWindow Number of chunks to read concurrently, 0 disables read ahead
+     */
+    public FileObjectDataSource(FileObject file, String contentType, int readAheadWindow) {
         this.file = file;
         this.contentType = contentType;
+        this.readAheadWindow = readAheadWindow;
     }
 
     public long getSize() {
@@ -56,7 +69,7 @@ public class FileObjectDataSource implements SizeAwareDataSource {
     }
 
     public InputStream getInputStream() throws IOException {
-        return file.getContent().getInputStream();
+        return Utils.openInputStream(file, readAheadWindow);
     }
 
     public OutputStream getOutputStream() throws IOException {
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks the size and last modified time observed for files per connection to
+ * decide whether a file is stable, i.e. no longer being written. A file is stable
+ * once the same size and last modified time have been observed for at least the
+ * size check interval. Observations are kept across operations, hence a file
+ * polled repeatedly is answered from its history without waiting.
+ * <p>
+ * A file seen for the first time is taken as unchanged since its last modified
+ * time, hence it is stable right away if it was last modified at least the interval
+ * ago. Otherwise it is reported as not stable and checked again on the next poll,
+ * so the calling thread never waits. As the last modified time comes from the file
+ * server, a server clock behind the local clock makes new files look older than
+ * they are. Files are sampled one by one on the calling thread, since the file
+ * objects of a connection must not be used concurrently.
+ */
+public final class FileStabilityTracker {
+
+    private static final Log log = LogFactory.getLog(FileStabilityTracker.class);
+    private static final int MAX_TRACKED_FILES = 10000;
+
+    private static final Map<String, Sample> samples = Collections.synchronizedMap(
+            new LinkedHashMap<String, Sample>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Sample> eldest) {
+                    return size() > MAX_TRACKED_FILES;
+                }
+            });
+
+    private FileStabilityTracker() {
+    }
+
+    /**
+     * Check whether a file is stable.
+     *
+     * @param connectionName    Name of the connection the file is accessed through
+     * @param file              File to check
+     * @param sizeCheckInterval Time in milliseconds the file must remain unchanged
+     * @return True if the file is stable, or if the interval is not a positive number
+     */
+    public static boolean isStable(String connectionName, FileObject file, String sizeCheckInterval) {
+        return getUnstableFiles(connectionName, Collections.singletonList(file), sizeCheckInterval).isEmpty();
+    }
+
+    /**
+     * Check whether a file is stable.
+     *
+     * @param connectionName    Name of the connection the file is accessed through
+     * @param file              File to check
+     * @param sizeCheckInterval Time in milliseconds the file must remain unchanged
+     * @return True if the file is stable, or if the interval is not positive
+     */
+    public static boolean isStable(String connectionName, FileObject file, long sizeCheckInterval) {
+        return getUnstableFiles(connectionName, Collections.singletonList(file), sizeCheckInterval).isEmpty();
+    }
+
+    /**
+     * Find the files of a batch that are not stable.
+     *
+     * @param connectionName    Name of the connection the files are accessed through
+     * @param files             Files to check
+     * @param sizeCheckInterval Time in milliseconds a file must remain unchanged
+     * @return Files that are not stable, empty if the interval is not a positive number
+     */
+    public static Set<FileObject> getUnstableFiles(String connectionName, Collection<FileObject> files,
+                                                   String sizeCheckInterval) {
+        if (StringUtils.isEmpty(sizeCheckInterval)) {
+            return Collections.emptySet();
+        }
+        try {
+            return getUnstableFiles(connectionName, files, Long.parseLong(sizeCheckInterval.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid timeBetweenSizeCheck value: " + sizeCheckInterval + ". Skipping stability check.");
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * Find the files of a batch that are not stable. Each file is sampled once, and
+     * is stable if its current size and last modified time have been unchanged for
+     * the interval. Files that cannot be checked are assumed to be stable.
+     *
+     * @param connectionName    Name of the connection the files are accessed through
+     * @param files             Files to check
+     * @param sizeCheckInterval Time in milliseconds a file must remain unchanged
+     * @return Files that are not stable, empty if the interval is not positive
+     */
+    public static Set<FileObject> getUnstableFiles(String connectionName, Collection<FileObject> files,
+                                                   long sizeCheckInterval) {
+        if (sizeCheckInterval <= 0 || files.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<FileObject> unstableFiles = new HashSet<>();
+        for (FileObject file : files) {
+            Sample sample = observe(connectionName, file);
+            if (sample != null && sample.observedTime - sample.since < sizeCheckInterval) {
+                unstableFiles.add(file);
+            }
+        }
+        if (log.isDebugEnabled() && !unstableFiles.isEmpty()) {
+            log.debug(unstableFiles.size() + " of " + files.size() + " file(s) changed within the last "
+                    + sizeCheckInterval + " ms");
+        }
+        return unstableFiles;
+    }
+
+    /**
+     * Sample the size and last modified time of a file and record it in the history.
+     *
+     * @param connectionName Name of the connection the file is accessed through
+     * @param file           File to sample
+     * @return Recorded sample, holding since when the current state is observed, null if the file cannot be checked
+     */
+    private static Sample observe(String connectionName, FileObject file) {
+        try {
+            file.refresh();
+            long size = file.getContent().getSize();
+            long lastModifiedTime = file.getContent().getLastModifiedTime();
+            long now = System.currentTimeMillis();
+            String key = connectionName + Const.FILE_SEPARATOR + file.getName().getURI();
+            synchronized (samples) {
+                Sample previous = samples.get(key);
+                long since;
+                if (previous == null) {
+                    // Unchanged since the last modification, as far as the file server tells
+                    since = lastModifiedTime > 0 ? Math.min(lastModifiedTime, now) : now;
+                } else if (previous.size == size && previous.lastModifiedTime == lastModifiedTime) {
+                    since = previous.since;
+                } else {
+                    since = now;
+                }
+                Sample sample = new Sample(size, lastModifiedTime, since, now);
+                samples.put(key, sample);
+                return sample;
+            }
+        } catch (Exception e) {
+            log.warn("Error checking file stability for " + file + ": " + e.getMessage()
+                    + ". Assuming file is stable.");
+            return null;
+        }
+    }
+
+    /**
+     * Size and last modified time of a file, observed unchanged from since until observedTime.
+     */
+    private static class Sample {
+
+        private final long size;
+        private final long lastModifiedTime;
+        private final long since;
+        private final long observedTime;
+
+        Sample(long size, long lastModifiedTime, long since, long observedTime) {
+            this.size = size;
+            this.lastModifiedTime = lastModifiedTime;
+            this.since = since;
+            this.observedTime = observedTime;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.wso2.carbon.connector.exception.FileOperationException;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Checks the free space of the file system before writes of a known size, so that
+ * writing fails fast, before any content is transferred, if the content does not
+ * fit. No space is reserved: the file is neither extended nor filled up front, hence
+ * its size only grows with the content written, and a concurrent writer may still
+ * use up the space after the check. Pre-allocating the file or sending size hints
+ * to remote servers is not done, as VFS exposes neither.
+ * <p>
+ * Only local files are supported, as VFS does not expose the free space of remote
+ * file systems.
+ */
+public final class FreeSpaceChecker {
+
+    private FreeSpaceChecker() {
+    }
+
+    /**
+     * Check whether the free space can be checked for writes to the file.
+     *
+     * @param file File to write
+     * @return True for local files
+     */
+    public static boolean isSupported(FileObject file) {
+        return Const.LOCAL_FILE_SCHEME.equals(file.getName().getScheme());
+    }
+
+    /**
+     * Check that the file system has the space to replace the content of the file
+     * with content of the expected size.
+     *
+     * @param file         File to write
+     * @param expectedSize Expected number of bytes to write
+     * @throws IOException            In case of I/O error while getting the free space
+     * @throws FileOperationException If there is not enough space for the content
+     */
+    public static void checkSpace(FileObject file, long expectedSize) throws IOException, FileOperationException {
+
+        Path path = file.getPath();
+        long required = expectedSize - (Files.exists(path) ? Files.size(path) : 0);
+        if (required <= 0) {
+            return;
+        }
+        Path existing = path;
+        while (existing != null && !Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+        if (existing == null) {
+            return;
+        }
+        long usable = Files.getFileStore(existing).getUsableSpace();
+        if (usable < required) {
+            throw new FileOperationException("Not enough space to write " + expectedSize + " bytes to "
+                    + file.getName().getBaseName() + ". Usable space is " + usable + " bytes");
+        }
+    }
+}
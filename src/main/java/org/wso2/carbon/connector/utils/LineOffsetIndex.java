@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sparse index of line start offsets of a file. The byte offset of every
+ * {@code interval}th line (1, interval + 1, 2 * interval + 1, ...) is recorded
+ * so that line based reads can seek to the closest known line instead of
+ * scanning the file from the beginning. The index is filled lazily while
+ * lines are skipped, hence a file is never scanned twice up to the same line.
+ * <p>
+ * Indexes are cached per file URI. A cached index is only reused while the
+ * size and the last modified time of the file remain the same.
+ */
+public final class LineOffsetIndex {
+
+    private static final int MAX_CACHED_INDEXES = 256;
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private static final Map<String, LineOffsetIndex> indexCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, LineOffsetIndex>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LineOffsetIndex> eldest) {
+                    return size() > MAX_CACHED_INDEXES;
+                }
+            });
+
+    private final long fileSize;
+    private final long lastModifiedTime;
+    private final int interval;
+
+    /**
+     * checkpoints[k] is the byte offset of line (k * interval + 1).
+     */
+    private long[] checkpoints = new long[16];
+    private int checkpointCount = 1;
+
+    private LineOffsetIndex(long fileSize, long lastModifiedTime, int interval) {
+        this.fileSize = fileSize;
+        this.lastModifiedTime = lastModifiedTime;
+        this.interval = interval;
+    }
+
+    /**
+     * Get the cached index of a file or create a new one if there is no index
+     * matching the current state of the file.
+     *
+     * @param fileUri          URI of the file
+     * @param fileSize         Current size of the file
+     * @param lastModifiedTime Current last modified time of the file
+     * @param interval         Number of lines between two recorded offsets
+     * @return Line offset index of the file
+     */
+    public static LineOffsetIndex getIndex(String fileUri, long fileSize, long lastModifiedTime, int interval) {
+        synchronized (indexCache) {
+            LineOffsetIndex index = indexCache.get(fileUri);
+            if (index == null || index.fileSize != fileSize || index.lastModifiedTime != lastModifiedTime
+                    || index.interval != interval) {
+                index = new LineOffsetIndex(fileSize, lastModifiedTime, interval);
+                indexCache.put(fileUri, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Position the content at the start of the given line and return a stream
+     * reading from there. The content is moved to the closest recorded line
+     * before the requested one and the remaining lines are skipped, recording
+     * new offsets on the way. If the file has fewer lines the stream is at EOF.
+     * Closing the returned stream closes the random access content.
+     *
+     * @param content Random access content of the file
+     * @param lineNum Line number (starting from 1) to position at
+     * @return Stream reading from the start of the line
+     * @throws IOException In case of I/O error
+     */
+    public InputStream openAtLine(RandomAccessContent content, long lineNum) throws IOException {
+
+        long currentLine;
+        long offset;
+        synchronized (this) {
+            int checkpoint = (int) Math.min((lineNum - 1) / interval, checkpointCount - 1);
+            currentLine = (long) checkpoint * interval + 1;
+            offset = checkpoints[checkpoint];
+        }
+        InputStream in = Utils.openRandomAccessStream(content, offset);
+
+        byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+        boolean pendingCarriageReturn = false;
+        int read = 0;
+        int position = 0;
+        while (currentLine < lineNum) {
+            if (position == read) {
+                offset += read;
+                read = in.read(buffer);
+                position = 0;
+                if (read == -1) {
+                    read = 0;
+                    break;
+                }
+            }
+            byte current = buffer[position];
+            if (pendingCarriageReturn) {
+                pendingCarriageReturn = false;
+                currentLine++;
+                if (current == '\n') {
+                    position++;
+                }
+                record(currentLine, offset + position);
+                continue;
+            }
+            position++;
+            if (current == '\n') {
+                currentLine++;
+                record(currentLine, offset + position);
+            } else if (current == '\r') {
+                pendingCarriageReturn = true;
+            }
+        }
+
+        if (position < read) {
+            return new SequenceInputStream(new ByteArrayInputStream(buffer, position, read - position), in);
+        }
+        return in;
+    }
+
+    /**
+     * Record the start offset of a line if it is the next checkpoint.
+     *
+     * @param lineNum Line number
+     * @param offset  Byte offset where the line starts
+     */
+    private synchronized void record(long lineNum, long offset) {
+        if (lineNum == (long) checkpointCount * interval + 1) {
+            if (checkpointCount == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+            }
+            checkpoints[checkpointCount++] = offset;
+        }
+    }
+}
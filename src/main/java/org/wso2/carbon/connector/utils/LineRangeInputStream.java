@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Input stream that passes through only a range of lines of the underlying stream.
+ * Lines are detected on the raw bytes (LF, CR LF and CR terminate a line) and the
+ * selected lines are joined with a single new line, without a trailing new line.
+ * Nothing is decoded, hence the content keeps the encoding of the source. This
+ * only works for encodings where CR and LF are single bytes (UTF-8, ISO-8859-x etc.),
+ * see {@link #hasSingleByteLineTerminators(Charset)}.
+ */
+public class LineRangeInputStream extends FilterInputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final long firstLine;
+    private final long lastLine;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean endOfStream = false;
+
+    private long currentLine = 1;
+    private boolean lineStarted = false;
+    private boolean lineEmitted = false;
+    private boolean pendingCarriageReturn = false;
+    private int separatorPosition = LINE_SEPARATOR.length;
+
+    /**
+     * Create a stream returning lines firstLine to lastLine (both inclusive, starting from 1).
+     *
+     * @param in        Underlying stream
+     * @param firstLine First line to pass through
+     * @param lastLine  Last line to pass through. Use Long.MAX_VALUE to read up to the end
+     */
+    public LineRangeInputStream(InputStream in, long firstLine, long lastLine) {
+        super(in);
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+    }
+
+    /**
+     * Check whether CR and LF are encoded as the same single bytes as in ASCII.
+     *
+     * @param charset Charset of the content
+     * @return True if lines of content in the charset can be detected on raw bytes
+     */
+    public static boolean hasSingleByteLineTerminators(Charset charset) {
+        return Arrays.equals("\n".getBytes(charset), new byte[]{'\n'})
+                && Arrays.equals("\r".getBytes(charset), new byte[]{'\r'});
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int written = 0;
+        while (written < len) {
+            if (separatorPosition < LINE_SEPARATOR.length) {
+                b[off + written++] = LINE_SEPARATOR[separatorPosition++];
+                continue;
+            }
+            if (currentLine > lastLine) {
+                break;
+            }
+            if (position == limit) {
+                if (written > 0 || !fill()) {
+                    break;
+                }
+            }
+            byte current = buffer[position];
+            if (pendingCarriageReturn) {
+                pendingCarriageReturn = false;
+                if (current == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            boolean inRange = currentLine >= firstLine;
+            if (inRange && !lineStarted) {
+                lineStarted = true;
+                if (lineEmitted) {
+                    separatorPosition = 0;
+                    continue;
+                }
+                lineEmitted = true;
+            }
+            position++;
+            if (current == '\n' || current == '\r') {
+                pendingCarriageReturn = current == '\r';
+                currentLine++;
+                lineStarted = false;
+            } else if (inRange) {
+                b[off + written++] = current;
+            }
+        }
+        return written == 0 ? -1 : written;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] skipBuffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(n, 0))];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(skipBuffer, 0, (int) Math.min(skipBuffer.length, n - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        // mark is not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfStream) {
+            return false;
+        }
+        int read = in.read(buffer, 0, buffer.length);
+        if (read == -1) {
+            endOfStream = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
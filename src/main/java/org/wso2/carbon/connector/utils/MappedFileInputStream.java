@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Input stream reading a local file through memory mapped windows of a
+ * {@link FileChannel}. Files larger than a window (and larger than 2 GB, the
+ * limit of a single mapping) are mapped one window at a time. The stream reads
+ * up to the size the file had when it was opened.
+ * <p>
+ * A window is unmapped as soon as the next one is mapped or the stream is closed,
+ * instead of holding address space and the file until the buffer is garbage
+ * collected. If the JVM does not allow unmapping, windows are left to the garbage
+ * collector.
+ * <p>
+ * The file must not be truncated while it is read. Accessing a mapped region
+ * that no longer exists in the file fails with an {@link InternalError}.
+ */
+public class MappedFileInputStream extends InputStream {
+
+    private static final Log log = LogFactory.getLog(MappedFileInputStream.class);
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final Unmapper unmapper = createUnmapper();
+
+    private final FileChannel channel;
+    private final long end;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    /**
+     * Open a stream reading the file from the given position.
+     *
+     * @param path     Path of the local file
+     * @param position Byte offset to start reading from
+     * @throws IOException In case of I/O error
+     */
+    public MappedFileInputStream(Path path, long position) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.end = channel.size();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.windowStart = Math.min(position, end);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureWindow()) {
+            return -1;
+        }
+        int read = Math.min(len, window.remaining());
+        window.get(b, off, read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        long position = position();
+        long skipped = Math.min(n, end - position);
+        windowStart = position + skipped;
+        releaseWindow();
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, end - position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            releaseWindow();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private long position() {
+        return window == null ? windowStart : windowStart + window.position();
+    }
+
+    /**
+     * Map the next window of the file if the current one is consumed.
+     *
+     * @return False if the end of the file is reached
+     * @throws IOException In case of I/O error
+     */
+    private boolean ensureWindow() throws IOException {
+        if (window != null) {
+            if (window.hasRemaining()) {
+                return true;
+            }
+            windowStart += window.limit();
+            releaseWindow();
+        }
+        if (windowStart >= end) {
+            return false;
+        }
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(WINDOW_SIZE, end - windowStart));
+        return true;
+    }
+
+    /**
+     * Drop the current window, unmapping it if possible. The buffer must not be accessed afterwards.
+     */
+    private void releaseWindow() {
+        MappedByteBuffer released = window;
+        window = null;
+        if (released != null && unmapper != null) {
+            try {
+                unmapper.unmap(released);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.warn("Error while unmapping a window of a memory mapped file", e);
+            }
+        }
+    }
+
+    /**
+     * Find the way to unmap buffers of the running JVM: Unsafe.invokeCleaner on Java 9 and
+     * later, the cleaner of the buffer on Java 8.
+     *
+     * @return Unmapper, null if buffers can not be unmapped
+     */
+    private static Unmapper createUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8, where buffers are unmapped through their cleaner
+        }
+        try {
+            Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleanMethod.invoke(cleaner);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Memory mapped windows are left to the garbage collector", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Releases the mapping of a buffer.
+     */
+    private interface Unmapper {
+
+        void unmap(MappedByteBuffer buffer) throws ReflectiveOperationException;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read only {@link SeekableByteChannel} over the random access content of a file.
+ * It lets APIs working on seekable channels, such as the central directory based
+ * zip reader of commons-compress, read only the parts of a remote file they need.
+ */
+public class RandomAccessContentChannel implements SeekableByteChannel {
+
+    private static final int MAX_READ_SIZE = 64 * 1024;
+
+    private final RandomAccessContent content;
+    private final long size;
+    private final byte[] readBuffer;
+    private long position;
+    private boolean open = true;
+
+    /**
+     * Create a channel over the random access content.
+     *
+     * @param content Random access content opened for reading
+     * @param size    Size of the file
+     */
+    public RandomAccessContentChannel(RandomAccessContent content, long size) {
+        this.content = content;
+        this.size = size;
+        this.readBuffer = new byte[(int) Math.min(MAX_READ_SIZE, Math.max(size, 1))];
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int length = (int) Math.min(Math.min(dst.remaining(), readBuffer.length), size - position);
+        if (length == 0) {
+            return 0;
+        }
+        content.seek(position);
+        content.readFully(readBuffer, 0, length);
+        dst.put(readBuffer, 0, length);
+        position += length;
+        return length;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Position should not be negative: " + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long newSize) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (open) {
+            open = false;
+            content.close();
+        }
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
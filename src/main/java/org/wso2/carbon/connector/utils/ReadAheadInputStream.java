@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+import org.wso2.org.apache.commons.vfs2.util.RandomAccessMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input stream reading a remote file ahead of the consumer. The file is split in
+ * chunks which are fetched by up to {@code window} lanes concurrently, so that
+ * several read requests are outstanding on the connection at any time instead of
+ * one per round trip. Lane i reads chunks i, i + window, ... through one random
+ * access handle of its own, and chunks are handed to the consumer in order. The
+ * stream reads up to the size the file had when it was opened and holds at most
+ * two chunks per lane in memory.
+ * <p>
+ * Lanes run on a shared bounded pool. A lane whose chunk is not taken within the
+ * idle timeout releases its thread and handle, and is resumed when the consumer
+ * reaches its chunk, so streams that are never closed do not hold threads or
+ * connections. The window is capped at {@link #MAX_WINDOW} since every lane uses
+ * a channel of the SSH session, and servers limit the channels of a session.
+ */
+public class ReadAheadInputStream extends InputStream {
+
+    public static final int CHUNK_SIZE = 1024 * 1024;
+    public static final int MAX_WINDOW = 8;
+
+    private static final Log log = LogFactory.getLog(ReadAheadInputStream.class);
+    private static final int MAX_READ_AHEAD_THREADS = 64;
+    private static final long IDLE_TIMEOUT_SECONDS = 10;
+
+    private static final ExecutorService readers = ThreadPools.newBoundedPool("file-connector-read-ahead",
+            MAX_READ_AHEAD_THREADS);
+
+    private final FileObject file;
+    private final long start;
+    private final long end;
+    private final int chunkSize;
+    private final long idleTimeoutMillis;
+    private final long chunkCount;
+    private final Lane[] lanes;
+    private long nextChunk = 0;
+    private byte[] chunk = new byte[0];
+    private int chunkPosition = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Open a stream reading the file from the given position.
+     *
+     * @param file     File supporting random access reads
+     * @param position Byte offset to start reading from
+     * @param window   Maximum number of chunks fetched concurrently, capped at {@link #MAX_WINDOW}
+     * @throws IOException In case of I/O error
+     */
+    public ReadAheadInputStream(FileObject file, long position, int window) throws IOException {
+        this(file, position, window, CHUNK_SIZE, TimeUnit.SECONDS.toMillis(IDLE_TIMEOUT_SECONDS));
+    }
+
+    ReadAheadInputStream(FileObject file, long position, int window, int chunkSize, long idleTimeoutMillis)
+            throws IOException {
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.end = file.getContent().getSize();
+        this.start = Math.min(position, end);
+        this.chunkCount = (end - start + chunkSize - 1) / chunkSize;
+        this.lanes = new Lane[(int) Math.max(1, Math.min(Math.min(window, MAX_WINDOW), chunkCount))];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+            if (i < chunkCount) {
+                lanes[i].startIfStopped(i);
+            }
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureChunk()) {
+            return -1;
+        }
+        return chunk[chunkPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureChunk()) {
+            return -1;
+        }
+        int read = Math.min(len, chunk.length - chunkPosition);
+        System.arraycopy(chunk, chunkPosition, b, off, read);
+        chunkPosition += read;
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - chunkPosition;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Lanes waiting to hand over a chunk find room, see the stream closed and stop
+        for (Lane lane : lanes) {
+            lane.ready.clear();
+        }
+        chunk = new byte[0];
+        chunkPosition = 0;
+    }
+
+    /**
+     * Move to the next fetched chunk if the current one is consumed.
+     *
+     * @return False if the end of the file is reached
+     * @throws IOException In case fetching the chunk failed
+     */
+    private boolean ensureChunk() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        if (chunkPosition < chunk.length) {
+            return true;
+        }
+        if (nextChunk >= chunkCount) {
+            return false;
+        }
+        Lane lane = lanes[(int) (nextChunk % lanes.length)];
+        lane.startIfStopped(nextChunk);
+        Chunk fetched;
+        try {
+            fetched = lane.ready.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading ahead " + file.getName().getURI());
+        }
+        if (fetched.error != null) {
+            throw fetched.error instanceof IOException ? (IOException) fetched.error
+                    : new IOException("Error while reading ahead " + file.getName().getURI(), fetched.error);
+        }
+        chunk = fetched.bytes;
+        chunkPosition = 0;
+        nextChunk++;
+        return true;
+    }
+
+    private byte[] readChunk(RandomAccessContent content, long index) throws IOException {
+        long offset = start + index * chunkSize;
+        byte[] bytes = new byte[(int) Math.min(chunkSize, end - offset)];
+        content.seek(offset);
+        content.readFully(bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    /**
+     * Reads every chunk of the lane in turn through one random access handle and hands
+     * each over to the consumer once it took the previous one.
+     */
+    private class Lane implements Runnable {
+
+        private final BlockingQueue<Chunk> ready = new ArrayBlockingQueue<>(1);
+        // Guarded by this lane
+        private boolean running = false;
+        private long resumeChunk;
+
+        /**
+         * Start the lane from the given chunk unless it is running or its next chunk is ready.
+         */
+        synchronized void startIfStopped(long fromChunk) {
+            if (!running && ready.isEmpty()) {
+                resumeChunk = fromChunk;
+                running = true;
+                readers.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            long index;
+            synchronized (this) {
+                index = resumeChunk;
+            }
+            RandomAccessContent content = null;
+            try {
+                while (!closed && index < chunkCount) {
+                    Chunk fetched;
+                    try {
+                        if (content == null) {
+                            content = file.getContent().getRandomAccessContent(RandomAccessMode.READ);
+                        }
+                        fetched = new Chunk(readChunk(content, index), null);
+                    } catch (IOException | RuntimeException e) {
+                        fetched = new Chunk(null, e);
+                    }
+                    if (!handOver(fetched)) {
+                        return;
+                    }
+                    if (fetched.error != null) {
+                        break;
+                    }
+                    index += lanes.length;
+                }
+                stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop();
+            } finally {
+                if (content != null) {
+                    try {
+                        content.close();
+                    } catch (IOException e) {
+                        log.warn("Error while closing read ahead handle of " + file.getName().getURI(), e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Hand a chunk over to the consumer, waiting up to the idle timeout for it to take
+         * the previous chunk of the lane.
+         *
+         * @return False if the lane stopped as the consumer is idle
+         */
+        private boolean handOver(Chunk fetched) throws InterruptedException {
+            if (ready.offer(fetched, idleTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            synchronized (this) {
+                if (ready.offer(fetched)) {
+                    return true;
+                }
+                running = false;
+                return false;
+            }
+        }
+
+        private synchronized void stop() {
+            running = false;
+        }
+    }
+
+    /**
+     * Chunk fetched by a lane, or the error fetching it.
+     */
+    private static class Chunk {
+
+        private final byte[] bytes;
+        private final Exception error;
+
+        Chunk(byte[] bytes, Exception error) {
+            this.bytes = bytes;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.connector.exception.FileOperationException;
+import org.wso2.carbon.connector.pojo.RollingPolicy;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends to rolling files. Content appended to {@code name.ext} is written to
+ * numbered segments {@code name.1.ext}, {@code name.2.ext}, ... and a new segment
+ * is started once the current one reaches the size or age threshold of the
+ * policy. A segment may exceed the size threshold by the last append written to it.
+ * <p>
+ * The current segment, its size and when it was started are kept in memory, so
+ * appends do not need to check the file system. On first use the folder is listed
+ * once to continue from the highest existing segment; its age is counted from then.
+ * Rolled segments are optionally compressed to {@code name.N.ext.gz} once no append
+ * is writing to them anymore. Compression runs on the thread of the append that
+ * rolls over, as the file objects of its connection must not be used by other
+ * threads, but after the roll over, so that other appends to the new segment do not
+ * wait for it. Rolling files in use are never evicted from memory, so that a rolling
+ * file is always rolled over under a single lock.
+ */
+public final class RollingFileWriter {
+
+    private static final Log log = LogFactory.getLog(RollingFileWriter.class);
+    private static final int MAX_TRACKED_FILES = 1024;
+    private static final String GZIP_EXTENSION = ".gz";
+
+    /**
+     * Rolling files by URI in LRU order, guarded by its own monitor. When full, the
+     * least recently used rolling file not in use is evicted.
+     */
+    private static final Map<String, RollingFile> rollingFiles =
+            new LinkedHashMap<String, RollingFile>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, RollingFile> eldest) {
+                    if (size() > MAX_TRACKED_FILES) {
+                        Iterator<RollingFile> iterator = values().iterator();
+                        while (iterator.hasNext()) {
+                            if (iterator.next().users == 0) {
+                                iterator.remove();
+                                break;
+                            }
+                        }
+                    }
+                    return false;
+                }
+            };
+
+    private RollingFileWriter() {
+    }
+
+    /**
+     * Writes content to a segment of a rolling file.
+     */
+    @FunctionalInterface
+    public interface SegmentWriter {
+
+        /**
+         * Append content to the segment.
+         *
+         * @param segment Segment to append to, created if it did not exist
+         * @return Number of bytes appended
+         * @throws IOException            In case of I/O error
+         * @throws FileOperationException In case of any application error
+         */
+        long write(FileObject segment) throws IOException, FileOperationException;
+    }
+
+    /**
+     * Append to the current segment of a rolling file, rolling over to a new segment first if needed.
+     *
+     * @param file   Rolling file, which itself is never written
+     * @param policy Thresholds to roll over at
+     * @param writer Writer appending the content to the segment
+     * @return Number of bytes appended
+     * @throws IOException            In case of I/O error
+     * @throws FileOperationException In case of any application error
+     */
+    public static long append(FileObject file, RollingPolicy policy, SegmentWriter writer)
+            throws IOException, FileOperationException {
+
+        RollingFile rollingFile;
+        synchronized (rollingFiles) {
+            rollingFile = rollingFiles.get(file.getName().getURI());
+            if (rollingFile == null) {
+                rollingFile = new RollingFile(file);
+                rollingFiles.put(file.getName().getURI(), rollingFile);
+            }
+            rollingFile.users++;
+        }
+        try {
+            return rollingFile.append(file, policy, writer);
+        } finally {
+            synchronized (rollingFiles) {
+                rollingFile.users--;
+            }
+        }
+    }
+
+    /**
+     * Segments of a rolling file. Appends hold the read lock while writing, so a
+     * roll over, holding the write lock, waits until the current segment is no
+     * longer written.
+     */
+    private static class RollingFile {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Pattern segmentPattern;
+        private final String stem;
+        private final String extension;
+        private int index;
+        private long size;
+        private long startTime;
+        // Number of appends using the rolling file, guarded by the monitor of rollingFiles
+        private int users;
+
+        RollingFile(FileObject file) {
+            String baseName = file.getName().getBaseName();
+            int dot = baseName.lastIndexOf('.');
+            stem = dot > 0 ? baseName.substring(0, dot) : baseName;
+            extension = dot > 0 ? baseName.substring(dot) : Const.EMPTY_STRING;
+            segmentPattern = Pattern.compile(Pattern.quote(stem) + "\\.(\\d+)" + Pattern.quote(extension)
+                    + "(" + Pattern.quote(GZIP_EXTENSION) + ")?");
+        }
+
+        long append(FileObject file, RollingPolicy policy, SegmentWriter writer)
+                throws IOException, FileOperationException {
+
+            while (true) {
+                lock.readLock().lock();
+                try {
+                    if (index > 0 && !isDue(policy)) {
+                        try (FileObject segment = resolveSegment(file, index)) {
+                            long written = writer.write(segment);
+                            synchronized (this) {
+                                size += written;
+                            }
+                            return written;
+                        }
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                FileObject rolled = null;
+                lock.writeLock().lock();
+                try {
+                    if (index == 0) {
+                        discover(file);
+                    } else if (isDue(policy)) {
+                        rolled = rollOver(file);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                // Appends now go to the new segment, hence nothing else writes the rolled one
+                if (rolled != null) {
+                    if (policy.isCompressRolledFiles()) {
+                        compress(rolled);
+                    } else {
+                        rolled.close();
+                    }
+                }
+            }
+        }
+
+        private synchronized boolean isDue(RollingPolicy policy) {
+            return size > 0 && ((policy.getMaxSize() > 0 && size >= policy.getMaxSize())
+                    || (policy.getMaxAge() > 0 && System.currentTimeMillis() - startTime >= policy.getMaxAge()));
+        }
+
+        /**
+         * Continue from the highest existing segment, or start with the first one.
+         */
+        private void discover(FileObject file) throws IOException {
+            int highest = 0;
+            boolean highestCompressed = false;
+            FileObject[] children = file.getParent().getChildren();
+            if (children != null) {
+                for (FileObject child : children) {
+                    Matcher matcher = segmentPattern.matcher(child.getName().getBaseName());
+                    if (matcher.matches()) {
+                        int segmentIndex = Integer.parseInt(matcher.group(1));
+                        if (segmentIndex > highest || (segmentIndex == highest && matcher.group(2) != null)) {
+                            highest = segmentIndex;
+                            highestCompressed = matcher.group(2) != null;
+                        }
+                    }
+                }
+            }
+            long currentSize = 0;
+            if (highest == 0 || highestCompressed) {
+                highest++;
+            } else {
+                try (FileObject segment = resolveSegment(file, highest)) {
+                    currentSize = segment.getContent().getSize();
+                }
+            }
+            synchronized (this) {
+                index = highest;
+                size = currentSize;
+                startTime = System.currentTimeMillis();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Appending to segment " + index + " of rolling file " + file.getName().getBaseName());
+            }
+        }
+
+        /**
+         * Start a new segment.
+         *
+         * @return The rolled segment, to be compressed or closed by the caller
+         */
+        private FileObject rollOver(FileObject file) throws IOException {
+            FileObject rolled = resolveSegment(file, index);
+            AppenderPool.release(rolled);
+            synchronized (this) {
+                index++;
+                size = 0;
+                startTime = System.currentTimeMillis();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Rolled over rolling file " + file.getName().getBaseName() + " to segment " + index);
+            }
+            return rolled;
+        }
+
+        private FileObject resolveSegment(FileObject file, int segmentIndex) throws IOException {
+            FileObject segment = file.getParent().resolveFile(stem + "." + segmentIndex + extension);
+            if (!segment.exists()) {
+                segment.createFile();
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Compress a rolled segment to a gzip file next to it and delete the segment.
+     */
+    private static void compress(FileObject segment) {
+        try (FileObject compressed = segment.getParent().resolveFile(
+                segment.getName().getBaseName() + GZIP_EXTENSION)) {
+            try (InputStream in = segment.getContent().getInputStream();
+                 OutputStream out = new GZIPOutputStream(compressed.getContent().getOutputStream())) {
+                IOUtils.copyLarge(in, out);
+            }
+            segment.delete();
+        } catch (IOException e) {
+            log.error("Error while compressing rolled file " + segment.getName().getBaseName(), e);
+        } finally {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Error while closing rolled file " + segment.getName().getBaseName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.org.apache.commons.vfs2.Capability;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.FileSystemOptions;
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+import org.wso2.org.apache.commons.vfs2.cache.NullFilesCache;
+import org.wso2.org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.wso2.org.apache.commons.vfs2.util.RandomAccessMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Uploads a local file to SMB2 in segments written concurrently, so that transfers
+ * to distant servers are not bound by the latency of a single stream. The segments
+ * are written to a temporary file next to the target and the temporary file is
+ * renamed to the target once all segments are written.
+ * <p>
+ * File objects of a connection must not be used by several threads, hence every
+ * segment is written through its own file system manager, opening its own
+ * connection with the options of the connection of the target.
+ * <p>
+ * Only file systems supporting random access writes through VFS are supported. SFTP
+ * is not, as VFS offers no positional writes for it, and messages to SFTP are
+ * written as a single stream.
+ * <p>
+ * Segments of all uploads are written by one bounded pool, so uploads beyond its
+ * size wait for segments of other uploads to complete.
+ */
+public final class SegmentedUploader {
+
+    /**
+     * Maximum number of segments of an upload, bounding the handles open at once per file.
+     */
+    public static final int MAX_SEGMENTS = 8;
+
+    private static final Log log = LogFactory.getLog(SegmentedUploader.class);
+    private static final String PART_EXTENSION = ".part";
+    private static final int MAX_SEGMENT_WRITERS = 16;
+
+    private static final ExecutorService segmentWriters = ThreadPools.newBoundedPool(
+            "file-connector-segment-writer", MAX_SEGMENT_WRITERS);
+
+    private SegmentedUploader() {
+    }
+
+    /**
+     * Check whether the file can be uploaded in segments.
+     *
+     * @param file File to upload to
+     * @return True if segments can be written concurrently to the file system of the file
+     */
+    public static boolean isSupported(FileObject file) {
+        return Const.SMB2_FILE_SCHEME.equals(file.getName().getScheme())
+                && file.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_WRITE);
+    }
+
+    /**
+     * Upload a local file in segments and replace the target with it.
+     *
+     * @param source   Local file to upload
+     * @param target   File to upload to
+     * @param segments Number of segments written concurrently, at most {@link #MAX_SEGMENTS}
+     * @throws IOException In case of I/O error
+     */
+    public static void upload(File source, FileObject target, int segments) throws IOException {
+
+        long size = source.length();
+        int maxSegments = Math.min(segments, MAX_SEGMENTS);
+        long segmentSize = Math.max(1, (size + maxSegments - 1) / maxSegments);
+        int segmentCount = (int) Math.max(1, (size + segmentSize - 1) / segmentSize);
+
+        // A unique name, so that concurrent uploads to the same target do not write to the same file
+        FileObject partFile = target.getParent().resolveFile(
+                target.getName().getBaseName() + "." + UUID.randomUUID() + PART_EXTENSION);
+        String partUri = partFile.getName().getURI();
+        FileSystemOptions fsOptions = partFile.getFileSystem().getFileSystemOptions();
+        boolean uploaded = false;
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            // Segments are written in place, hence content left by a failed upload must not be reused
+            partFile.delete();
+            partFile.createFile();
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * segmentSize;
+                long length = Math.min(segmentSize, size - start);
+                futures.add(segmentWriters.submit(() -> {
+                    writeRandomAccessSegment(source, partUri, fsOptions, start, length);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Uploaded " + size + " bytes in " + segmentCount + " segments to "
+                        + partFile.getName().getBaseName());
+            }
+            partFile.refresh();
+            long uploadedSize = partFile.getContent().getSize();
+            if (uploadedSize != size) {
+                throw new IOException("Uploaded " + uploadedSize + " bytes instead of " + size + " to "
+                        + partFile.getName().getBaseName());
+            }
+            partFile.moveTo(target);
+            uploaded = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while uploading " + target.getName().getBaseName(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Error while uploading segment of " + target.getName().getBaseName(), cause);
+        } finally {
+            if (!uploaded) {
+                cancel(futures);
+                try {
+                    partFile.delete();
+                } catch (IOException e) {
+                    log.warn("Error while deleting partially uploaded file " + partFile.getName().getBaseName(), e);
+                }
+            }
+            partFile.close();
+        }
+    }
+
+    /**
+     * Cancel the segments not written yet and wait for the ones being written, so that
+     * the temporary file is no longer written when it is deleted.
+     */
+    private static void cancel(List<Future<Void>> futures) {
+        for (Future<Void> future : futures) {
+            future.cancel(false);
+        }
+        for (Future<Void> future : futures) {
+            try {
+                if (!future.isCancelled()) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Already failed, the upload fails with the first error
+            }
+        }
+    }
+
+    private static void writeRandomAccessSegment(File source, String partUri, FileSystemOptions fsOptions,
+                                                 long start, long length) throws IOException {
+
+        StandardFileSystemManager manager = new StandardFileSystemManager();
+        try {
+            manager.setFilesCache(new NullFilesCache());
+            manager.init();
+            try (FileObject file = manager.resolveFile(partUri, fsOptions);
+                 InputStream in = openSegment(source, start);
+                 RandomAccessContent content = file.getContent().getRandomAccessContent(
+                         RandomAccessMode.READWRITE)) {
+                content.seek(start);
+                byte[] buffer = new byte[IOUtils.DEFAULT_BUFFER_SIZE];
+                long remaining = length;
+                while (remaining > 0) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read == -1) {
+                        throw new IOException("Unexpected end of file " + source.getName());
+                    }
+                    content.write(buffer, 0, read);
+                    remaining -= read;
+                }
+            }
+        } finally {
+            manager.close();
+        }
+    }
+
+    private static InputStream openSegment(File source, long start) throws IOException {
+        FileChannel channel = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+        channel.position(start);
+        return Channels.newInputStream(channel);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+
+import java.io.IOException;
+
+/**
+ * Locates the start of the last lines of a file by scanning the content backwards
+ * from the end in blocks, hence only the tail of the file is read. Lines are
+ * detected on the raw bytes (LF, CR LF and CR terminate a line), so this only
+ * works for encodings where CR and LF are single bytes.
+ */
+public final class TailLineLocator {
+
+    private static final int BLOCK_SIZE = 8192;
+
+    private TailLineLocator() {
+    }
+
+    /**
+     * Find the byte offset where the last lineCount lines of the content start.
+     * A terminator at the very end of the content does not start a new line.
+     *
+     * @param content   Random access content of the file
+     * @param size      Size of the content to consider
+     * @param lineCount Number of lines to locate
+     * @return Byte offset of the first of the last lines, 0 if the file has fewer lines
+     * @throws IOException In case of I/O error
+     */
+    public static long findStartOfLastLines(RandomAccessContent content, long size, long lineCount)
+            throws IOException {
+
+        byte[] block = new byte[BLOCK_SIZE];
+        long blockEnd = size;
+        long terminators = 0;
+        // Byte following the one being inspected, -1 at the end of the content
+        int next = -1;
+        while (blockEnd > 0) {
+            int blockLength = (int) Math.min(BLOCK_SIZE, blockEnd);
+            long blockStart = blockEnd - blockLength;
+            content.seek(blockStart);
+            content.readFully(block, 0, blockLength);
+            for (int i = blockLength - 1; i >= 0; i--) {
+                byte current = block[i];
+                boolean lineStartsAfter = current == '\n' || (current == '\r' && next != '\n');
+                next = current;
+                if (!lineStartsAfter || blockStart + i + 1 == size) {
+                    continue;
+                }
+                if (++terminators == lineCount) {
+                    return blockStart + i + 1;
+                }
+            }
+            blockEnd = blockStart;
+        }
+        return 0;
+    }
+}
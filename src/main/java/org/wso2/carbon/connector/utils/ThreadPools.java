@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the thread pools shared by the operations of the connector. Every feature
+ * has its own pool, so that tasks never wait on tasks queued behind them in the
+ * same pool.
+ */
+public final class ThreadPools {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private ThreadPools() {
+    }
+
+    /**
+     * Create a pool of up to maxThreads daemon threads. Idle threads stop after a minute
+     * and tasks beyond maxThreads wait in the queue of the pool.
+     *
+     * @param threadName Name of the threads of the pool
+     * @param maxThreads Maximum number of threads
+     * @return Thread pool
+     */
+    public static ExecutorService newBoundedPool(String threadName, int maxThreads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -20,13 +20,17 @@ package org.wso2.carbon.connector.utils;
 
 import com.google.gson.JsonObject;
 import com.hierynomus.msdtyp.AccessMask;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.org.apache.commons.vfs2.Capability;
 import org.wso2.org.apache.commons.vfs2.FileObject;
 import org.wso2.org.apache.commons.vfs2.FileSystemException;
 import org.wso2.org.apache.commons.vfs2.FileSystemOptions;
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
 import org.wso2.org.apache.commons.vfs2.provider.smb2.Smb2FileSystemConfigBuilder;
+import org.wso2.org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.wso2.carbon.connector.connection.FileSystemHandler;
@@ -35,10 +39,17 @@ import org.wso2.integration.connector.core.connection.ConnectionHandler;
 import org.wso2.integration.connector.core.util.ConnectorUtils;
 import org.wso2.carbon.connector.exception.InvalidConfigurationException;
 import org.wso2.carbon.connector.pojo.FileOperationResult;
+import org.wso2.carbon.connector.pojo.WriteDurability;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashSet;
@@ -275,6 +286,156 @@ public class Utils {
         }
     }
 
+    /**
+     * Open a stream reading random access content from the given position.
+     * Closing the stream also closes the random access content.
+     *
+     * @param content  Random access content of a file
+     * @param position Byte offset to start reading from
+     * @return Stream reading from the position
+     * @throws IOException In case of I/O error
+     */
+    public static InputStream openRandomAccessStream(RandomAccessContent content, long position)
+            throws IOException {
+        content.seek(position);
+        return new FilterInputStream(content.getInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    content.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * Check whether the file should be read through a {@link ReadAheadInputStream}.
+     * Read ahead is used for SFTP files larger than a chunk if a window is configured.
+     *
+     * @param file            File to read
+     * @param readAheadWindow Number of chunks to read concurrently, 0 disables read ahead
+     * @return True if the file should be read ahead
+     * @throws FileSystemException In case of file system issue
+     */
+    public static boolean isReadAheadApplicable(FileObject file, int readAheadWindow) throws FileSystemException {
+        return readAheadWindow > 0 && Const.SFTP_FILE_SCHEME.equals(file.getName().getScheme())
+                && file.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_READ)
+                && file.getContent().getSize() > ReadAheadInputStream.CHUNK_SIZE;
+    }
+
+    /**
+     * Open a stream to the file content, reading ahead if applicable.
+     *
+     * @param file            File to read
+     * @param readAheadWindow Number of chunks to read concurrently, 0 disables read ahead
+     * @return Stream to the file content
+     * @throws IOException In case of I/O error
+     */
+    public static InputStream openInputStream(FileObject file, int readAheadWindow) throws IOException {
+        if (isReadAheadApplicable(file, readAheadWindow)) {
+            return new ReadAheadInputStream(file, 0, readAheadWindow);
+        }
+        return file.getContent().getInputStream();
+    }
+
+    /**
+     * Check whether the zip file can be opened through its central directory
+     * using {@link #openZipFile(FileObject, String)}.
+     *
+     * @param file Zip file
+     * @return True if the file system supports random access reads
+     * @throws FileSystemException In case of file system issue
+     */
+    public static boolean isZipRandomAccessSupported(FileObject file) throws FileSystemException {
+        return file.getFileSystem().hasCapability(Capability.RANDOM_ACCESS_READ);
+    }
+
+    /**
+     * Open a zip file by reading its central directory through the random access
+     * content of the file. Only the central directory and the data of the entries
+     * that are read are transferred, not the whole archive. Closing the zip file
+     * closes the random access content.
+     *
+     * @param file             Zip file
+     * @param fileNameEncoding Encoding of the entry names
+     * @return Zip file
+     * @throws IOException In case of I/O error or if the file is not a zip file
+     */
+    public static ZipFile openZipFile(FileObject file, String fileNameEncoding) throws IOException {
+        RandomAccessContentChannel channel = new RandomAccessContentChannel(
+                file.getContent().getRandomAccessContent(RandomAccessMode.READ), file.getContent().getSize());
+        try {
+            return ZipFile.builder()
+                    .setSeekableByteChannel(channel)
+                    .setCharset(fileNameEncoding)
+                    .setUseUnicodeExtraFields(true)
+                    .get();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Check whether writes to the file are synced as per the durability level.
+     * Syncing is only supported for local files.
+     *
+     * @param file       File written
+     * @param durability Durability level of the write
+     * @return True if the file should be synced
+     */
+    public static boolean isSyncApplicable(FileObject file, WriteDurability durability) {
+        return durability != WriteDurability.NO_SYNC && Const.LOCAL_FILE_SCHEME.equals(file.getName().getScheme());
+    }
+
+    /**
+     * Force the content of a local file to the storage device. File metadata is
+     * forced as well for {@link WriteDurability#FULL_SYNC}.
+     *
+     * @param file       Local file
+     * @param durability Durability level of the write
+     * @throws IOException In case of I/O error
+     */
+    public static void syncLocalFile(FileObject file, WriteDurability durability) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.WRITE)) {
+            channel.force(durability == WriteDurability.FULL_SYNC);
+        }
+    }
+
+    /**
+     * Atomically replace a local file with another file of the same folder. The
+     * source is synced before it is renamed and, for {@link WriteDurability#FULL_SYNC},
+     * the folder is synced afterwards so that the rename is durable as well. The
+     * POSIX permissions of an existing target are kept.
+     *
+     * @param source     File replacing the target
+     * @param target     File to replace
+     * @param durability Durability level of the write
+     * @throws IOException In case of I/O error
+     */
+    public static void replaceLocalFile(FileObject source, FileObject target, WriteDurability durability)
+            throws IOException {
+        // The replacing file would otherwise bring its default permissions to the target
+        if (Files.exists(target.getPath())
+                && Files.getFileAttributeView(target.getPath(), PosixFileAttributeView.class) != null) {
+            Files.setPosixFilePermissions(source.getPath(), Files.getPosixFilePermissions(target.getPath()));
+        }
+        syncLocalFile(source, durability);
+        Files.move(source.getPath(), target.getPath(), StandardCopyOption.ATOMIC_MOVE);
+        source.refresh();
+        target.refresh();
+        if (durability == WriteDurability.FULL_SYNC) {
+            try (FileChannel channel = FileChannel.open(target.getPath().getParent(), StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // Folders cannot be opened for syncing on some platforms (e.g. Windows)
+                log.debug("Unable to sync folder of file " + target.getName().getBaseName(), e);
+            }
+        }
+    }
+
     /**
      * Looks up optional boolean parameter. Value should be a Boolean.
      *
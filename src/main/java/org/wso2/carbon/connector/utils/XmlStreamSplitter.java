@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.wso2.carbon.connector.exception.InvalidConfigurationException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Splits an XML document into parts while it is read, writing every element matching
+ * a path to its own part. Only the elements enclosing the current position are kept
+ * in memory, hence documents of any size can be split.
+ * <p>
+ * The path is a restricted XPath location path of element names, such as
+ * {@code /root/record} or {@code //record}, where a step may be {@code *} and
+ * {@code //} matches any number of levels. Names are matched as written in the
+ * document, including their prefix. Like the DOM based split, each part holds the
+ * matching element wrapped in an element named after its parent, which declares the
+ * namespaces in scope. Matches nested in a matching element stay in the outer part.
+ */
+public class XmlStreamSplitter {
+
+    private static final String XML_ENCODING = "UTF-8";
+    private static final String XML_VERSION = "1.0";
+    private static final String WILDCARD = "*";
+    // Makes the JDK reader report CDATA sections instead of merging them into characters
+    private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+    private static final Pattern STEP_PATTERN = Pattern.compile(
+            "\\*|[A-Za-z_][\\w.\\-]*(:[A-Za-z_][\\w.\\-]*)?");
+
+    private static final XMLInputFactory inputFactory = createInputFactory();
+    private static final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Create a splitter for a path.
+     *
+     * @param path Location path of the elements to split
+     * @throws InvalidConfigurationException If the path is not a supported location path
+     */
+    public XmlStreamSplitter(String path) throws InvalidConfigurationException {
+
+        String remaining = path.trim();
+        if (!remaining.startsWith("/")) {
+            throw new InvalidConfigurationException("Path " + path + " should be an absolute location path");
+        }
+        while (!remaining.isEmpty()) {
+            boolean descendant = remaining.startsWith("//");
+            remaining = remaining.substring(descendant ? 2 : 1);
+            int end = remaining.indexOf('/');
+            String name = end == -1 ? remaining : remaining.substring(0, end);
+            if (!STEP_PATTERN.matcher(name).matches()) {
+                throw new InvalidConfigurationException("Path " + path + " is not supported for streaming. "
+                        + "Only element names and * are supported as steps, e.g. /root/record");
+            }
+            steps.add(new Step(descendant, name));
+            remaining = end == -1 ? "" : remaining.substring(end);
+        }
+    }
+
+    /**
+     * Split the document, writing each matching element to a part as soon as it is read.
+     *
+     * @param in    Stream of the document
+     * @param parts Opens the streams of the parts
+     * @return Number of parts written
+     * @throws IOException        In case of I/O error while writing a part
+     * @throws XMLStreamException If the document is not well formed
+     */
+    public int split(InputStream in, PartOpener parts) throws IOException, XMLStreamException {
+
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+        List<ElementFrame> openElements = new ArrayList<>();
+        int partCount = 0;
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    openElements.add(new ElementFrame(reader));
+                    if (matches(0, openElements, 0)) {
+                        partCount++;
+                        writePart(reader, openElements, parts, partCount);
+                        openElements.remove(openElements.size() - 1);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    openElements.remove(openElements.size() - 1);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return partCount;
+    }
+
+    /**
+     * Check whether the open elements from the given level match the path from the given step.
+     */
+    private boolean matches(int stepIndex, List<ElementFrame> openElements, int level) {
+
+        if (stepIndex == steps.size()) {
+            return level == openElements.size();
+        }
+        Step step = steps.get(stepIndex);
+        int lastLevel = step.descendant ? openElements.size() - 1 : level;
+        for (int i = level; i <= lastLevel && i < openElements.size(); i++) {
+            if (step.matches(openElements.get(i).qualifiedName) && matches(stepIndex + 1, openElements, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the element at the reader, up to its end element, to a new part.
+     */
+    private void writePart(XMLStreamReader reader, List<ElementFrame> openElements, PartOpener parts,
+                           int partNumber) throws IOException, XMLStreamException {
+
+        ElementFrame parent = openElements.size() > 1 ? openElements.get(openElements.size() - 2) : null;
+        String partName = parent != null ? parent.localName : reader.getLocalName();
+        try (OutputStream out = parts.open(partName, partNumber)) {
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out, XML_ENCODING);
+            writer.writeStartDocument(XML_ENCODING, XML_VERSION);
+            if (parent != null) {
+                writer.writeStartElement(parent.prefix, parent.localName, parent.namespaceURI);
+                for (Map.Entry<String, String> namespace : getNamespacesInScope(openElements).entrySet()) {
+                    writeNamespace(writer, namespace.getKey(), namespace.getValue());
+                }
+            }
+            int depth = 0;
+            int event = XMLStreamConstants.START_ELEMENT;
+            while (true) {
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        writeStartElement(reader, writer);
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        writer.writeEndElement();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(),
+                                reader.getTextLength());
+                        break;
+                    case XMLStreamConstants.CDATA:
+                        writer.writeCData(reader.getText());
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                        writer.writeComment(reader.getText());
+                        break;
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                        break;
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        writer.writeEntityRef(reader.getLocalName());
+                        break;
+                    default:
+                        break;
+                }
+                if (depth == 0) {
+                    break;
+                }
+                event = reader.next();
+            }
+            if (parent != null) {
+                writer.writeEndElement();
+            }
+            writer.writeEndDocument();
+            writer.close();
+        }
+    }
+
+    private static void writeStartElement(XMLStreamReader reader, XMLStreamWriter writer)
+            throws XMLStreamException {
+
+        writer.writeStartElement(nonNull(reader.getPrefix()), reader.getLocalName(),
+                nonNull(reader.getNamespaceURI()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            writeNamespace(writer, nonNull(reader.getNamespacePrefix(i)), nonNull(reader.getNamespaceURI(i)));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespaceURI = reader.getAttributeNamespace(i);
+            if (namespaceURI == null || namespaceURI.isEmpty()) {
+                writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            } else {
+                writer.writeAttribute(nonNull(reader.getAttributePrefix(i)), namespaceURI,
+                        reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+        }
+    }
+
+    private static void writeNamespace(XMLStreamWriter writer, String prefix, String namespaceURI)
+            throws XMLStreamException {
+
+        if (prefix.isEmpty()) {
+            writer.writeDefaultNamespace(namespaceURI);
+        } else {
+            writer.writeNamespace(prefix, namespaceURI);
+        }
+    }
+
+    /**
+     * Get the namespaces declared by the ancestors of the current element, inner declarations first.
+     */
+    private static Map<String, String> getNamespacesInScope(List<ElementFrame> openElements) {
+
+        Map<String, String> namespaces = new LinkedHashMap<>();
+        for (int i = openElements.size() - 2; i >= 0; i--) {
+            for (String[] namespace : openElements.get(i).namespaces) {
+                namespaces.putIfAbsent(namespace[0], namespace[1]);
+            }
+        }
+        return namespaces;
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        if (factory.isPropertySupported(REPORT_CDATA_EVENT)) {
+            factory.setProperty(REPORT_CDATA_EVENT, true);
+        }
+        return factory;
+    }
+
+    /**
+     * Opens the stream of a part.
+     */
+    public interface PartOpener {
+
+        /**
+         * Open the stream of a part. The stream is closed once the part is written.
+         *
+         * @param name       Local name of the parent of the matching element
+         * @param partNumber Number of the part starting from 1
+         * @return Stream to write the part to
+         * @throws IOException In case of error creating the part
+         */
+        OutputStream open(String name, int partNumber) throws IOException;
+    }
+
+    /**
+     * Step of the location path.
+     */
+    private static class Step {
+
+        private final boolean descendant;
+        private final String name;
+
+        Step(boolean descendant, String name) {
+            this.descendant = descendant;
+            this.name = name;
+        }
+
+        boolean matches(String qualifiedName) {
+            return WILDCARD.equals(name) || name.equals(qualifiedName);
+        }
+    }
+
+    /**
+     * Element enclosing the current position of the reader.
+     */
+    private static class ElementFrame {
+
+        private final String prefix;
+        private final String localName;
+        private final String namespaceURI;
+        private final String qualifiedName;
+        private final List<String[]> namespaces;
+
+        ElementFrame(XMLStreamReader reader) {
+            prefix = nonNull(reader.getPrefix());
+            localName = reader.getLocalName();
+            namespaceURI = nonNull(reader.getNamespaceURI());
+            qualifiedName = prefix.isEmpty() ? localName : prefix + ":" + localName;
+            namespaces = new ArrayList<>(reader.getNamespaceCount());
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                namespaces.add(new String[]{nonNull(reader.getNamespacePrefix(i)),
+                        nonNull(reader.getNamespaceURI(i))});
+            }
+        }
+    }
+}
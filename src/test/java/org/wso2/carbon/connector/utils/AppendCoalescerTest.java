@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.connector.pojo.WriteDurability;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.impl.StandardFileSystemManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests group commits of concurrent appends through {@link AppendCoalescer}.
+ */
+public class AppendCoalescerTest {
+
+    private static final int THREADS = 16;
+
+    private StandardFileSystemManager fsm;
+    private Path workDir;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        fsm = new StandardFileSystemManager();
+        fsm.init();
+        workDir = Files.createTempDirectory("append-coalescer-test-");
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (fsm != null) {
+            fsm.close();
+        }
+        if (workDir != null) {
+            deleteRecursively(workDir.toFile());
+        }
+    }
+
+    @Test
+    public void testSingleAppend() throws Exception {
+        FileObject file = createFile("single.txt", "first\n");
+
+        assertEquals(AppendCoalescer.append(file, bytes("second\n"), 0, 10, WriteDurability.NO_SYNC), 7);
+        assertEquals(AppendCoalescer.append(file, bytes("third\n"), 0, 10, WriteDurability.DATA_SYNC), 6);
+        assertEquals(read(file), "first\nsecond\nthird\n");
+    }
+
+    @Test(timeOut = 20000)
+    public void testConcurrentAppendsAreWrittenOnce() throws Exception {
+        FileObject file = createFile("concurrent.txt", "");
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            records.add("record-" + i + "\n");
+        }
+
+        List<Long> results = appendConcurrently(file, records, 20, 5);
+
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(results.get(i).longValue(), records.get(i).length());
+        }
+        String[] lines = read(file).split("\n");
+        assertEquals(lines.length, records.size());
+        Set<String> written = new HashSet<>();
+        Collections.addAll(written, lines);
+        for (String record : records) {
+            assertTrue(written.contains(record.trim()), "Missing " + record.trim());
+        }
+    }
+
+    @Test(timeOut = 20000)
+    public void testLeadershipIsHandedOverWhenBatchIsFull() throws Exception {
+        FileObject file = createFile("handoff.txt", "");
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            records.add("r" + i + "\n");
+        }
+
+        // Batches of two are written as soon as they are full, never after the long delay, so every
+        // group beyond the first completes only if the leadership is handed over to a waiting caller
+        long start = System.currentTimeMillis();
+        appendConcurrently(file, records, 60000, 2);
+
+        assertTrue(System.currentTimeMillis() - start < 15000);
+        assertEquals(read(file).split("\n").length, records.size());
+    }
+
+    @Test(timeOut = 20000)
+    public void testWriteErrorFailsEveryAppendOfTheGroup() throws Exception {
+        // The parent of the file is a regular file, hence the file cannot be opened for append
+        Path notAFolder = Files.write(workDir.resolve("not-a-folder"), bytes("x"));
+        FileObject file = fsm.resolveFile(notAFolder.resolve("child.txt").toUri().toString());
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            records.add("record-" + i + "\n");
+        }
+
+        try {
+            appendConcurrently(file, records, 100, 4);
+            fail("The write error should fail the appends");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        // The failed group is retired and later appends to other files are not affected
+        FileObject other = createFile("after-error.txt", "");
+        AppendCoalescer.append(other, bytes("ok\n"), 0, 10, WriteDurability.NO_SYNC);
+        assertEquals(read(other), "ok\n");
+    }
+
+    /**
+     * Append the records from separate threads released at the same time.
+     *
+     * @return Result of each append, in the order of the records
+     */
+    private List<Long> appendConcurrently(FileObject file, List<String> records, long maxDelay, int maxBatchSize)
+            throws Exception {
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (String record : records) {
+            Callable<Long> task = () -> {
+                start.await();
+                return AppendCoalescer.append(file, bytes(record), maxDelay, maxBatchSize,
+                        WriteDurability.NO_SYNC);
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        List<Long> results = new ArrayList<>();
+        ExecutionException error = null;
+        for (Future<Long> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                error = e;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return results;
+    }
+
+    private FileObject createFile(String name, String content) throws IOException {
+        Path path = workDir.resolve(name);
+        Files.write(path, bytes(content));
+        return fsm.resolveFile(path.toUri().toString());
+    }
+
+    private static String read(FileObject file) throws IOException {
+        return new String(Files.readAllBytes(file.getPath()), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
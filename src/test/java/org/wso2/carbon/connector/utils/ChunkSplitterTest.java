@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests splitting streams into parts through {@link ChunkSplitter}.
+ */
+public class ChunkSplitterTest {
+
+    @Test
+    public void testSplitWithoutKeepingRecords() throws Exception {
+        List<String> parts = split("abcdefghij", 4, false, 3);
+
+        assertEquals(parts, Arrays.asList("abcd", "efgh", "ij"));
+    }
+
+    @Test
+    public void testRecordsAreKeptIntact() throws Exception {
+        assertEquals(split("aa\nbbbbb\ncc\n", 4, true, 5), Arrays.asList("aa\nbbbbb\n", "cc\n"));
+        assertEquals(split("aaaaa\r\nb\r\ncc", 4, true, 5), Arrays.asList("aaaaa\r\n", "b\r\ncc"));
+        assertEquals(split("aaaaa\rbbbbb\rc", 4, true, 5), Arrays.asList("aaaaa\r", "bbbbb\r", "c"));
+    }
+
+    @Test
+    public void testChunkEndingAtLineTerminator() throws Exception {
+        // The part is complete at the chunk size when its last byte ends a line
+        assertEquals(split("abc\ndef\n", 4, true, 64), Arrays.asList("abc\n", "def\n"));
+        // A CR at the chunk size still takes the LF following it
+        assertEquals(split("abc\r\ndef\r\n", 4, true, 64), Arrays.asList("abc\r\n", "def\r\n"));
+        assertEquals(split("abc\rdef\r", 4, true, 64), Arrays.asList("abc\r", "def\r"));
+    }
+
+    @Test
+    public void testCarriageReturnLineFeedAtBufferBoundary() throws Exception {
+        // The CR is the last byte of a buffer and the LF the first of the next one,
+        // once at the chunk size and once while seeking the end of the line
+        assertEquals(split("abc\r\ndef", 4, true, 4), Arrays.asList("abc\r\n", "def"));
+        assertEquals(split("abcdefg\r\nhi", 2, true, 8), Arrays.asList("abcdefg\r\n", "hi"));
+        // A CR ending a buffer and followed by another line
+        assertEquals(split("abcdefg\rhi", 2, true, 8), Arrays.asList("abcdefg\r", "hi"));
+    }
+
+    @Test
+    public void testBufferBoundariesDoNotChangeParts() throws Exception {
+        String content = "one\r\ntwo\nthree\rfour\r\n\r\nfive\nsix";
+        List<String> expected = Arrays.asList("one\r\n", "two\nthree\r", "four\r\n", "\r\nfive\n", "six");
+
+        for (int bufferSize = 1; bufferSize <= content.length() + 1; bufferSize++) {
+            assertEquals(split(content, 5, true, bufferSize), expected, "Buffers of " + bufferSize + " bytes");
+        }
+    }
+
+    @Test
+    public void testLineWithoutTerminatorUntilEndOfStream() throws Exception {
+        assertEquals(split("ab\ncdefghijk", 4, true, 3), Arrays.asList("ab\ncdefghijk"));
+        // A CR ending the stream ends the last part
+        assertEquals(split("abcdef\r", 4, true, 3), Arrays.asList("abcdef\r"));
+    }
+
+    @Test
+    public void testEmptyStreamHasNoParts() throws Exception {
+        List<String> parts = new ArrayList<>();
+
+        assertEquals(new ChunkSplitter(4, true, 8).split(stream(""), collect(parts)), 0);
+        assertTrue(parts.isEmpty());
+    }
+
+    @Test
+    public void testReadErrorIsPropagated() throws Exception {
+        InputStream failing = new FilterInputStream(stream("abcdefgh")) {
+            private boolean first = true;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (first) {
+                    first = false;
+                    return super.read(b, off, len);
+                }
+                throw new IOException("Connection reset");
+            }
+        };
+        List<String> parts = new ArrayList<>();
+
+        try {
+            new ChunkSplitter(4, false, 6).split(failing, collect(parts));
+            fail("The read error should be propagated");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Connection reset");
+        }
+        // The completed part and the content of the open one are written, and the open part is closed
+        assertEquals(parts, Arrays.asList("abcd", "ef"));
+    }
+
+    private static List<String> split(String content, long chunkSize, boolean keepRecordsIntact, int bufferSize)
+            throws IOException {
+
+        List<String> parts = new ArrayList<>();
+        ChunkSplitter splitter = new ChunkSplitter(chunkSize, keepRecordsIntact, bufferSize);
+        assertEquals(splitter.split(stream(content), collect(parts)), parts.size());
+        return parts;
+    }
+
+    /**
+     * Opener adding the content of each part to the list once the part is closed.
+     */
+    private static ChunkSplitter.PartOpener collect(List<String> parts) {
+        return partNumber -> {
+            // Parts are opened in order, after the previous one is closed
+            assertEquals(partNumber, parts.size());
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    parts.add(new String(toByteArray(), StandardCharsets.UTF_8));
+                }
+            };
+        };
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests reading new line delimited records through {@link DelimitedRecordReader}.
+ */
+public class DelimitedRecordReaderTest {
+
+    @Test
+    public void testLineTerminators() throws Exception {
+        assertEquals(records("a\nb\r\nc\rd", false), Arrays.asList("a", "b", "c", "d"));
+        assertEquals(records("a\r\n", false), Collections.singletonList("a"));
+        assertEquals(records("", false), Collections.emptyList());
+    }
+
+    @Test
+    public void testCarriageReturnLineFeedAcrossReads() throws Exception {
+        // The stream returns the CR and the LF in separate reads
+        InputStream in = new SequenceInputStream(stream("first\r"), stream("\nsecond"));
+        DelimitedRecordReader reader = new DelimitedRecordReader(in, false);
+
+        assertEquals(next(reader), "first");
+        assertEquals(reader.getBytesConsumed(), 7);
+        assertEquals(next(reader), "second");
+        assertNull(reader.nextRecord());
+    }
+
+    @Test
+    public void testQuotedLineTerminatorsStayInRecord() throws Exception {
+        String csv = "id,note\r\n1,\"line one\nline two\"\r\n2,\"a\r\nb\"\n3,plain";
+
+        assertEquals(records(csv, true), Arrays.asList("id,note", "1,\"line one\nline two\"", "2,\"a\r\nb\"",
+                "3,plain"));
+        // Quotes are not honoured for JSON Lines
+        assertEquals(records("{\"a\":\"x\ny\"}", false), Arrays.asList("{\"a\":\"x", "y\"}"));
+    }
+
+    @Test
+    public void testEscapedQuotes() throws Exception {
+        // A doubled quote toggles the quote state twice, so a line terminator after it is still quoted
+        String csv = "1,\"say \"\"hi\"\"\nthere\"\n2,\"\"\"\"\n";
+
+        List<String> records = records(csv, true);
+
+        assertEquals(records, Arrays.asList("1,\"say \"\"hi\"\"\nthere\"", "2,\"\"\"\""));
+        assertEquals(DelimitedRecordReader.splitCsvRecord(records.get(0), ','),
+                Arrays.asList("1", "say \"hi\"\nthere"));
+        assertEquals(DelimitedRecordReader.splitCsvRecord(records.get(1), ','), Arrays.asList("2", "\""));
+    }
+
+    @Test
+    public void testSplitCsvRecord() {
+        assertEquals(DelimitedRecordReader.splitCsvRecord("a,\"b,c\",,d", ','), Arrays.asList("a", "b,c", "", "d"));
+        assertEquals(DelimitedRecordReader.splitCsvRecord("a;\"b;c\"", ';'), Arrays.asList("a", "b;c"));
+        assertEquals(DelimitedRecordReader.splitCsvRecord("", ','), Collections.singletonList(""));
+        assertEquals(DelimitedRecordReader.splitCsvRecord("a,", ','), Arrays.asList("a", ""));
+    }
+
+    @Test
+    public void testBlankRecordsAndTrailingBlankLine() throws Exception {
+        String content = "a\n\n  \r\nb\n\n";
+        DelimitedRecordReader reader = new DelimitedRecordReader(stream(content), true);
+        List<String> records = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+
+        while (true) {
+            long offset = reader.getBytesConsumed();
+            byte[] record = reader.nextRecord();
+            if (record == null) {
+                break;
+            }
+            records.add(new String(record, StandardCharsets.UTF_8));
+            offsets.add(offset);
+        }
+
+        // Blank records are returned so that the caller can skip them while counting their bytes
+        assertEquals(records, Arrays.asList("a", "", "  ", "b", ""));
+        assertEquals(offsets, Arrays.asList(0L, 2L, 3L, 7L, 9L));
+        // The trailing line terminator does not start another record
+        assertEquals(reader.getBytesConsumed(), content.length());
+        assertNull(reader.nextRecord());
+    }
+
+    @Test
+    public void testResumeFromBytesConsumed() throws Exception {
+        String csv = "1,\"x\ny\"\r\n2,b\n3,c";
+        DelimitedRecordReader reader = new DelimitedRecordReader(stream(csv), true);
+        next(reader);
+
+        long offset = reader.getBytesConsumed();
+        DelimitedRecordReader resumed = new DelimitedRecordReader(stream(csv.substring((int) offset)), true);
+
+        assertEquals(next(resumed), "2,b");
+        assertEquals(next(resumed), "3,c");
+        assertNull(resumed.nextRecord());
+    }
+
+    @Test
+    public void testMaxRecordSize() throws Exception {
+        DelimitedRecordReader reader = new DelimitedRecordReader(stream("abcd\nabcde\n"), false, 4);
+
+        // The line terminator does not count towards the size of the record
+        assertEquals(next(reader), "abcd");
+        try {
+            reader.nextRecord();
+            fail("A record larger than the maximum record size should fail the read");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("maximum record size of 4 bytes"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUnbalancedQuoteFailsTheRead() throws Exception {
+        DelimitedRecordReader reader = new DelimitedRecordReader(stream("1,\"open\n2,b\n3,c\n"), true, 8);
+
+        try {
+            reader.nextRecord();
+            fail("An unbalanced quote should not buffer the rest of the stream");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("unbalanced double quote"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testDefaultMaxRecordSize() throws Exception {
+        int maxRecordSize = DelimitedRecordReader.DEFAULT_MAX_RECORD_SIZE;
+        assertEquals(maxRecordSize, 16 * 1024 * 1024);
+
+        DelimitedRecordReader reader = new DelimitedRecordReader(new RepeatingInputStream(maxRecordSize, '\n'),
+                false);
+        assertEquals(reader.nextRecord().length, maxRecordSize);
+        assertNull(reader.nextRecord());
+
+        reader = new DelimitedRecordReader(new RepeatingInputStream(maxRecordSize + 1, '\n'), false);
+        try {
+            reader.nextRecord();
+            fail("A record larger than the default maximum record size should fail the read");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("maximum record size of " + maxRecordSize + " bytes"),
+                    e.getMessage());
+        }
+    }
+
+    private static List<String> records(String content, boolean honourQuotes) throws IOException {
+        DelimitedRecordReader reader = new DelimitedRecordReader(stream(content), honourQuotes);
+        List<String> records = new ArrayList<>();
+        byte[] record;
+        while ((record = reader.nextRecord()) != null) {
+            records.add(new String(record, StandardCharsets.UTF_8));
+        }
+        assertEquals(reader.getBytesConsumed(), content.length());
+        return records;
+    }
+
+    private static String next(DelimitedRecordReader reader) throws IOException {
+        byte[] record = reader.nextRecord();
+        return record == null ? null : new String(record, StandardCharsets.UTF_8);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stream of a record of repeated bytes followed by a line terminator, without holding the record in memory.
+     */
+    private static class RepeatingInputStream extends InputStream {
+
+        private final long length;
+        private final int terminator;
+        private long position = 0;
+
+        RepeatingInputStream(long length, int terminator) {
+            this.length = length;
+            this.terminator = terminator;
+        }
+
+        @Override
+        public int read() {
+            if (position > length) {
+                return -1;
+            }
+            return position++ < length ? 'a' : terminator;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position > length) {
+                return -1;
+            }
+            int count = 0;
+            while (count < len && position < length) {
+                b[off + count++] = 'a';
+                position++;
+            }
+            if (count < len && position == length) {
+                b[off + count++] = (byte) terminator;
+                position++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests copying streams through {@link DoubleBufferedPipe}.
+ */
+public class DoubleBufferedPipeTest {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    @Test(timeOut = 10000)
+    public void testCopyLargerThanBuffers() throws Exception {
+        byte[] content = randomBytes(BUFFER_SIZE * 10 + 123);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Short reads leave buffers partially filled by each read of the source
+        long copied = DoubleBufferedPipe.copy(chunked(new ByteArrayInputStream(content), 100), out, BUFFER_SIZE);
+
+        assertEquals(copied, content.length);
+        assertTrue(Arrays.equals(out.toByteArray(), content));
+    }
+
+    @Test(timeOut = 10000)
+    public void testCopyEmptyStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(DoubleBufferedPipe.copy(new ByteArrayInputStream(new byte[0]), out, BUFFER_SIZE), 0);
+        assertEquals(out.size(), 0);
+    }
+
+    @Test(timeOut = 10000)
+    public void testReadErrorIsPropagated() throws Exception {
+        byte[] content = randomBytes(BUFFER_SIZE * 3);
+        InputStream failing = new FilterInputStream(new ByteArrayInputStream(content)) {
+            private int served;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (served >= BUFFER_SIZE * 2) {
+                    throw new IOException("Connection reset");
+                }
+                int read = super.read(b, off, len);
+                served += Math.max(read, 0);
+                return read;
+            }
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            DoubleBufferedPipe.copy(failing, out, BUFFER_SIZE);
+            fail("The read error should be propagated");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Connection reset");
+        }
+        // Content read before the error is written in order
+        assertTrue(Arrays.equals(out.toByteArray(), Arrays.copyOf(content, out.size())));
+    }
+
+    @Test(timeOut = 10000)
+    public void testWriteErrorIsPropagated() throws Exception {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Disk full");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Disk full");
+            }
+        };
+
+        try {
+            DoubleBufferedPipe.copy(new ByteArrayInputStream(randomBytes(BUFFER_SIZE * 4)), failing, BUFFER_SIZE);
+            fail("The write error should be propagated");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Disk full");
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testReaderOutlivingFailedCopyDoesNotCorruptOtherCopies() throws Exception {
+        int bufferSize = 1000;
+        // Copies holding all pooled buffers, so that buffers released by the failed copy are taken next
+        int holderCount = 8;
+        CountDownLatch holding = new CountDownLatch(holderCount);
+        CountDownLatch releaseHolders = new CountDownLatch(1);
+        Thread[] holders = new Thread[holderCount];
+        for (int i = 0; i < holderCount; i++) {
+            InputStream blocking = new InputStream() {
+                @Override
+                public int read() {
+                    holding.countDown();
+                    awaitUninterruptibly(releaseHolders);
+                    return -1;
+                }
+            };
+            holders[i] = new Thread(() -> {
+                try {
+                    DoubleBufferedPipe.copy(blocking, new ByteArrayOutputStream(), bufferSize);
+                } catch (IOException e) {
+                    // not expected, the content of the holders is not checked
+                }
+            });
+            holders[i].start();
+        }
+        holding.await();
+
+        CountDownLatch readerBlocked = new CountDownLatch(1);
+        CountDownLatch unblockReader = new CountDownLatch(1);
+        CountDownLatch garbageWritten = new CountDownLatch(1);
+        // Serves one buffer, then blocks in a read swallowing interrupts, then fills buffers with garbage
+        InputStream stuck = new InputStream() {
+            private int calls;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (calls++ == 0) {
+                    Arrays.fill(b, off, off + len, (byte) 'a');
+                    return len;
+                }
+                readerBlocked.countDown();
+                awaitUninterruptibly(unblockReader);
+                Arrays.fill(b, off, off + len, (byte) 'X');
+                if (calls == 3) {
+                    // The buffer written by the copy before it was interrupted is filled again
+                    garbageWritten.countDown();
+                }
+                return len;
+            }
+        };
+        // The copy is interrupted while waiting for the reader, after the first buffer is written
+        IOException[] error = new IOException[1];
+        Thread copier = new Thread(() -> {
+            try {
+                DoubleBufferedPipe.copy(stuck, new ByteArrayOutputStream(), bufferSize);
+            } catch (IOException e) {
+                error[0] = e;
+            }
+        });
+        copier.start();
+        readerBlocked.await();
+        while (copier.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        copier.interrupt();
+        copier.join();
+        assertTrue(error[0] instanceof InterruptedIOException);
+
+        // The reader of the failed copy resumes while the next copy writes its first buffer
+        byte[] content = randomBytes(bufferSize * 10);
+        ByteArrayOutputStream copied = new ByteArrayOutputStream();
+        OutputStream out = new FilterOutputStream(copied) {
+            private boolean first = true;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (first) {
+                    first = false;
+                    unblockReader.countDown();
+                    awaitUninterruptibly(garbageWritten);
+                }
+                out.write(b, off, len);
+            }
+        };
+        try {
+            DoubleBufferedPipe.copy(new ByteArrayInputStream(content), out, bufferSize);
+            assertTrue(Arrays.equals(copied.toByteArray(), content));
+        } finally {
+            releaseHolders.countDown();
+            for (Thread holder : holders) {
+                holder.join();
+            }
+        }
+    }
+
+    /**
+     * Wait for the latch, swallowing interruptions like some socket streams do.
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // keep waiting
+            }
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Stream returning at most chunk bytes per read.
+     */
+    private static InputStream chunked(InputStream in, int chunk) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, chunk));
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.impl.StandardFileSystemManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests deciding whether files are still being written through {@link FileStabilityTracker}.
+ * Each test uses its own connection name, as observations are kept across operations.
+ */
+public class FileStabilityTrackerTest {
+
+    private static final long MINUTE = 60 * 1000L;
+
+    private StandardFileSystemManager fsm;
+    private Path workDir;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        fsm = new StandardFileSystemManager();
+        fsm.init();
+        workDir = Files.createTempDirectory("file-stability-tracker-test-");
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+        if (fsm != null) {
+            fsm.close();
+        }
+        if (workDir != null) {
+            deleteRecursively(workDir.toFile());
+        }
+    }
+
+    @Test
+    public void testFirstSightingUsesLastModifiedTime() throws Exception {
+        FileObject oldFile = createFile("old.txt", "content", now() - 10 * MINUTE);
+        FileObject newFile = createFile("new.txt", "content", now());
+
+        // A file last modified before the interval is stable without being seen before
+        assertTrue(FileStabilityTracker.isStable("first-sighting", oldFile, 5 * MINUTE));
+        assertFalse(FileStabilityTracker.isStable("first-sighting", newFile, 5 * MINUTE));
+        // A last modified time ahead of the local clock counts from the first sighting
+        FileObject futureFile = createFile("future.txt", "content", now() + 10 * MINUTE);
+        assertFalse(FileStabilityTracker.isStable("first-sighting", futureFile, 1000));
+    }
+
+    @Test
+    public void testChangeResetsSince() throws Exception {
+        long lastModifiedTime = now() - 10 * MINUTE;
+        FileObject file = createFile("changing.txt", "first", lastModifiedTime);
+        assertTrue(FileStabilityTracker.isStable("change", file, 5 * MINUTE));
+
+        // A change of size is unstable although the last modified time is kept old
+        append(file, " second", lastModifiedTime);
+        assertFalse(FileStabilityTracker.isStable("change", file, 5 * MINUTE));
+        assertFalse(FileStabilityTracker.isStable("change", file, 5 * MINUTE));
+
+        // A change of the last modified time alone is also a change
+        Thread.sleep(200);
+        assertTrue(FileStabilityTracker.isStable("change", file, 100));
+        setLastModified(file, lastModifiedTime + 1000);
+        assertFalse(FileStabilityTracker.isStable("change", file, 100));
+
+        // Once unchanged for the interval the file is stable from its history, without waiting
+        Thread.sleep(200);
+        assertTrue(FileStabilityTracker.isStable("change", file, 100));
+    }
+
+    @Test
+    public void testInvalidOrNonPositiveIntervalIsStable() throws Exception {
+        FileObject file = createFile("interval.txt", "content", now());
+
+        for (String interval : new String[]{null, "", "abc", "1.5", "0", "-5"}) {
+            assertTrue(FileStabilityTracker.isStable("interval", file, interval), "Interval " + interval);
+        }
+        assertTrue(FileStabilityTracker.isStable("interval", file, 0));
+        assertTrue(FileStabilityTracker.isStable("interval", file, -1));
+        assertTrue(FileStabilityTracker.getUnstableFiles("interval", Collections.singletonList(file), "x")
+                .isEmpty());
+        // A valid interval is trimmed
+        assertFalse(FileStabilityTracker.isStable("interval", file, " 300000 "));
+    }
+
+    @Test
+    public void testHistoryIsKeptPerConnection() throws Exception {
+        long lastModifiedTime = now() - 10 * MINUTE;
+        FileObject file = createFile("shared.txt", "first", lastModifiedTime);
+        assertTrue(FileStabilityTracker.isStable("connection-a", file, 5 * MINUTE));
+
+        append(file, " second", lastModifiedTime);
+
+        // The first connection saw the change, the second sees the file for the first time
+        assertFalse(FileStabilityTracker.isStable("connection-a", file, 5 * MINUTE));
+        assertTrue(FileStabilityTracker.isStable("connection-b", file, 5 * MINUTE));
+    }
+
+    @Test
+    public void testUnstableFilesOfBatch() throws Exception {
+        FileObject stable = createFile("batch-stable.txt", "content", now() - 10 * MINUTE);
+        FileObject unstable = createFile("batch-unstable.txt", "content", now());
+        FileObject missing = fsm.resolveFile(workDir.resolve("batch-missing.txt").toUri().toString());
+
+        // Files that cannot be checked are assumed to be stable
+        assertEquals(FileStabilityTracker.getUnstableFiles("batch", Arrays.asList(stable, unstable, missing),
+                "300000"), Collections.singleton(unstable));
+        assertTrue(FileStabilityTracker.getUnstableFiles("batch", Collections.<FileObject>emptyList(), 1000)
+                .isEmpty());
+    }
+
+    private FileObject createFile(String name, String content, long lastModifiedTime) throws IOException {
+        Path path = workDir.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        assertTrue(path.toFile().setLastModified(lastModifiedTime));
+        return fsm.resolveFile(path.toUri().toString());
+    }
+
+    private static void append(FileObject file, String content, long lastModifiedTime) throws IOException {
+        Files.write(file.getPath(), content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        setLastModified(file, lastModifiedTime);
+    }
+
+    private static void setLastModified(FileObject file, long lastModifiedTime) {
+        assertTrue(file.getPath().toFile().setLastModified(lastModifiedTime));
+    }
+
+    /**
+     * Current time in whole seconds, so that last modified times survive file systems with second precision.
+     */
+    private static long now() {
+        return System.currentTimeMillis() / 1000 * 1000;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.wso2.org.apache.commons.vfs2.util.RandomAccessMode;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests seeking to lines of local files through {@link LineOffsetIndex}.
+ */
+public class LineOffsetIndexTest {
+
+    private StandardFileSystemManager fsm;
+    private Path workDir;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        fsm = new StandardFileSystemManager();
+        fsm.init();
+        workDir = Files.createTempDirectory("line-index-test-");
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+        if (fsm != null) {
+            fsm.close();
+        }
+        if (workDir != null) {
+            for (File file : workDir.toFile().listFiles()) {
+                file.delete();
+            }
+            workDir.toFile().delete();
+        }
+    }
+
+    @Test
+    public void testOpenAtLineWithMixedLineTerminators() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 50; i++) {
+            content.append("line-").append(i).append(i % 3 == 0 ? "\r\n" : (i % 5 == 0 ? "\r" : "\n"));
+        }
+        FileObject file = createFile("mixed.txt", content.toString());
+        LineOffsetIndex index = LineOffsetIndex.getIndex(file.getName().getURI(), file.getContent().getSize(),
+                file.getContent().getLastModifiedTime(), 4);
+
+        // Seek forward past several checkpoints, then backward using the recorded ones.
+        assertEquals(readFirstLine(index, file, 37), "line-37");
+        assertEquals(readFirstLine(index, file, 10), "line-10");
+        assertEquals(readFirstLine(index, file, 1), "line-1");
+        assertEquals(readFirstLine(index, file, 50), "line-50");
+        assertEquals(readFirstLine(index, file, 51), "");
+    }
+
+    @Test
+    public void testIndexIsRecreatedWhenFileChanges() throws Exception {
+        FileObject file = createFile("changing.txt", "a\nb\nc\n");
+        String uri = file.getName().getURI();
+        LineOffsetIndex index = LineOffsetIndex.getIndex(uri, 6, 1000L, 2);
+
+        assertSame(LineOffsetIndex.getIndex(uri, 6, 1000L, 2), index);
+        assertNotSame(LineOffsetIndex.getIndex(uri, 8, 1000L, 2), index);
+        assertNotSame(LineOffsetIndex.getIndex(uri, 8, 2000L, 2), index);
+    }
+
+    private FileObject createFile(String name, String content) throws Exception {
+        Path path = workDir.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return fsm.resolveFile(path.toUri().toString());
+    }
+
+    private String readFirstLine(LineOffsetIndex index, FileObject file, long lineNum) throws Exception {
+        try (InputStream in = index.openAtLine(
+                file.getContent().getRandomAccessContent(RandomAccessMode.READ), lineNum)) {
+            String remaining = IOUtils.toString(in, StandardCharsets.UTF_8);
+            return remaining.split("\r\n|\r|\n", 2)[0];
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests selecting ranges of lines from raw bytes through {@link LineRangeInputStream}.
+ */
+public class LineRangeInputStreamTest {
+
+    // Size of the internal buffer of LineRangeInputStream
+    private static final int BUFFER_SIZE = 8192;
+
+    @Test
+    public void testRangeWithMixedLineTerminators() throws Exception {
+        String content = "one\ntwo\r\nthree\rfour\n\nsix";
+
+        assertEquals(readLines(content, 1, Long.MAX_VALUE), "one\ntwo\nthree\nfour\n\nsix");
+        assertEquals(readLines(content, 2, 4), "two\nthree\nfour");
+        assertEquals(readLines(content, 5, 6), "\nsix");
+        assertEquals(readLines(content, 6, 6), "six");
+    }
+
+    @Test
+    public void testTrailingTerminatorDoesNotAddLine() throws Exception {
+        assertEquals(readLines("a\r\nb\r\n", 1, Long.MAX_VALUE), "a\nb");
+        assertEquals(readLines("a\r\nb\r\n", 3, Long.MAX_VALUE), "");
+        assertEquals(readLines("a\rb\r", 2, 10), "b");
+    }
+
+    @Test
+    public void testRangeBeyondEndOfStream() throws Exception {
+        String content = "a\nb\nc";
+
+        assertEquals(readLines(content, 2, 100), "b\nc");
+        assertEquals(readLines(content, 4, 100), "");
+        assertEquals(readLines("", 1, Long.MAX_VALUE), "");
+        try (InputStream in = new LineRangeInputStream(stream(content, 64), 4, 100)) {
+            assertEquals(in.read(new byte[16], 0, 16), -1);
+            assertEquals(in.read(), -1);
+        }
+    }
+
+    @Test
+    public void testCarriageReturnLineFeedSplitAcrossReads() throws Exception {
+        String content = "first\r\nsecond\r\nthird\r\n\r\nfifth";
+        String expected = "second\nthird\n\nfifth";
+
+        // Every read of the underlying stream ends at a different byte, including between CR and LF
+        for (int chunk = 1; chunk <= 8; chunk++) {
+            try (InputStream in = new LineRangeInputStream(stream(content, chunk), 2, Long.MAX_VALUE)) {
+                assertEquals(read(in, 3), expected, "Chunks of " + chunk + " bytes");
+            }
+        }
+    }
+
+    @Test
+    public void testCarriageReturnLineFeedAtBufferBoundary() throws Exception {
+        // The CR is the last byte of the first internal buffer and the LF the first of the next one
+        char[] longLine = new char[BUFFER_SIZE - 1];
+        Arrays.fill(longLine, 'x');
+        String content = new String(longLine) + "\r\nsecond\r\nthird";
+
+        assertEquals(readLines(content, 2, 3), "second\nthird");
+        assertEquals(readLines(content, 1, 1), new String(longLine));
+        assertEquals(readLines(content, 1, 2), new String(longLine) + "\nsecond");
+    }
+
+    @Test
+    public void testSingleByteReadsAndSkip() throws Exception {
+        try (InputStream in = new LineRangeInputStream(stream("a\nbc\nd", 64), 2, 3)) {
+            assertEquals(in.read(), 'b');
+            assertEquals(in.skip(2), 2);
+            assertEquals(in.read(), 'd');
+            assertEquals(in.read(), -1);
+            assertEquals(in.skip(10), 0);
+        }
+    }
+
+    @Test
+    public void testReadErrorIsPropagated() throws Exception {
+        InputStream failing = new FilterInputStream(stream("a\nb\n", 64)) {
+            private boolean first = true;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (first) {
+                    first = false;
+                    return super.read(b, off, len);
+                }
+                throw new IOException("Connection reset");
+            }
+        };
+        try (InputStream in = new LineRangeInputStream(failing, 1, Long.MAX_VALUE)) {
+            IOUtils.toByteArray(in);
+            fail("The read error should be propagated");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Connection reset");
+        }
+    }
+
+    @Test
+    public void testSingleByteLineTerminators() {
+        assertTrue(LineRangeInputStream.hasSingleByteLineTerminators(StandardCharsets.UTF_8));
+        assertTrue(LineRangeInputStream.hasSingleByteLineTerminators(StandardCharsets.ISO_8859_1));
+        assertFalse(LineRangeInputStream.hasSingleByteLineTerminators(StandardCharsets.UTF_16));
+    }
+
+    private static String readLines(String content, long firstLine, long lastLine) throws IOException {
+        try (InputStream in = new LineRangeInputStream(stream(content, Integer.MAX_VALUE), firstLine, lastLine)) {
+            return new String(IOUtils.toByteArray(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String read(InputStream in, int readSize) throws IOException {
+        StringBuilder result = new StringBuilder();
+        byte[] buffer = new byte[readSize];
+        int read;
+        while ((read = in.read(buffer, 0, readSize)) != -1) {
+            result.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Stream of the content returning at most chunk bytes per read.
+     */
+    private static InputStream stream(String content, int chunk) {
+        return new FilterInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, chunk));
+            }
+        };
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.org.apache.commons.vfs2.FileContent;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+import org.wso2.org.apache.commons.vfs2.impl.StandardFileSystemManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests reading files ahead of the consumer through {@link ReadAheadInputStream}.
+ */
+public class ReadAheadInputStreamTest {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long NO_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+    private static final long WAIT_MILLIS = 5000;
+
+    private StandardFileSystemManager fsm;
+    private Path workDir;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        fsm = new StandardFileSystemManager();
+        fsm.init();
+        workDir = Files.createTempDirectory("read-ahead-test-");
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+        if (fsm != null) {
+            fsm.close();
+        }
+        if (workDir != null) {
+            deleteRecursively(workDir.toFile());
+        }
+    }
+
+    @Test(timeOut = 20000)
+    public void testChunksAreReadInOrder() throws Exception {
+        byte[] content = content(20 * CHUNK_SIZE + 123);
+        TrackedFile file = createFile("ordered.bin", content);
+
+        try (InputStream in = new ReadAheadInputStream(file.proxy, 0, 4, CHUNK_SIZE, NO_IDLE_TIMEOUT)) {
+            assertEquals(readAll(in), content);
+            assertEquals(in.read(), -1);
+        }
+        // Each lane reads its chunks through one handle, closed once the lane is done
+        assertEquals(file.opened.get(), 4);
+        await(() -> file.closed.get() == 4, "handles to be closed");
+    }
+
+    @Test(timeOut = 20000)
+    public void testReadFromPosition() throws Exception {
+        byte[] content = content(5 * CHUNK_SIZE);
+        TrackedFile file = createFile("position.bin", content);
+
+        // The window is limited to the number of chunks
+        try (InputStream in = new ReadAheadInputStream(file.proxy, 1500, 8, CHUNK_SIZE, NO_IDLE_TIMEOUT)) {
+            assertEquals(readAll(in), Arrays.copyOfRange(content, 1500, content.length));
+        }
+        assertEquals(file.opened.get(), 4);
+
+        try (InputStream in = new ReadAheadInputStream(file.proxy, content.length + 10, 4, CHUNK_SIZE,
+                NO_IDLE_TIMEOUT)) {
+            assertEquals(in.read(), -1);
+            assertEquals(in.read(new byte[10], 0, 10), -1);
+        }
+        await(() -> file.closed.get() == 4, "handles to be closed");
+    }
+
+    @Test(timeOut = 20000)
+    public void testCloseMidStream() throws Exception {
+        byte[] content = content(20 * CHUNK_SIZE);
+        TrackedFile file = createFile("close.bin", content);
+
+        InputStream in = new ReadAheadInputStream(file.proxy, 0, 4, CHUNK_SIZE, NO_IDLE_TIMEOUT);
+        byte[] first = new byte[10];
+        assertEquals(in.read(first, 0, first.length), first.length);
+        assertEquals(first, Arrays.copyOf(content, first.length));
+        await(() -> file.opened.get() == 4, "all lanes to read ahead");
+
+        in.close();
+
+        // Lanes waiting to hand over a chunk stop long before the idle timeout
+        await(() -> file.closed.get() == 4, "handles to be closed");
+        try {
+            in.read();
+            fail("A closed stream should not be read");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Stream is closed");
+        }
+        in.close();
+        assertEquals(file.opened.get(), 4);
+    }
+
+    @Test(timeOut = 20000)
+    public void testErrorOnOneLane() throws Exception {
+        byte[] content = content(20 * CHUNK_SIZE);
+        TrackedFile file = createFile("error.bin", content);
+        IOException failure = new IOException("Read failed");
+        file.fail(5 * CHUNK_SIZE, failure);
+
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        InputStream in = new ReadAheadInputStream(file.proxy, 0, 4, CHUNK_SIZE, NO_IDLE_TIMEOUT);
+        try {
+            copy(in, read);
+            fail("The error of the lane should be thrown to the consumer");
+        } catch (IOException e) {
+            assertSame(e, failure);
+        } finally {
+            in.close();
+        }
+        // The chunks before the failed one are handed over in order
+        assertEquals(read.toByteArray(), Arrays.copyOf(content, 5 * CHUNK_SIZE));
+        await(() -> file.closed.get() == file.opened.get(), "handles to be closed");
+    }
+
+    @Test(timeOut = 20000)
+    public void testRuntimeErrorIsWrapped() throws Exception {
+        TrackedFile file = createFile("runtime-error.bin", content(3 * CHUNK_SIZE));
+        IllegalStateException failure = new IllegalStateException("Channel is broken");
+        file.fail(0, failure);
+
+        try (InputStream in = new ReadAheadInputStream(file.proxy, 0, 2, CHUNK_SIZE, NO_IDLE_TIMEOUT)) {
+            in.read();
+            fail("The error of the lane should be thrown to the consumer");
+        } catch (IOException e) {
+            assertSame(e.getCause(), failure);
+        }
+        await(() -> file.closed.get() == file.opened.get(), "handles to be closed");
+    }
+
+    @Test(timeOut = 20000)
+    public void testIdleConsumerResumes() throws Exception {
+        byte[] content = content(10 * CHUNK_SIZE + 1);
+        TrackedFile file = createFile("idle.bin", content);
+
+        try (InputStream in = new ReadAheadInputStream(file.proxy, 0, 2, CHUNK_SIZE, 200)) {
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            byte[] buffer = new byte[10];
+            read.write(buffer, 0, in.read(buffer, 0, buffer.length));
+
+            // Both lanes time out handing over their next chunk and release their handles
+            await(() -> file.opened.get() == 2 && file.closed.get() == 2, "idle lanes to stop");
+
+            copy(in, read);
+            assertEquals(read.toByteArray(), content);
+        }
+        // The lanes are resumed from the chunk the consumer reached, through new handles
+        assertTrue(file.opened.get() > 2, "Handles opened: " + file.opened.get());
+        await(() -> file.closed.get() == file.opened.get(), "handles to be closed");
+    }
+
+    private TrackedFile createFile(String name, byte[] content) throws IOException {
+        Path path = workDir.resolve(name);
+        Files.write(path, content);
+        return new TrackedFile(fsm.resolveFile(path.toUri().toString()));
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * Read the stream to the end, mixing single byte and array reads.
+     */
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[777];
+        while (true) {
+            int b = in.read();
+            if (b == -1) {
+                return out.toByteArray();
+            }
+            out.write(b);
+            int read = in.read(buffer, 0, buffer.length);
+            if (read == -1) {
+                return out.toByteArray();
+            }
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private static void copy(InputStream in, ByteArrayOutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Local file counting the random access handles opened and closed on it, and
+     * optionally failing the read of the chunk at an offset.
+     */
+    private static class TrackedFile {
+
+        private final FileObject proxy;
+        private final AtomicInteger opened = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+        private volatile long failingOffset = -1;
+        private volatile Exception failure;
+
+        TrackedFile(FileObject file) {
+            proxy = delegate(FileObject.class, file, (method, args) -> "getContent".equals(method.getName())
+                    ? content(file.getContent()) : invoke(method, file, args));
+        }
+
+        void fail(long offset, Exception failure) {
+            this.failure = failure;
+            this.failingOffset = offset;
+        }
+
+        private FileContent content(FileContent content) {
+            return delegate(FileContent.class, content, (method, args) -> {
+                Object result = invoke(method, content, args);
+                return "getRandomAccessContent".equals(method.getName())
+                        ? randomAccessContent((RandomAccessContent) result) : result;
+            });
+        }
+
+        private RandomAccessContent randomAccessContent(RandomAccessContent content) {
+            opened.incrementAndGet();
+            long[] position = new long[1];
+            return delegate(RandomAccessContent.class, content, (method, args) -> {
+                switch (method.getName()) {
+                    case "seek":
+                        position[0] = (Long) args[0];
+                        break;
+                    case "readFully":
+                        if (position[0] == failingOffset) {
+                            throw failure;
+                        }
+                        break;
+                    case "close":
+                        closed.incrementAndGet();
+                        break;
+                    default:
+                        break;
+                }
+                return invoke(method, content, args);
+            });
+        }
+
+        private static <T> T delegate(Class<T> type, T target, Handler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(method, args);
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    invocationHandler));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface Handler {
+
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.org.apache.commons.vfs2.FileObject;
+import org.wso2.org.apache.commons.vfs2.RandomAccessContent;
+import org.wso2.org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.wso2.org.apache.commons.vfs2.util.RandomAccessMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests locating the last lines of local files through {@link TailLineLocator}.
+ */
+public class TailLineLocatorTest {
+
+    // Size of the blocks TailLineLocator reads backwards
+    private static final int BLOCK_SIZE = 8192;
+
+    private StandardFileSystemManager fsm;
+    private Path workDir;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        fsm = new StandardFileSystemManager();
+        fsm.init();
+        workDir = Files.createTempDirectory("tail-line-test-");
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+        if (fsm != null) {
+            fsm.close();
+        }
+        if (workDir != null) {
+            for (File file : workDir.toFile().listFiles()) {
+                file.delete();
+            }
+            workDir.toFile().delete();
+        }
+    }
+
+    @Test
+    public void testLastLinesWithMixedLineTerminators() throws Exception {
+        String content = "one\ntwo\r\nthree\rfour";
+        FileObject file = createFile("mixed.txt", content);
+
+        assertEquals(tail(file, content, 1), "four");
+        assertEquals(tail(file, content, 2), "three\rfour");
+        assertEquals(tail(file, content, 3), "two\r\nthree\rfour");
+        assertEquals(tail(file, content, 4), content);
+    }
+
+    @Test
+    public void testTrailingTerminatorDoesNotStartLine() throws Exception {
+        String content = "a\r\nb\r\nc\r\n";
+        FileObject file = createFile("trailing.txt", content);
+
+        assertEquals(tail(file, content, 1), "c\r\n");
+        assertEquals(tail(file, content, 2), "b\r\nc\r\n");
+    }
+
+    @Test
+    public void testEmptyLinesAreCounted() throws Exception {
+        String content = "a\n\n\nb";
+        FileObject file = createFile("empty-lines.txt", content);
+
+        assertEquals(tail(file, content, 2), "\nb");
+        assertEquals(tail(file, content, 3), "\n\nb");
+    }
+
+    @Test
+    public void testFewerLinesThanRequested() throws Exception {
+        String content = "a\nb";
+        FileObject file = createFile("short.txt", content);
+
+        assertEquals(tail(file, content, 5), content);
+        FileObject empty = createFile("empty.txt", "");
+        try (RandomAccessContent randomAccessContent = open(empty)) {
+            assertEquals(TailLineLocator.findStartOfLastLines(randomAccessContent, 0, 1), 0);
+        }
+    }
+
+    @Test
+    public void testCarriageReturnLineFeedAtBlockBoundary() throws Exception {
+        // The LF is the first byte of the last block and its CR the last byte of the block before
+        char[] longLine = new char[BLOCK_SIZE - 2];
+        Arrays.fill(longLine, 'y');
+        String content = "head\r\n" + new String(longLine) + "\n";
+        assertEquals(content.length() - BLOCK_SIZE, "head\r".length());
+        FileObject file = createFile("boundary.txt", content);
+
+        assertEquals(tail(file, content, 1), new String(longLine) + "\n");
+        assertEquals(tail(file, content, 2), content);
+    }
+
+    @Test
+    public void testLinesSpanningSeveralBlocks() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 5000; i++) {
+            content.append("line-").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        FileObject file = createFile("long.txt", content.toString());
+
+        assertEquals(tail(file, content.toString(), 3), "line-4998\r\nline-4999\nline-5000\r\n");
+        String lastThousand = tail(file, content.toString(), 1000);
+        assertEquals(lastThousand.substring(0, lastThousand.indexOf('\n')), "line-4001");
+    }
+
+    @Test
+    public void testReadErrorIsPropagated() throws Exception {
+        FileObject file = createFile("truncated.txt", "a\nb\n");
+        try (RandomAccessContent randomAccessContent = open(file)) {
+            // A size larger than the file makes the locator read past the end of the file
+            TailLineLocator.findStartOfLastLines(randomAccessContent, 100, 1);
+            fail("Reading past the end of the file should fail");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private String tail(FileObject file, String content, long lineCount) throws IOException {
+        try (RandomAccessContent randomAccessContent = open(file)) {
+            long start = TailLineLocator.findStartOfLastLines(randomAccessContent, content.length(), lineCount);
+            return content.substring((int) start);
+        }
+    }
+
+    private static RandomAccessContent open(FileObject file) throws IOException {
+        return file.getContent().getRandomAccessContent(RandomAccessMode.READ);
+    }
+
+    private FileObject createFile(String name, String content) throws IOException {
+        Path path = workDir.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return fsm.resolveFile(path.toUri().toString());
+    }
+}
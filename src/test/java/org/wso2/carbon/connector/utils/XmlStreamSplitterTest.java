@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.connector.utils;
+
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.wso2.carbon.connector.exception.InvalidConfigurationException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests splitting XML documents while they are read through {@link XmlStreamSplitter}.
+ */
+public class XmlStreamSplitterTest {
+
+    @Test
+    public void testAbsolutePath() throws Exception {
+        String xml = "<root><record id=\"1\">a</record><other><record>skipped</record></other>"
+                + "<record id=\"2\"><value>b</value></record></root>";
+
+        List<Part> parts = split("/root/record", xml);
+
+        assertEquals(parts.size(), 2);
+        assertPart(parts.get(0), "root", 1);
+        assertPart(parts.get(1), "root", 2);
+        Element first = matchedElement(parts.get(0));
+        assertEquals(first.getAttribute("id"), "1");
+        assertEquals(first.getTextContent(), "a");
+        Element second = matchedElement(parts.get(1));
+        assertEquals(second.getAttribute("id"), "2");
+        assertEquals(((Element) second.getFirstChild()).getTagName(), "value");
+        assertEquals(second.getTextContent(), "b");
+    }
+
+    @Test
+    public void testDescendantPath() throws Exception {
+        String xml = "<root><group><record>1</record><inner><record>2</record></inner></group>"
+                + "<record>3</record></root>";
+
+        List<Part> parts = split("//record", xml);
+
+        assertEquals(parts.size(), 3);
+        // Each part is wrapped in an element named after the parent of the match
+        assertPart(parts.get(0), "group", 1);
+        assertPart(parts.get(1), "inner", 2);
+        assertPart(parts.get(2), "root", 3);
+        assertEquals(matchedElement(parts.get(1)).getTextContent(), "2");
+        assertEquals(split("/root//inner/record", xml).size(), 1);
+    }
+
+    @Test
+    public void testWildcardStep() throws Exception {
+        String xml = "<root><a><item>1</item></a><b><item>2</item><c><item>3</item></c></b><item>4</item></root>";
+
+        List<Part> parts = split("/root/*/item", xml);
+
+        assertEquals(parts.size(), 2);
+        assertPart(parts.get(0), "a", 1);
+        assertPart(parts.get(1), "b", 2);
+        assertEquals(split("/*", xml).size(), 1);
+        // The root element is matched without a wrapper and the part is named after it
+        Part root = split("/*", xml).get(0);
+        assertPart(root, "root", 1);
+        assertEquals(root.document().getTagName(), "root");
+        assertEquals(root.document().getChildNodes().getLength(), 3);
+    }
+
+    @Test
+    public void testNestedMatchesStayInOuterPart() throws Exception {
+        String xml = "<root><record><record>inner</record></record><record>second</record></root>";
+
+        List<Part> parts = split("//record", xml);
+
+        assertEquals(parts.size(), 2);
+        Element outer = matchedElement(parts.get(0));
+        assertEquals(((Element) outer.getFirstChild()).getTagName(), "record");
+        assertEquals(outer.getTextContent(), "inner");
+        assertEquals(matchedElement(parts.get(1)).getTextContent(), "second");
+    }
+
+    @Test
+    public void testNamespacesInScopeAreDeclaredOnWrapper() throws Exception {
+        String xml = "<ns:root xmlns:ns=\"urn:a\" xmlns=\"urn:default\" xmlns:x=\"urn:x\">"
+                + "<ns:record x:type=\"t\"><value>1</value><y:value xmlns:y=\"urn:y\">2</y:value></ns:record>"
+                + "</ns:root>";
+
+        // Names are matched with their prefix
+        assertEquals(split("/root/record", xml).size(), 0);
+        List<Part> parts = split("/ns:root/ns:record", xml);
+
+        assertEquals(parts.size(), 1);
+        assertPart(parts.get(0), "root", 1);
+        Element wrapper = parts.get(0).document();
+        assertEquals(wrapper.getNamespaceURI(), "urn:a");
+        assertEquals(wrapper.getLocalName(), "root");
+        Element record = matchedElement(parts.get(0));
+        assertEquals(record.getNamespaceURI(), "urn:a");
+        assertEquals(record.getAttributeNS("urn:x", "type"), "t");
+        Element value = (Element) record.getFirstChild();
+        assertEquals(value.getNamespaceURI(), "urn:default");
+        Element prefixedValue = (Element) value.getNextSibling();
+        assertEquals(prefixedValue.getNamespaceURI(), "urn:y");
+        assertEquals(prefixedValue.getTextContent(), "2");
+    }
+
+    @Test
+    public void testCdataAndCommentsAreKept() throws Exception {
+        String xml = "<root><record><![CDATA[<a & b>]]><!-- note -->text &amp; more</record></root>";
+
+        List<Part> parts = split("/root/record", xml);
+
+        assertEquals(parts.size(), 1);
+        Element record = matchedElement(parts.get(0));
+        Node cdata = record.getFirstChild();
+        assertEquals(cdata.getNodeType(), Node.CDATA_SECTION_NODE);
+        assertEquals(cdata.getNodeValue(), "<a & b>");
+        Node comment = cdata.getNextSibling();
+        assertEquals(comment.getNodeType(), Node.COMMENT_NODE);
+        assertEquals(comment.getNodeValue(), " note ");
+        assertEquals(comment.getNextSibling().getTextContent(), "text & more");
+    }
+
+    @Test
+    public void testUnsupportedPaths() {
+        String[] paths = {"record", "/root/record[1]", "/root/@id", "/root/text()", "/root/", "/root//"};
+        for (String path : paths) {
+            try {
+                new XmlStreamSplitter(path);
+                fail("Path " + path + " should not be supported");
+            } catch (InvalidConfigurationException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testMalformedDocument() throws Exception {
+        List<Part> parts = new ArrayList<>();
+
+        try {
+            new XmlStreamSplitter("/root/record").split(stream("<root><record>1</record><record>2</root>"),
+                    collect(parts));
+            fail("A malformed document should not be split");
+        } catch (XMLStreamException e) {
+            // expected
+        }
+        // The part read before the error is complete and the part being written is closed
+        assertEquals(parts.size(), 2);
+        assertEquals(matchedElement(parts.get(0)).getTextContent(), "1");
+    }
+
+    @Test
+    public void testNoMatches() throws Exception {
+        assertEquals(split("/root/missing", "<root><record/></root>").size(), 0);
+        assertEquals(split("/other", "<root/>").size(), 0);
+    }
+
+    private static List<Part> split(String path, String xml) throws Exception {
+        List<Part> parts = new ArrayList<>();
+        assertEquals(new XmlStreamSplitter(path).split(stream(xml), collect(parts)), parts.size());
+        return parts;
+    }
+
+    /**
+     * Opener adding each part to the list once the part is closed.
+     */
+    private static XmlStreamSplitter.PartOpener collect(List<Part> parts) {
+        return (name, partNumber) -> new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                parts.add(new Part(name, partNumber, toByteArray()));
+            }
+        };
+    }
+
+    private static void assertPart(Part part, String name, int partNumber) {
+        assertEquals(part.name, name);
+        assertEquals(part.partNumber, partNumber);
+    }
+
+    /**
+     * Get the single element of a part, inside the wrapper named after its parent.
+     */
+    private static Element matchedElement(Part part) throws Exception {
+        Element wrapper = part.document();
+        assertEquals(wrapper.getChildNodes().getLength(), 1);
+        Node matched = wrapper.getFirstChild();
+        assertTrue(matched instanceof Element);
+        assertNull(matched.getNextSibling());
+        return (Element) matched;
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Part written by the splitter.
+     */
+    private static class Part {
+
+        private final String name;
+        private final int partNumber;
+        private final byte[] content;
+
+        Part(String name, int partNumber, byte[] content) {
+            this.name = name;
+            this.partNumber = partNumber;
+            this.content = content;
+        }
+
+        Element document() throws Exception {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(content)).getDocumentElement();
+        }
+    }
+}